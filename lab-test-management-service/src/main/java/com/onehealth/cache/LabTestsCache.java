@@ -0,0 +1,66 @@
+package com.onehealth.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onehealth.entity.Tests;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * The LabTestsCache class is a read-through, in-process cache of the test menu of each lab, keyed by lab ID.
+ * Writes through the TestsService evict exactly the labs they touch; the TTL only bounds how long
+ * a change made elsewhere (another instance, or SQL run by hand) can stay invisible.
+ * Cached lists are unmodifiable and shared between callers, so the tests in them must not be changed.
+ */
+@Component
+public class LabTestsCache {
+
+	private final Cache<Long, List<Tests>> cache;
+
+	/**
+	 * Creates the cache.
+	 *
+	 * @param ttl         How long a lab's test menu is kept after it was loaded.
+	 * @param maximumSize The maximum number of labs kept in the cache.
+	 * @param meterRegistry The registry receiving the cache.* meters (hits, misses, evictions, size) as cache=lab-tests.
+	 */
+	public LabTestsCache(@Value("${lab-tests.cache.ttl:1h}") Duration ttl,
+			@Value("${lab-tests.cache.maximum-size:10000}") long maximumSize, MeterRegistry meterRegistry) {
+		this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build(), "lab-tests");
+	}
+
+	/**
+	 * Returns the cached tests of a lab, loading them on a miss.
+	 * Concurrent misses for the same lab share a single load.
+	 *
+	 * @param lab_id The ID of the lab.
+	 * @param loader Loads the tests of the lab from the database.
+	 * @return An unmodifiable list of the tests of the lab.
+	 */
+	public List<Tests> get(long lab_id, LongFunction<List<Tests>> loader) {
+		return cache.get(lab_id, key -> List.copyOf(loader.apply(key)));
+	}
+
+	/**
+	 * Drops the cached tests of the given labs, so the next read loads them from the database.
+	 *
+	 * @param lab_ids The IDs of the labs whose tests have changed.
+	 */
+	public void evict(long... lab_ids) {
+		for (long lab_id : lab_ids) {
+			cache.invalidate(lab_id);
+		}
+	}
+}
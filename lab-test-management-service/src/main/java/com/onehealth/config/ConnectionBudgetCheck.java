@@ -0,0 +1,136 @@
+package com.onehealth.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The ConnectionBudgetCheck class warns at startup when the connection pools on the Postgres server could together
+ * ask for more connections than max_connections allows. The onehealth database shares its server with the
+ * microservice-demo services, so the plan in connection-budget.pools.* and connection-budget.instances.* lists their
+ * pools too. The budget is the pool size times the instance count of every application, whatever is connected right
+ * now, so an overcommitted plan is reported on an idle server as well.
+ */
+@Component
+public class ConnectionBudgetCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConnectionBudgetCheck.class);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Environment environment;
+	private final String applicationName;
+	private final int maximumPoolSize;
+
+	/**
+	 * Constructor for ConnectionBudgetCheck.
+	 *
+	 * @param jdbcTemplate    The template used to read the server settings.
+	 * @param environment     The environment holding the planned pools and instance counts.
+	 * @param applicationName The application_name this service's connections carry.
+	 * @param maximumPoolSize The size this service's pool may grow to.
+	 */
+	public ConnectionBudgetCheck(JdbcTemplate jdbcTemplate, Environment environment,
+			@Value("${spring.application.name}") String applicationName,
+			@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.environment = environment;
+		this.applicationName = applicationName;
+		this.maximumPoolSize = maximumPoolSize;
+	}
+
+	/**
+	 * Logs a warning, with the connections per application, when the budget is exceeded.
+	 * A failed check is only logged, it never stops the service from starting.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warnIfOvercommitted() {
+		try {
+			Budget budget = check();
+			if (budget.isExceeded()) {
+				logger.warn("Connection pools need up to {} connections but Postgres accepts {}: {}", budget.getRequired(),
+						budget.getAvailable(), budget.getConnectionsByApplication());
+			} else {
+				logger.info("Connection pools need up to {} of {} Postgres connections", budget.getRequired(), budget.getAvailable());
+			}
+		} catch (DataAccessException ex) {
+			logger.warn("Could not check the connection budget: {}", ex.getMessage());
+		}
+	}
+
+	/**
+	 * Compare the connections all planned pools may use with the connections the server accepts.
+	 * This service's configured maximum pool size replaces its planned one, so the pool-* profiles are counted.
+	 *
+	 * @return The connections available and required, and the connections per application.
+	 */
+	public Budget check() {
+		int available = jdbcTemplate.queryForObject("select current_setting('max_connections')::int "
+				+ "- current_setting('superuser_reserved_connections')::int", Integer.class);
+		Binder binder = Binder.get(environment);
+		Map<String, Integer> pools = new LinkedHashMap<>(binder.bind("connection-budget.pools",
+				Bindable.mapOf(String.class, Integer.class)).orElse(Map.of()));
+		Map<String, Integer> instances = binder.bind("connection-budget.instances",
+				Bindable.mapOf(String.class, Integer.class)).orElse(Map.of());
+		pools.put(applicationName, maximumPoolSize);
+		Map<String, Integer> connectionsByApplication = new LinkedHashMap<>();
+		pools.forEach((application, poolSize) ->
+				connectionsByApplication.put(application, poolSize * instances.getOrDefault(application, 1)));
+		int required = connectionsByApplication.values().stream().mapToInt(Integer::intValue).sum();
+		return new Budget(available, required, connectionsByApplication);
+	}
+
+	/**
+	 * The Budget class holds the outcome of a check.
+	 */
+	public static class Budget {
+
+		private final int available;
+		private final int required;
+		private final Map<String, Integer> connectionsByApplication;
+
+		/**
+		 * Constructor for Budget.
+		 *
+		 * @param available                max_connections less the connections reserved for superusers.
+		 * @param required                 The connections all pools together may use.
+		 * @param connectionsByApplication The planned connections per application_name.
+		 */
+		public Budget(int available, int required, Map<String, Integer> connectionsByApplication) {
+			this.available = available;
+			this.required = required;
+			this.connectionsByApplication = connectionsByApplication;
+		}
+
+		public int getAvailable() {
+			return available;
+		}
+
+		public int getRequired() {
+			return required;
+		}
+
+		public Map<String, Integer> getConnectionsByApplication() {
+			return connectionsByApplication;
+		}
+
+		/**
+		 * Tells whether the pools could together run the server out of connections.
+		 *
+		 * @return true if more connections are required than available.
+		 */
+		public boolean isExceeded() {
+			return required > available;
+		}
+	}
+}
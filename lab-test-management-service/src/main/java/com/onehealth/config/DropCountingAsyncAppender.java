@@ -0,0 +1,45 @@
+package com.onehealth.config;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The DropCountingAsyncAppender class is the AsyncAppender of the prod logging profile. With neverBlock an event that
+ * meets a full queue is dropped without a trace, so this one counts them for AsyncLogMetrics. The count is taken just
+ * before the offer, so under contention it can be off by the few events the worker drains in between.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder dropped = new LongAdder();
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+			dropped.increment();
+		}
+		super.append(event);
+	}
+
+	/**
+	 * Get the events dropped so far.
+	 *
+	 * @return The number of events that met a full queue.
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Reports the dropped events on the logback status, then writes out what is still queued.
+	 */
+	@Override
+	public void stop() {
+		long count = getDroppedCount();
+		if (count > 0) {
+			addWarn(count + " logging events were dropped because the queue of [" + getName() + "] was full");
+		}
+		super.stop();
+	}
+}
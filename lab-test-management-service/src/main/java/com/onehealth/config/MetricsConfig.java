@@ -0,0 +1,26 @@
+package com.onehealth.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The MetricsConfig class enables the @Timed annotation on Spring beans.
+ * HTTP server, JDBC and HikariCP meters are registered by auto-configuration; LabTestsCache binds its own.
+ */
+@Configuration
+public class MetricsConfig {
+
+	/**
+	 * Records a timer for every call of a method, or of every method of a class, annotated with @Timed.
+	 *
+	 * @param meterRegistry The registry the timers are added to.
+	 * @return The aspect recording the timers.
+	 */
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+}
@@ -0,0 +1,119 @@
+package com.onehealth.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * The SlowQueryLog class logs a sample of the statements that ran longer than a threshold, without their
+ * parameter values. It stands in for spring.jpa.show-sql in the prod profile and is exposed as the
+ * /actuator/slowqueries endpoint, so it can be switched on and tuned at runtime.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog implements QueryExecutionListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+	private volatile boolean enabled;
+	private volatile Duration threshold;
+	private volatile double sampleRate;
+
+	/**
+	 * Constructor for SlowQueryLog.
+	 *
+	 * @param enabled    Whether slow statements are logged at all.
+	 * @param threshold  The time a statement has to take to count as slow.
+	 * @param sampleRate The share of slow statements that is logged, between 0 and 1.
+	 */
+	public SlowQueryLog(@Value("${slow-queries.enabled:false}") boolean enabled,
+			@Value("${slow-queries.threshold:200ms}") Duration threshold,
+			@Value("${slow-queries.sample-rate:1.0}") double sampleRate) {
+		update(enabled, threshold, sampleRate);
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+	}
+
+	/**
+	 * Logs the statements of an execution that took at least the threshold, if it is picked by the sample.
+	 *
+	 * @param execInfo      The timing and outcome of the execution.
+	 * @param queryInfoList The statements that were executed.
+	 */
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (!enabled || execInfo.getElapsedTime() < threshold.toMillis()) {
+			return;
+		}
+		if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			return;
+		}
+		String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+		if (execInfo.isBatch()) {
+			logger.warn("Slow query took {} ms (batch of {}): {}", execInfo.getElapsedTime(), execInfo.getBatchSize(), sql);
+		} else {
+			logger.warn("Slow query took {} ms: {}", execInfo.getElapsedTime(), sql);
+		}
+	}
+
+	/**
+	 * Returns the current settings, for GET /actuator/slowqueries.
+	 *
+	 * @return Whether the log is on, its threshold and its sample rate.
+	 */
+	@ReadOperation
+	public Map<String, Object> settings() {
+		Map<String, Object> settings = new LinkedHashMap<>();
+		settings.put("enabled", enabled);
+		settings.put("threshold", threshold.toString());
+		settings.put("sampleRate", sampleRate);
+		return settings;
+	}
+
+	/**
+	 * Changes the settings, for POST /actuator/slowqueries. Settings left out keep their current value.
+	 *
+	 * @param enabled    Whether slow statements are logged at all.
+	 * @param threshold  The time a statement has to take to count as slow, for example 100ms.
+	 * @param sampleRate The share of slow statements that is logged, between 0 and 1.
+	 * @return The settings now in effect.
+	 */
+	@WriteOperation
+	public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable Duration threshold, @Nullable Double sampleRate) {
+		update(enabled != null ? enabled : this.enabled, threshold != null ? threshold : this.threshold,
+				sampleRate != null ? sampleRate : this.sampleRate);
+		logger.info("Slow query log {}: threshold {}, sample rate {}", this.enabled ? "on" : "off", this.threshold, this.sampleRate);
+		return settings();
+	}
+
+	private synchronized void update(boolean enabled, Duration threshold, double sampleRate) {
+		if (threshold.isNegative()) {
+			throw new InvalidEndpointRequestException("threshold must not be negative", "negative threshold");
+		}
+		if (sampleRate < 0 || sampleRate > 1) {
+			throw new InvalidEndpointRequestException("sampleRate must be between 0 and 1", "sampleRate out of range");
+		}
+		this.threshold = threshold;
+		this.sampleRate = sampleRate;
+		this.enabled = enabled;
+	}
+}
@@ -0,0 +1,70 @@
+package com.onehealth.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * The VirtualThreadConfig class enables the opt-in virtual-thread execution mode.
+ * It is only active when virtual-threads.enabled=true and requires a Java 21 runtime. Spring Boot 3.1 ignores
+ * spring.threads.virtual.enabled, which only arrived in Boot 3.2, so the switch is a property of our own.
+ */
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+	/**
+	 * Runs every Tomcat request on its own virtual thread instead of the platform thread pool.
+	 *
+	 * @return The protocol handler customizer installing the virtual-thread executor.
+	 */
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		ExecutorService executor = newVirtualThreadPerTaskExecutor();
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+
+	/**
+	 * Replaces the pooled application task executor used by @Async methods and async MVC responses.
+	 *
+	 * @return A task executor starting one virtual thread per task.
+	 */
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+	}
+
+	/**
+	 * Reports virtual threads that stay pinned to their carrier thread for longer than the threshold.
+	 *
+	 * @param threshold The minimum pinning duration worth reporting.
+	 * @return The pinning monitor.
+	 */
+	@Bean
+	public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+			@Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+		return new VirtualThreadPinningMonitor(threshold);
+	}
+
+	/**
+	 * Looks the factory method up reflectively so the service still compiles and runs on Java 17
+	 * while the mode is switched off.
+	 *
+	 * @return A new virtual-thread-per-task executor.
+	 */
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("virtual-threads.enabled=true needs a Java 21 or newer runtime", ex);
+		}
+	}
+}
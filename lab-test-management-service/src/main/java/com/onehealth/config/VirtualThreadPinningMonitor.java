@@ -0,0 +1,82 @@
+package com.onehealth.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * The VirtualThreadPinningMonitor class streams the JFR jdk.VirtualThreadPinned event.
+ * Every pin above the threshold is logged with its stack, so synchronized sections inside
+ * drivers and libraries that block a carrier thread become visible.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final int MAX_FRAMES = 12;
+
+	private final Duration threshold;
+	private RecordingStream recordingStream;
+
+	/**
+	 * Constructor for VirtualThreadPinningMonitor.
+	 *
+	 * @param threshold The minimum pinning duration worth reporting.
+	 */
+	public VirtualThreadPinningMonitor(Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Starts the JFR recording stream in the background.
+	 */
+	@Override
+	public void start() {
+		recordingStream = new RecordingStream();
+		recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+		recordingStream.onEvent("jdk.VirtualThreadPinned", this::report);
+		recordingStream.startAsync();
+		logger.info("Reporting virtual threads pinned for longer than {}", threshold);
+	}
+
+	/**
+	 * Stops the JFR recording stream.
+	 */
+	@Override
+	public void stop() {
+		if (recordingStream != null) {
+			recordingStream.close();
+			recordingStream = null;
+		}
+	}
+
+	/**
+	 * Tells whether the recording stream is running.
+	 *
+	 * @return true once started and until stopped.
+	 */
+	@Override
+	public boolean isRunning() {
+		return recordingStream != null;
+	}
+
+	private void report(RecordedEvent event) {
+		String stack = event.getStackTrace() == null ? "<no stack>"
+				: event.getStackTrace().getFrames().stream()
+						.limit(MAX_FRAMES)
+						.map(VirtualThreadPinningMonitor::format)
+						.collect(Collectors.joining("\n\tat ", "\tat ", ""));
+		logger.warn("Virtual thread pinned its carrier for {} ms on {}\n{}", event.getDuration().toMillis(),
+				event.getThread() == null ? "?" : event.getThread().getJavaName(), stack);
+	}
+
+	private static String format(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+}
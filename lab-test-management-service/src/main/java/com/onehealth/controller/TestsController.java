@@ -1,50 +1,99 @@
 package com.onehealth.controller;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.onehealth.dto.TestImportSummary;
+import com.onehealth.dto.TestSearchPage;
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.dto.TestSummaryPage;
+import com.onehealth.dto.TestsPatchRequest;
 import com.onehealth.dto.TestsUpdateRequest;
 import com.onehealth.entity.Tests;
 import com.onehealth.exception.DatabaseException;
+import com.onehealth.exception.InvalidPageRequestException;
 import com.onehealth.exception.TestNotFoundException;
+import com.onehealth.service.TestsImportExportService;
 import com.onehealth.service.TestsService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletResponse;
 
 
 /**
  * The TestsController class handles HTTP requests related to tests.
  * It defines various endpoints for CRUD operations and interacts with the TestsService.
+ * Every endpoint is timed as lab.tests.requests, tagged with the handler method.
  */
 
+@Timed(value = "lab.tests.requests", histogram = true)
 @RestController
 @RequestMapping("/test")
 public class TestsController {
 	
 	 private static final Logger logger = LoggerFactory.getLogger(TestsController.class);
 
+	 // export columns; an exported CSV can be imported again as it is (test_id is ignored on import)
+	 private static final CsvSchema EXPORT_SCHEMA = CsvSchema.builder()
+	         .addColumn("test_id").addColumn("test_name").addColumn("home_sample").addColumn("test_description")
+	         .addColumn("price").addColumn("test_approval").addColumn("gov_appro_cert_path").addColumn("labId")
+	         .build().withHeader();
+
 	    @Autowired
 	    private TestsService testsService;
 
+	    @Autowired
+	    private TestsImportExportService testsImportExportService;
+
+	    @Autowired
+	    private ObjectMapper objectMapper;
+
+	    private final CsvMapper csvMapper = new CsvMapper();
+
 	    /**
-	     * Endpoint to fetch all tests.
+	     * Endpoint to fetch the list of all tests, one page at a time, as summaries without description and certificate path.
+	     * The first request may pick a page number; following pages should pass the returned nextCursor,
+	     * which continues after the last row instead of counting rows from the start.
 	     *
-	     * @return ResponseEntity containing a list of all available tests and HTTP status.
+	     * @param sort   The sort column, test_id, test_name or price, optionally followed by ",asc" or ",desc".
+	     * @param cursor The nextCursor of the previous page.
+	     * @param page   The zero-based page number, used only when no cursor is given.
+	     * @param size   The number of tests per page.
+	     * @return ResponseEntity containing one page of test summaries and the next cursor, and HTTP status.
+	     * @throws InvalidPageRequestException If the sort is unknown or the cursor is invalid.
 	     * @throws DatabaseException If there's an issue accessing the database.
 	     */
 	    @GetMapping("/allTest")
-	    public ResponseEntity<List<Tests>> getAllTest() throws DatabaseException {
-	        logger.info("Received request to fetch all tests");
-	        List<Tests> tests = testsService.getAllTests();
-	        logger.info("Returning {} tests", tests.size());
+	    public ResponseEntity<TestSummaryPage> getAllTest(@RequestParam(value = "sort", defaultValue = "test_id") String sort,
+	            @RequestParam(value = "cursor", required = false) String cursor,
+	            @RequestParam(value = "page", defaultValue = "0") int page,
+	            @RequestParam(value = "size", defaultValue = "50") int size) throws InvalidPageRequestException, DatabaseException {
+	        logger.info("Received request to fetch tests sorted by {}", sort);
+	        TestSummaryPage tests = testsService.getTestSummaries(sort, cursor, page, size);
+	        logger.info("Returning {} tests", tests.getTests().size());
 	        return new ResponseEntity<>(tests, HttpStatus.OK);
 	    }
 
@@ -84,6 +133,23 @@ public class TestsController {
 	        return new ResponseEntity<>("Test having test_id : " + request.getTest_id() + " Updated Successfully !!", HttpStatus.OK);
 	    }
 
+	    /**
+	     * Endpoint to partially update the details of a test. Only the attributes present in the request are changed.
+	     *
+	     * @param test_id The ID of the test to update.
+	     * @param patch   The attributes to change.
+	     * @return ResponseEntity with a success message and HTTP status.
+	     * @throws DatabaseException If there's an issue accessing the database.
+	     * @throws TestNotFoundException If the test with the given ID is not found.
+	     */
+	    @PatchMapping("/patchTest")
+	    public ResponseEntity<String> patchTestDetails(@RequestParam("test_id") long test_id, @RequestBody TestsPatchRequest patch) throws DatabaseException, TestNotFoundException {
+	        logger.info("Received request to patch test with test_id: {}", test_id);
+	        testsService.patchTestDetails(test_id, patch);
+	        logger.info("Test with test_id {} patched successfully.", test_id);
+	        return new ResponseEntity<>("Test having test_id : " + test_id + " Updated Successfully !!", HttpStatus.OK);
+	    }
+
 	    /**
 	     * Endpoint to delete a test by its ID.
 	     *
@@ -129,4 +195,101 @@ public class TestsController {
 	        logger.info("New test added successfully.");
 	        return new ResponseEntity<>("Test Added Successfully !!", HttpStatus.CREATED);
 	    }
+
+	    /**
+	     * Endpoint to search tests by name and description, filtered by price range, home sample and approval.
+	     * Query parameters: q, minPrice, maxPrice, home_sample, test_approval, page (from 0) and size; all are optional.
+	     *
+	     * @param request The search text, filters and page, bound from the query parameters.
+	     * @return ResponseEntity containing one page of matching tests, best match first, and HTTP status.
+	     * @throws DatabaseException If there's an issue accessing the database.
+	     */
+	    @GetMapping("/search")
+	    public ResponseEntity<TestSearchPage> searchTests(TestSearchRequest request) throws DatabaseException {
+	        logger.info("Received request to search tests: {}", request);
+	        TestSearchPage result = testsService.searchTests(request);
+	        logger.info("Returning {} tests for page {}", result.getTests().size(), result.getPage());
+	        return new ResponseEntity<>(result, HttpStatus.OK);
+	    }
+
+	    /**
+	     * Endpoint to import many tests from a CSV file (with a header row) or from NDJSON (one test per line).
+	     * The response is NDJSON: one TestImportResult per input row, in input order, followed by one TestImportSummary.
+	     * Results are written while the upload is still being read, so clients must read the response as they send.
+	     *
+	     * @param contentType The format of the upload, text/csv or application/x-ndjson.
+	     * @param body        The uploaded rows.
+	     * @param response    The response the results are streamed to.
+	     * @throws IOException If the upload cannot be read or the response cannot be written.
+	     */
+	    @PostMapping(value = "/bulkImport", consumes = { "text/csv", "application/x-ndjson" }, produces = "application/x-ndjson")
+	    public void bulkImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body,
+	            HttpServletResponse response) throws IOException {
+	        logger.info("Received request to import tests as {}", contentType);
+	        response.setStatus(HttpStatus.OK.value());
+	        response.setContentType(TestsImportExportService.APPLICATION_NDJSON.toString());
+	        OutputStream out = response.getOutputStream();
+	        ObjectWriter lineWriter = objectMapper.writer();
+	        TestImportSummary summary = testsImportExportService.importTests(body, contentType, result -> {
+	            try {
+	                out.write(lineWriter.writeValueAsBytes(result));
+	                out.write('\n');
+	            } catch (IOException ex) {
+	                throw new UncheckedIOException(ex);
+	            }
+	        });
+	        out.write(lineWriter.writeValueAsBytes(summary));
+	        out.write('\n');
+	        out.flush();
+	        logger.info("Imported {} of {} tests", summary.getCreated(), summary.getRows());
+	    }
+
+	    /**
+	     * Endpoint to export all tests of a lab, streamed from the database as CSV or NDJSON.
+	     *
+	     * @param lab_id The ID of the lab whose tests are exported.
+	     * @param format csv or ndjson (the default).
+	     * @return ResponseEntity whose body writes the tests as they are read, or 400 for an unknown format.
+	     */
+	    @GetMapping("/export")
+	    public ResponseEntity<StreamingResponseBody> exportTests(@RequestParam("lab_id") long lab_id,
+	            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+	        logger.info("Received request to export tests for lab with lab_id: {} as {}", lab_id, format);
+	        if (format.equalsIgnoreCase("csv")) {
+	            return ResponseEntity.ok().contentType(TestsImportExportService.TEXT_CSV).body(out -> {
+	                try (SequenceWriter rows = csvMapper.writer(EXPORT_SCHEMA).writeValues(out)) {
+	                    testsImportExportService.exportTests(lab_id, test -> write(rows, test));
+	                } catch (DatabaseException ex) {
+	                    throw new IOException(ex);
+	                }
+	            });
+	        }
+	        if (format.equalsIgnoreCase("ndjson")) {
+	            ObjectWriter testWriter = objectMapper.writerFor(Tests.class);
+	            return ResponseEntity.ok().contentType(TestsImportExportService.APPLICATION_NDJSON).body(out -> {
+	                try {
+	                    testsImportExportService.exportTests(lab_id, test -> {
+	                        try {
+	                            out.write(testWriter.writeValueAsBytes(test));
+	                            out.write('\n');
+	                        } catch (IOException ex) {
+	                            throw new UncheckedIOException(ex);
+	                        }
+	                    });
+	                } catch (DatabaseException ex) {
+	                    throw new IOException(ex);
+	                }
+	            });
+	        }
+	        logger.warn("Unknown export format: {}", format);
+	        return ResponseEntity.badRequest().build();
+	    }
+
+	    private static void write(SequenceWriter rows, Tests test) {
+	        try {
+	            rows.write(test);
+	        } catch (IOException ex) {
+	            throw new UncheckedIOException(ex);
+	        }
+	    }
 }
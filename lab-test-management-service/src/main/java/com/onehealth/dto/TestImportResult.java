@@ -0,0 +1,134 @@
+package com.onehealth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * The TestImportResult class reports the outcome of one row of a bulk import.
+ * One result is streamed back per input row, in input order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TestImportResult {
+
+	/**
+	 * Outcome of a single imported row.
+	 */
+	public enum Status {
+		/** The row was inserted; test_id holds its new ID. */
+		CREATED,
+		/** The row could not be read or failed validation; nothing was written. */
+		INVALID,
+		/** The row was valid but the database rejected it. */
+		FAILED
+	}
+
+	private long row;          // 1-based position of the row in the upload, not counting the CSV header
+	private Status status;     // Outcome of the row
+	private Long test_id;      // ID of the created test, only set for CREATED rows
+	private String error;      // Why the row was not imported, only set for INVALID and FAILED rows
+
+	/**
+	 * Getter for the row number.
+	 *
+	 * @return The 1-based row number.
+	 */
+	public long getRow() {
+		return row;
+	}
+
+	/**
+	 * Setter for the row number.
+	 *
+	 * @param row The 1-based row number to set.
+	 */
+	public void setRow(long row) {
+		this.row = row;
+	}
+
+	/**
+	 * Getter for the outcome of the row.
+	 *
+	 * @return The outcome of the row.
+	 */
+	public Status getStatus() {
+		return status;
+	}
+
+	/**
+	 * Setter for the outcome of the row.
+	 *
+	 * @param status The outcome of the row to set.
+	 */
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+
+	/**
+	 * Getter for the ID of the created test.
+	 *
+	 * @return The test ID, or null if the row was not imported.
+	 */
+	public Long getTest_id() {
+		return test_id;
+	}
+
+	/**
+	 * Setter for the ID of the created test.
+	 *
+	 * @param test_id The test ID to set.
+	 */
+	public void setTest_id(Long test_id) {
+		this.test_id = test_id;
+	}
+
+	/**
+	 * Getter for the error message.
+	 *
+	 * @return The reason the row was not imported, or null if it was.
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * Setter for the error message.
+	 *
+	 * @param error The reason the row was not imported.
+	 */
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	/**
+	 * Override of the toString() method to display the result's properties.
+	 *
+	 * @return A string representation of the result.
+	 */
+	@Override
+	public String toString() {
+		return "TestImportResult [row=" + row + ", status=" + status + ", test_id=" + test_id + ", error=" + error + "]";
+	}
+
+	/**
+	 * Parameterized constructor for the TestImportResult class.
+	 *
+	 * @param row     The 1-based row number.
+	 * @param status  The outcome of the row.
+	 * @param test_id The ID of the created test, or null.
+	 * @param error   The reason the row was not imported, or null.
+	 */
+	public TestImportResult(long row, Status status, Long test_id, String error) {
+		super();
+		this.row = row;
+		this.status = status;
+		this.test_id = test_id;
+		this.error = error;
+	}
+
+	/**
+	 * Default constructor for the TestImportResult class.
+	 */
+	public TestImportResult() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,119 @@
+package com.onehealth.dto;
+
+/**
+ * The TestImportSummary class is the last line of a bulk import response and totals the per-row results.
+ */
+public class TestImportSummary {
+
+	private long rows;             // Number of rows read from the upload
+	private long created;          // Number of rows inserted
+	private long rejected;         // Number of rows that were INVALID or FAILED
+	private long elapsedMillis;    // Wall-clock time of the whole import
+
+	/**
+	 * Getter for the number of rows read.
+	 *
+	 * @return The number of rows read from the upload.
+	 */
+	public long getRows() {
+		return rows;
+	}
+
+	/**
+	 * Setter for the number of rows read.
+	 *
+	 * @param rows The number of rows read to set.
+	 */
+	public void setRows(long rows) {
+		this.rows = rows;
+	}
+
+	/**
+	 * Getter for the number of rows inserted.
+	 *
+	 * @return The number of rows inserted.
+	 */
+	public long getCreated() {
+		return created;
+	}
+
+	/**
+	 * Setter for the number of rows inserted.
+	 *
+	 * @param created The number of rows inserted to set.
+	 */
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	/**
+	 * Getter for the number of rejected rows.
+	 *
+	 * @return The number of rows that were not imported.
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Setter for the number of rejected rows.
+	 *
+	 * @param rejected The number of rejected rows to set.
+	 */
+	public void setRejected(long rejected) {
+		this.rejected = rejected;
+	}
+
+	/**
+	 * Getter for the duration of the import.
+	 *
+	 * @return The duration of the import in milliseconds.
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * Setter for the duration of the import.
+	 *
+	 * @param elapsedMillis The duration of the import in milliseconds to set.
+	 */
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * Override of the toString() method to display the summary's properties.
+	 *
+	 * @return A string representation of the summary.
+	 */
+	@Override
+	public String toString() {
+		return "TestImportSummary [rows=" + rows + ", created=" + created + ", rejected=" + rejected
+				+ ", elapsedMillis=" + elapsedMillis + "]";
+	}
+
+	/**
+	 * Parameterized constructor for the TestImportSummary class.
+	 *
+	 * @param rows          The number of rows read.
+	 * @param created       The number of rows inserted.
+	 * @param rejected      The number of rows not imported.
+	 * @param elapsedMillis The duration of the import in milliseconds.
+	 */
+	public TestImportSummary(long rows, long created, long rejected, long elapsedMillis) {
+		super();
+		this.rows = rows;
+		this.created = created;
+		this.rejected = rejected;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * Default constructor for the TestImportSummary class.
+	 */
+	public TestImportSummary() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,112 @@
+package com.onehealth.dto;
+
+import java.util.List;
+
+import com.onehealth.entity.Tests;
+
+/**
+ * The TestSearchPage class is one page of search results, best match first.
+ * The total number of matches is not counted; hasNext tells whether another page follows.
+ */
+public class TestSearchPage {
+	private List<Tests> tests;            // Tests on this page, in rank order
+	private int page;                     // Zero-based page number
+	private int size;                     // Requested page size
+	private boolean hasNext;              // Whether a further page has results
+
+	/**
+	 * Getter for the tests on this page.
+	 *
+	 * @return The tests on this page.
+	 */
+	public List<Tests> getTests() {
+		return tests;
+	}
+
+	/**
+	 * Setter for the tests on this page.
+	 *
+	 * @param tests The tests on this page to set.
+	 */
+	public void setTests(List<Tests> tests) {
+		this.tests = tests;
+	}
+
+	/**
+	 * Getter for the zero-based page number.
+	 *
+	 * @return The zero-based page number.
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * Setter for the zero-based page number.
+	 *
+	 * @param page The zero-based page number to set.
+	 */
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	/**
+	 * Getter for the page size.
+	 *
+	 * @return The page size.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Setter for the page size.
+	 *
+	 * @param size The page size to set.
+	 */
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Getter for whether another page follows.
+	 *
+	 * @return True if the next page has results.
+	 */
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	/**
+	 * Setter for whether another page follows.
+	 *
+	 * @param hasNext True if the next page has results.
+	 */
+	public void setHasNext(boolean hasNext) {
+		this.hasNext = hasNext;
+	}
+
+	/**
+	 * Parameterized constructor for the TestSearchPage class.
+	 *
+	 * @param tests   The tests on this page.
+	 * @param page    The zero-based page number.
+	 * @param size    The page size.
+	 * @param hasNext Whether another page follows.
+	 */
+	public TestSearchPage(List<Tests> tests, int page, int size, boolean hasNext) {
+		super();
+		this.tests = tests;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+	}
+
+	/**
+	 * Default constructor for the TestSearchPage class.
+	 */
+	public TestSearchPage() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,152 @@
+package com.onehealth.dto;
+
+/**
+ * The TestSearchRequest class holds the query parameters of a test search.
+ * Every criterion is optional; criteria that are left out do not filter.
+ */
+public class TestSearchRequest {
+	private String q;                     // Words to look for in the test name and description
+	private Integer minPrice;             // Lowest price, inclusive
+	private Integer maxPrice;             // Highest price, inclusive
+	private String home_sample;           // Home sample availability, compared case-insensitively
+	private Boolean test_approval;        // Approval status of the test
+	private int page;                     // Zero-based page number
+	private int size = 20;                // Number of tests per page
+
+	/**
+	 * Getter for the search text.
+	 *
+	 * @return The search text, or null to match every test.
+	 */
+	public String getQ() {
+		return q;
+	}
+
+	/**
+	 * Setter for the search text.
+	 *
+	 * @param q The search text to set, or null.
+	 */
+	public void setQ(String q) {
+		this.q = q;
+	}
+
+	/**
+	 * Getter for the lowest price.
+	 *
+	 * @return The lowest price, or null for no lower bound.
+	 */
+	public Integer getMinPrice() {
+		return minPrice;
+	}
+
+	/**
+	 * Setter for the lowest price.
+	 *
+	 * @param minPrice The lowest price to set, or null.
+	 */
+	public void setMinPrice(Integer minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	/**
+	 * Getter for the highest price.
+	 *
+	 * @return The highest price, or null for no upper bound.
+	 */
+	public Integer getMaxPrice() {
+		return maxPrice;
+	}
+
+	/**
+	 * Setter for the highest price.
+	 *
+	 * @param maxPrice The highest price to set, or null.
+	 */
+	public void setMaxPrice(Integer maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	/**
+	 * Getter for the home sample availability.
+	 *
+	 * @return The home sample availability, or null for any.
+	 */
+	public String getHome_sample() {
+		return home_sample;
+	}
+
+	/**
+	 * Setter for the home sample availability.
+	 *
+	 * @param home_sample The home sample availability to set, or null.
+	 */
+	public void setHome_sample(String home_sample) {
+		this.home_sample = home_sample;
+	}
+
+	/**
+	 * Getter for the approval status.
+	 *
+	 * @return The approval status, or null for any.
+	 */
+	public Boolean getTest_approval() {
+		return test_approval;
+	}
+
+	/**
+	 * Setter for the approval status.
+	 *
+	 * @param test_approval The approval status to set, or null.
+	 */
+	public void setTest_approval(Boolean test_approval) {
+		this.test_approval = test_approval;
+	}
+
+	/**
+	 * Getter for the zero-based page number.
+	 *
+	 * @return The zero-based page number.
+	 */
+	public int getPage() {
+		return page;
+	}
+
+	/**
+	 * Setter for the zero-based page number.
+	 *
+	 * @param page The zero-based page number to set.
+	 */
+	public void setPage(int page) {
+		this.page = page;
+	}
+
+	/**
+	 * Getter for the page size.
+	 *
+	 * @return The page size.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Setter for the page size.
+	 *
+	 * @param size The page size to set.
+	 */
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Override of the toString() method to display the request's properties.
+	 *
+	 * @return A string representation of the request.
+	 */
+	@Override
+	public String toString() {
+		return "TestSearchRequest [q=" + q + ", minPrice=" + minPrice + ", maxPrice=" + maxPrice + ", home_sample="
+				+ home_sample + ", test_approval=" + test_approval + ", page=" + page + ", size=" + size + "]";
+	}
+}
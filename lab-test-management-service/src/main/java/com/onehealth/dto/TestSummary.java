@@ -0,0 +1,51 @@
+package com.onehealth.dto;
+
+/**
+ * The TestSummary interface is a Spring Data projection of the Tests entity for test lists.
+ * It leaves out the long test_description and gov_appro_cert_path, and is read straight from the selected
+ * columns, so no Tests entity is created or kept in the persistence context.
+ */
+public interface TestSummary {
+
+	/**
+	 * Getter for the test ID.
+	 *
+	 * @return The test ID.
+	 */
+	long getTest_id();
+
+	/**
+	 * Getter for the test name.
+	 *
+	 * @return The test name.
+	 */
+	String getTest_name();
+
+	/**
+	 * Getter for the home sample availability status.
+	 *
+	 * @return The home sample availability status.
+	 */
+	String getHome_sample();
+
+	/**
+	 * Getter for the test price.
+	 *
+	 * @return The test price.
+	 */
+	int getPrice();
+
+	/**
+	 * Getter for the approval status of the test.
+	 *
+	 * @return The approval status of the test.
+	 */
+	boolean getTest_approval();
+
+	/**
+	 * Getter for the lab ID.
+	 *
+	 * @return The ID of the lab where the test is conducted.
+	 */
+	long getLabId();
+}
@@ -0,0 +1,68 @@
+package com.onehealth.dto;
+
+import java.util.List;
+
+/**
+ * The TestSummaryPage class is one page of the test list.
+ * nextCursor is null on the last page; otherwise passing it back returns the following page.
+ */
+public class TestSummaryPage {
+	private List<TestSummary> tests;      // Tests on this page, in the requested order
+	private String nextCursor;            // Opaque position of the next page, or null
+
+	/**
+	 * Getter for the tests on this page.
+	 *
+	 * @return The tests on this page.
+	 */
+	public List<TestSummary> getTests() {
+		return tests;
+	}
+
+	/**
+	 * Setter for the tests on this page.
+	 *
+	 * @param tests The tests on this page to set.
+	 */
+	public void setTests(List<TestSummary> tests) {
+		this.tests = tests;
+	}
+
+	/**
+	 * Getter for the cursor of the next page.
+	 *
+	 * @return The cursor of the next page, or null on the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	/**
+	 * Setter for the cursor of the next page.
+	 *
+	 * @param nextCursor The cursor of the next page to set.
+	 */
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Parameterized constructor for the TestSummaryPage class.
+	 *
+	 * @param tests      The tests on this page.
+	 * @param nextCursor The cursor of the next page, or null.
+	 */
+	public TestSummaryPage(List<TestSummary> tests, String nextCursor) {
+		super();
+		this.tests = tests;
+		this.nextCursor = nextCursor;
+	}
+
+	/**
+	 * Default constructor for the TestSummaryPage class.
+	 */
+	public TestSummaryPage() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
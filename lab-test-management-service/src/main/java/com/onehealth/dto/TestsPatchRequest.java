@@ -0,0 +1,161 @@
+package com.onehealth.dto;
+/**
+ * The TestsPatchRequest class represents the data transfer object (DTO) for a partial update of test details.
+ * Only the attributes that are set (non-null) are written; attributes left out of the request keep their current value.
+ */
+public class TestsPatchRequest {
+    private String test_name;             // Name of the test
+    private String home_sample;           // Flag indicating whether home sample collection is available for the test
+    private String test_description;      // Description of the test
+    private Integer price;                // Price of the test
+    private Boolean test_approval;        // Flag indicating whether the test is approved or not
+    private String gov_appro_cert_path;   // Path to the government approval certificate for the test
+    private Long labId;                   // ID of the lab where the test is conducted
+
+	
+	/**
+	 * Getter for the test name.
+	 *
+	 * @return The test name, or null if it is not changed.
+	 */
+	public String getTest_name() {
+		return test_name;
+	}
+	
+	/**
+	 * Setter for the test name.
+	 *
+	 * @param test_name The test name to set, or null to leave it unchanged.
+	 */
+	public void setTest_name(String test_name) {
+		this.test_name = test_name;
+	}
+	
+	/**
+	 * Getter for the home sample availability status.
+	 *
+	 * @return The home sample availability status, or null if it is not changed.
+	 */
+	public String getHome_sample() {
+		return home_sample;
+	}
+	
+	/**
+	 * Setter for the home sample availability status.
+	 *
+	 * @param home_sample The home sample availability status to set, or null to leave it unchanged.
+	 */
+	public void setHome_sample(String home_sample) {
+		this.home_sample = home_sample;
+	}
+	
+	/**
+	 * Getter for the test description.
+	 *
+	 * @return The test description, or null if it is not changed.
+	 */
+	public String getTest_description() {
+		return test_description;
+	}
+	
+	/**
+	 * Setter for the test description.
+	 *
+	 * @param test_description The test description to set, or null to leave it unchanged.
+	 */
+	public void setTest_description(String test_description) {
+		this.test_description = test_description;
+	}
+	
+	/**
+	 * Getter for the test price.
+	 *
+	 * @return The test price, or null if it is not changed.
+	 */
+	public Integer getPrice() {
+		return price;
+	}
+	
+	/**
+	 * Setter for the test price.
+	 *
+	 * @param price The test price to set, or null to leave it unchanged.
+	 */
+	public void setPrice(Integer price) {
+		this.price = price;
+	}
+	
+	/**
+	 * Getter for the approval status of the test.
+	 *
+	 * @return The approval status of the test, or null if it is not changed.
+	 */
+	public Boolean getTest_approval() {
+		return test_approval;
+	}
+	
+	/**
+	 * Setter for the approval status of the test.
+	 *
+	 * @param test_approval The approval status of the test to set, or null to leave it unchanged.
+	 */
+	public void setTest_approval(Boolean test_approval) {
+		this.test_approval = test_approval;
+	}
+	
+	/**
+	 * Getter for the path to the government approval certificate.
+	 *
+	 * @return The path to the government approval certificate, or null if it is not changed.
+	 */
+	public String getGov_appro_cert_path() {
+		return gov_appro_cert_path;
+	}
+	
+	/**
+	 * Setter for the path to the government approval certificate.
+	 *
+	 * @param gov_appro_cert_path The path to the government approval certificate to set, or null to leave it unchanged.
+	 */
+	public void setGov_appro_cert_path(String gov_appro_cert_path) {
+		this.gov_appro_cert_path = gov_appro_cert_path;
+	}
+	
+	/**
+	 * Getter for the lab ID.
+	 *
+	 * @return The lab ID, or null if it is not changed.
+	 */
+	public Long getLabId() {
+		return labId;
+	}
+	
+	/**
+	 * Setter for the lab ID.
+	 *
+	 * @param labId The lab ID to set, or null to leave it unchanged.
+	 */
+	public void setLabId(Long labId) {
+		this.labId = labId;
+	}
+	
+	/**
+	 * Override of the toString() method to display the entity's properties.
+	 *
+	 * @return A string representation of the entity.
+	 */
+	@Override
+	public String toString() {
+		return "TestsPatchRequest [test_name=" + test_name + ", home_sample=" + home_sample + ", test_description="
+				+ test_description + ", price=" + price + ", test_approval=" + test_approval + ", gov_appro_cert_path="
+				+ gov_appro_cert_path + ", labId=" + labId + "]";
+	}
+	
+	/**
+	 * Default constructor for the TestsPatchRequest class.
+	 */
+	public TestsPatchRequest() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 /**
  * The Tests entity class represents the structure of a test in the system.
  * It is annotated with @Entity to indicate that it's a JPA entity mapped to a database table.
+ * The lab_id index backs the per-lab test menu lookup; the price index and idx_tests_test_name, an expression index on
+ * (coalesce(test_name, ''), test_id) that only the migrations can declare, back the keyset-paged test list.
  */
 @Entity
+@Table(indexes = {
+		@Index(name = "idx_tests_lab_id", columnList = "labId"),
+		@Index(name = "idx_tests_price", columnList = "price, test_id") })
 public class Tests {
 
 	/**
@@ -57,4 +57,17 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         ErrorMessageDTO errorDetails = new ErrorMessageDTO(new Date(), ex.getMessage(), request.getDescription(false));
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * Exception handler for InvalidPageRequestException.
+     *
+     * @param ex      The InvalidPageRequestException that occurred.
+     * @param request The current WebRequest.
+     * @return ResponseEntity containing the error details and HTTP status.
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<?> InvalidPageRequestException(InvalidPageRequestException ex, WebRequest request) {
+        ErrorMessageDTO errorDetails = new ErrorMessageDTO(new Date(), ex.getMessage(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
 }
@@ -0,0 +1,27 @@
+package com.onehealth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The InvalidPageRequestException is a custom exception class.
+ * It is thrown when a list request has an unknown sort or a cursor that is malformed or belongs to another sort.
+ * The exception is annotated with @ResponseStatus to indicate that it results in an HTTP 400 (BAD_REQUEST) status.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends Exception {
+
+    /**
+     * Generated serial version UID for serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor for InvalidPageRequestException.
+     *
+     * @param message The error message for the exception.
+     */
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
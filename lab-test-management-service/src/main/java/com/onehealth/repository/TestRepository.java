@@ -1,13 +1,26 @@
 package com.onehealth.repository;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import com.onehealth.dto.TestSummary;
 import com.onehealth.entity.Tests;
 
 /**
  * The TestRepository interface provides CRUD operations for the Tests entity.
- * It extends the JpaRepository interface, which provides standard JPA methods for data access.
+ * It extends the JpaRepository interface, which provides standard JPA methods for data access,
+ * and TestRepositoryCustom for single-statement updates and deletes.
+ * The summary queries read TestSummary projections for the paged test list; the "after" and "before" variants
+ * seek past the last row of the previous page on (sort column, test_id) instead of skipping rows with OFFSET.
  */
-public interface TestRepository extends JpaRepository<Tests, Long> {
+public interface TestRepository extends JpaRepository<Tests, Long>, TestRepositoryCustom {
+
+	/**
+	 * Select list of the TestSummary projection.
+	 */
+	String SUMMARY = "select t.test_id as test_id, t.test_name as test_name, t.home_sample as home_sample,"
+			+ " t.price as price, t.test_approval as test_approval, t.labId as labId from Tests t ";
 	
 	/**
 	 * Custom query to find tests by lab ID.
@@ -16,4 +29,81 @@ public interface TestRepository extends JpaRepository<Tests, Long> {
 	 * @return A list of Tests matching the provided lab ID.
 	 */
 	List<Tests> findByLabId(long lab_id);
+
+	/**
+	 * Read one page of test summaries by page number, in the order of the pageable's sort.
+	 *
+	 * @param pageable The page number, size and sort.
+	 * @return The test summaries of the page.
+	 */
+	@Query(SUMMARY)
+	Slice<TestSummary> findSummaries(Pageable pageable);
+
+	/**
+	 * Read the test summaries following test_id in ascending test_id order.
+	 *
+	 * @param test_id  The test ID of the last row of the previous page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where t.test_id > :test_id order by t.test_id")
+	Slice<TestSummary> findSummariesAfterId(long test_id, Pageable pageable);
+
+	/**
+	 * Read the test summaries following test_id in descending test_id order.
+	 *
+	 * @param test_id  The test ID of the last row of the previous page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where t.test_id < :test_id order by t.test_id desc")
+	Slice<TestSummary> findSummariesBeforeId(long test_id, Pageable pageable);
+
+	/**
+	 * Read the test summaries following (test_name, test_id) in ascending name order. A null name sorts as the empty
+	 * string, so that the row comparison holds for it too.
+	 *
+	 * @param test_name The test name of the last row of the previous page, or the empty string for a null name.
+	 * @param test_id   The test ID of the last row of the previous page.
+	 * @param pageable  The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where (coalesce(t.test_name, ''), t.test_id) > (:test_name, :test_id)"
+			+ " order by coalesce(t.test_name, ''), t.test_id")
+	Slice<TestSummary> findSummariesAfterName(String test_name, long test_id, Pageable pageable);
+
+	/**
+	 * Read the test summaries following (test_name, test_id) in descending name order. A null name sorts as the empty
+	 * string, so that the row comparison holds for it too.
+	 *
+	 * @param test_name The test name of the last row of the previous page, or the empty string for a null name.
+	 * @param test_id   The test ID of the last row of the previous page.
+	 * @param pageable  The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where (coalesce(t.test_name, ''), t.test_id) < (:test_name, :test_id)"
+			+ " order by coalesce(t.test_name, '') desc, t.test_id desc")
+	Slice<TestSummary> findSummariesBeforeName(String test_name, long test_id, Pageable pageable);
+
+	/**
+	 * Read the test summaries following (price, test_id) in ascending price order.
+	 *
+	 * @param price    The price of the last row of the previous page.
+	 * @param test_id  The test ID of the last row of the previous page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where (t.price, t.test_id) > (:price, :test_id) order by t.price, t.test_id")
+	Slice<TestSummary> findSummariesAfterPrice(int price, long test_id, Pageable pageable);
+
+	/**
+	 * Read the test summaries following (price, test_id) in descending price order.
+	 *
+	 * @param price    The price of the last row of the previous page.
+	 * @param test_id  The test ID of the last row of the previous page.
+	 * @param pageable The page size; the page number must be 0.
+	 * @return The next test summaries.
+	 */
+	@Query(SUMMARY + "where (t.price, t.test_id) < (:price, :test_id) order by t.price desc, t.test_id desc")
+	Slice<TestSummary> findSummariesBeforePrice(int price, long test_id, Pageable pageable);
 }
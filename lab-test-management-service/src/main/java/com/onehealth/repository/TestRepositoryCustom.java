@@ -0,0 +1,74 @@
+package com.onehealth.repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.dto.TestsPatchRequest;
+import com.onehealth.dto.TestsUpdateRequest;
+import com.onehealth.entity.Tests;
+
+/**
+ * The TestRepositoryCustom interface provides single-statement writes for the Tests entity.
+ * Each method runs exactly one UPDATE or DELETE and reports the lab the test belonged to before the change,
+ * which is empty when no test has the given ID.
+ * It also provides the batched insert and the cursor read used by the bulk import and export,
+ * and the full-text search over the search_vector column.
+ */
+public interface TestRepositoryCustom {
+
+	/**
+	 * Overwrite every column of a test.
+	 *
+	 * @param test The test ID and all new values.
+	 * @return The lab ID of the test before the update, or an empty Optional if the test does not exist.
+	 */
+	Optional<Long> updateAllColumns(TestsUpdateRequest test);
+
+	/**
+	 * Write only the columns that are set in the patch.
+	 *
+	 * @param test_id The ID of the test to update.
+	 * @param patch   The columns to change.
+	 * @return The lab ID of the test before the update, or an empty Optional if the test does not exist.
+	 */
+	Optional<Long> updateChangedColumns(long test_id, TestsPatchRequest patch);
+
+	/**
+	 * Delete a test.
+	 *
+	 * @param test_id The ID of the test to delete.
+	 * @return The lab ID of the deleted test, or an empty Optional if the test does not exist.
+	 */
+	Optional<Long> deleteReturningLabId(long test_id);
+
+	/**
+	 * Insert tests with one JDBC batch. The caller provides the transaction.
+	 *
+	 * @param tests The tests to insert; their test_id is ignored.
+	 * @return The generated test IDs, in the order of the given tests.
+	 */
+	List<Long> insertBatch(List<Tests> tests);
+
+	/**
+	 * Read the tests of a lab in test_id order through a forward-only cursor, handing each row to the consumer
+	 * as it arrives. Must run inside a transaction, otherwise the driver reads the whole result at once.
+	 *
+	 * @param lab_id    The ID of the lab whose tests are read.
+	 * @param fetchSize The number of rows fetched from the database per round trip.
+	 * @param consumer  Receives each test.
+	 */
+	void streamByLabId(long lab_id, int fetchSize, Consumer<Tests> consumer);
+
+	/**
+	 * Find tests matching the search text and filters of the request, best match first.
+	 * All matches are ranked. Without search text the matches are ordered by test_id.
+	 *
+	 * @param request The search text and filters; the page and size in it are ignored.
+	 * @param offset  The number of matches to skip.
+	 * @param limit   The maximum number of matches to return.
+	 * @return The matching tests.
+	 */
+	List<Tests> search(TestSearchRequest request, long offset, int limit);
+}
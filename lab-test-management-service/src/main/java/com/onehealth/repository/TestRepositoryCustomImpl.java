@@ -0,0 +1,190 @@
+package com.onehealth.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.dto.TestsPatchRequest;
+import com.onehealth.dto.TestsUpdateRequest;
+import com.onehealth.entity.Tests;
+
+/**
+ * The TestRepositoryCustomImpl class implements the single-statement writes with plain JDBC.
+ * Updates join the row to itself with FOR UPDATE so that RETURNING can report the lab ID from before the change;
+ * the row count of the RETURNING result doubles as the not-found check. No entity is loaded or merged.
+ */
+public class TestRepositoryCustomImpl implements TestRepositoryCustom {
+
+	private static final String INSERT = "insert into tests (test_name, home_sample, test_description, price,"
+			+ " test_approval, gov_appro_cert_path, lab_id) values (?, ?, ?, ?, ?, ?, ?)";
+	private static final String COLUMNS = "test_id, test_name, home_sample, test_description, price,"
+			+ " test_approval, gov_appro_cert_path, lab_id";
+	private static final String SELECT_BY_LAB = "select " + COLUMNS + " from tests where lab_id = ? order by test_id";
+	private static final RowMapper<Tests> TESTS_MAPPER = (resultSet, row) -> new Tests(resultSet.getLong("test_id"),
+			resultSet.getString("test_name"), resultSet.getString("home_sample"),
+			resultSet.getString("test_description"), resultSet.getInt("price"), resultSet.getBoolean("test_approval"),
+			resultSet.getString("gov_appro_cert_path"), resultSet.getLong("lab_id"));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	/**
+	 * Constructor for TestRepositoryCustomImpl.
+	 *
+	 * @param jdbcTemplate The JDBC template used to run the statements.
+	 */
+	public TestRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public Optional<Long> updateAllColumns(TestsUpdateRequest test) {
+		Map<String, Object> columns = new LinkedHashMap<>();
+		columns.put("test_name", test.getTest_name());
+		columns.put("home_sample", test.getHome_sample());
+		columns.put("test_description", test.getTest_description());
+		columns.put("price", test.getPrice());
+		columns.put("test_approval", test.isTest_approval());
+		columns.put("gov_appro_cert_path", test.getGov_appro_cert_path());
+		columns.put("lab_id", test.getLabId());
+		return update(test.getTest_id(), columns);
+	}
+
+	@Override
+	public Optional<Long> updateChangedColumns(long test_id, TestsPatchRequest patch) {
+		Map<String, Object> columns = new LinkedHashMap<>();
+		putIfSet(columns, "test_name", patch.getTest_name());
+		putIfSet(columns, "home_sample", patch.getHome_sample());
+		putIfSet(columns, "test_description", patch.getTest_description());
+		putIfSet(columns, "price", patch.getPrice());
+		putIfSet(columns, "test_approval", patch.getTest_approval());
+		putIfSet(columns, "gov_appro_cert_path", patch.getGov_appro_cert_path());
+		putIfSet(columns, "lab_id", patch.getLabId());
+		if (columns.isEmpty()) {
+			return single(jdbcTemplate.queryForList("select lab_id from tests where test_id = :test_id",
+					Map.of("test_id", test_id), Long.class));
+		}
+		return update(test_id, columns);
+	}
+
+	@Override
+	public Optional<Long> deleteReturningLabId(long test_id) {
+		return single(jdbcTemplate.queryForList("delete from tests where test_id = :test_id returning lab_id",
+				Map.of("test_id", test_id), Long.class));
+	}
+
+	@Override
+	public List<Long> insertBatch(List<Tests> tests) {
+		return jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<List<Long>>) connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[] { "test_id" })) {
+				for (Tests test : tests) {
+					statement.setString(1, test.getTest_name());
+					statement.setString(2, test.getHome_sample());
+					statement.setString(3, test.getTest_description());
+					statement.setInt(4, test.getPrice());
+					statement.setBoolean(5, test.isTest_approval());
+					statement.setString(6, test.getGov_appro_cert_path());
+					statement.setLong(7, test.getLabId());
+					statement.addBatch();
+				}
+				statement.executeBatch();
+				List<Long> ids = new ArrayList<>(tests.size());
+				try (ResultSet keys = statement.getGeneratedKeys()) {
+					while (keys.next()) {
+						ids.add(keys.getLong(1));
+					}
+				}
+				return ids;
+			}
+		});
+	}
+
+	@Override
+	public void streamByLabId(long lab_id, int fetchSize, Consumer<Tests> consumer) {
+		jdbcTemplate.getJdbcOperations().query(connection -> {
+			PreparedStatement statement = connection.prepareStatement(SELECT_BY_LAB, ResultSet.TYPE_FORWARD_ONLY,
+					ResultSet.CONCUR_READ_ONLY);
+			statement.setFetchSize(fetchSize);
+			statement.setLong(1, lab_id);
+			return statement;
+		}, resultSet -> {
+			consumer.accept(TESTS_MAPPER.mapRow(resultSet, 0));
+		});
+	}
+
+	/**
+	 * The search text is parsed with websearch_to_tsquery, so quotes, "or" and a leading minus work as on a web
+	 * search engine. Matching uses the stored search_vector column and its GIN index (see db/migration/labtests),
+	 * and the filters are only added to the WHERE clause when they are set. Every match is ranked in the same query and
+	 * only the requested page is kept (a top-N sort), so the best matches always come first and every page can be reached.
+	 */
+	@Override
+	public List<Tests> search(TestSearchRequest request, long offset, int limit) {
+		MapSqlParameterSource parameters = new MapSqlParameterSource().addValue("offset", offset).addValue("limit", limit);
+		List<String> conditions = new ArrayList<>();
+		if (request.getMinPrice() != null) {
+			conditions.add("price >= :min_price");
+			parameters.addValue("min_price", request.getMinPrice());
+		}
+		if (request.getMaxPrice() != null) {
+			conditions.add("price <= :max_price");
+			parameters.addValue("max_price", request.getMaxPrice());
+		}
+		if (request.getHome_sample() != null) {
+			conditions.add("lower(home_sample) = lower(:home_sample)");
+			parameters.addValue("home_sample", request.getHome_sample());
+		}
+		if (request.getTest_approval() != null) {
+			conditions.add("test_approval = :test_approval");
+			parameters.addValue("test_approval", request.getTest_approval());
+		}
+		String sql;
+		if (request.getQ() == null || request.getQ().isBlank()) {
+			sql = "select " + COLUMNS + " from tests" + where(conditions) + " order by test_id";
+		} else {
+			conditions.add(0, "search_vector @@ query");
+			parameters.addValue("q", request.getQ());
+			sql = "select " + COLUMNS + " from tests, websearch_to_tsquery('english', :q) query" + where(conditions)
+					+ " order by ts_rank_cd(search_vector, query) desc, test_id";
+		}
+		return jdbcTemplate.query(sql + " limit :limit offset :offset", parameters, TESTS_MAPPER);
+	}
+
+	private static String where(List<String> conditions) {
+		return conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+	}
+
+	/**
+	 * Run one UPDATE for the given columns. Column names only ever come from the fixed lists above.
+	 */
+	private Optional<Long> update(long test_id, Map<String, Object> columns) {
+		String assignments = columns.keySet().stream()
+				.map(column -> column + " = :" + column)
+				.collect(Collectors.joining(", "));
+		MapSqlParameterSource parameters = new MapSqlParameterSource(columns).addValue("test_id", test_id);
+		return single(jdbcTemplate.queryForList("update tests t set " + assignments
+				+ " from (select test_id, lab_id from tests where test_id = :test_id for update) previous"
+				+ " where t.test_id = previous.test_id returning previous.lab_id", parameters, Long.class));
+	}
+
+	private static void putIfSet(Map<String, Object> columns, String column, Object value) {
+		if (value != null) {
+			columns.put(column, value);
+		}
+	}
+
+	private static Optional<Long> single(List<Long> labIds) {
+		return labIds.stream().findFirst();
+	}
+}
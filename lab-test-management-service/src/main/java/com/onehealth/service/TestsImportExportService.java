@@ -0,0 +1,51 @@
+package com.onehealth.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+
+import com.onehealth.dto.TestImportResult;
+import com.onehealth.dto.TestImportSummary;
+import com.onehealth.entity.Tests;
+import com.onehealth.exception.DatabaseException;
+
+/**
+ * The TestsImportExportService interface provides bulk loading and unloading of tests.
+ * Both directions stream, so memory use does not grow with the size of the file.
+ */
+public interface TestsImportExportService {
+
+	/**
+	 * Media type of a newline-delimited JSON upload or download, one test per line.
+	 */
+	MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	/**
+	 * Media type of a CSV upload or download with a header row.
+	 */
+	MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+	/**
+	 * Import tests from a CSV or NDJSON stream. Rows are inserted in batches as they are read,
+	 * and the result of every row is handed to the consumer in input order as soon as its batch is written.
+	 *
+	 * @param body        The uploaded rows.
+	 * @param contentType TEXT_CSV or APPLICATION_NDJSON.
+	 * @param results     Receives the result of each row.
+	 * @return The totals of the import.
+	 * @throws IOException If the upload cannot be read.
+	 */
+	TestImportSummary importTests(InputStream body, MediaType contentType, Consumer<TestImportResult> results)
+			throws IOException;
+
+	/**
+	 * Read all tests of a lab in test_id order, handing each one to the consumer as it is read from the database.
+	 *
+	 * @param lab_id   The ID of the lab whose tests are exported.
+	 * @param consumer Receives each test.
+	 * @throws DatabaseException If there's an issue accessing the database.
+	 */
+	void exportTests(long lab_id, Consumer<Tests> consumer) throws DatabaseException;
+}
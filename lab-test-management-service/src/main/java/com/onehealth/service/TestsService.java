@@ -1,9 +1,14 @@
 package com.onehealth.service;
 
 import java.util.List;
+import com.onehealth.dto.TestSearchPage;
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.dto.TestSummaryPage;
+import com.onehealth.dto.TestsPatchRequest;
 import com.onehealth.dto.TestsUpdateRequest;
 import com.onehealth.entity.Tests;
 import com.onehealth.exception.DatabaseException;
+import com.onehealth.exception.InvalidPageRequestException;
 import com.onehealth.exception.TestNotFoundException;
 
 /**
@@ -13,12 +18,18 @@ import com.onehealth.exception.TestNotFoundException;
 public interface TestsService {
 	
 	/**
-	 * Retrieve a list of all tests.
+	 * Retrieve one page of the list of all tests as summaries, without description and certificate path.
 	 *
-	 * @return A list of all available tests.
+	 * @param sort   The sort column, test_id, test_name or price, optionally followed by ",asc" or ",desc".
+	 * @param cursor The nextCursor of the previous page, or null to start at the given page number.
+	 * @param page   The zero-based page number, used only when no cursor is given.
+	 * @param size   The number of tests per page.
+	 * @return One page of test summaries and the cursor of the next page.
+	 * @throws InvalidPageRequestException If the sort is unknown or the cursor is invalid or belongs to another sort.
 	 * @throws DatabaseException If there's an issue accessing the database.
 	 */
-	List<Tests> getAllTests() throws DatabaseException;
+	TestSummaryPage getTestSummaries(String sort, String cursor, int page, int size)
+			throws InvalidPageRequestException, DatabaseException;
 
 	/**
 	 * Retrieve a test by its ID.
@@ -48,6 +59,16 @@ public interface TestsService {
 	 */
 	void updateTestDetails(TestsUpdateRequest test) throws DatabaseException, TestNotFoundException;
 
+	/**
+	 * Partially update the details of a test, writing only the attributes set in the patch.
+	 *
+	 * @param test_id The ID of the test to update.
+	 * @param patch   The attributes to change.
+	 * @throws TestNotFoundException If the test with the given ID is not found.
+	 * @throws DatabaseException     If there's an issue accessing the database.
+	 */
+	void patchTestDetails(long test_id, TestsPatchRequest patch) throws DatabaseException, TestNotFoundException;
+
 	/**
 	 * Retrieve a list of tests based on the lab ID.
 	 *
@@ -64,4 +85,13 @@ public interface TestsService {
 	 * @throws DatabaseException If there's an issue accessing the database.
 	 */
 	void addNewTest(Tests test) throws DatabaseException;
+
+	/**
+	 * Search tests by name and description, optionally filtered by price range, home sample and approval.
+	 *
+	 * @param request The search text, filters and page.
+	 * @return One page of matching tests, best match first.
+	 * @throws DatabaseException If there's an issue accessing the database.
+	 */
+	TestSearchPage searchTests(TestSearchRequest request) throws DatabaseException;
 }
@@ -0,0 +1,289 @@
+package com.onehealth.serviceImplementation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestImportResult;
+import com.onehealth.dto.TestImportSummary;
+import com.onehealth.entity.Tests;
+import com.onehealth.exception.DatabaseException;
+import com.onehealth.repository.TestRepository;
+import com.onehealth.service.TestsImportExportService;
+
+/**
+ * The TestsImportExportServiceImplementation class is an implementation of the TestsImportExportService interface.
+ * Imports are written with JDBC batches of lab-tests.import.batch-size rows, each batch in its own transaction.
+ * When a batch is rejected by the database it is retried row by row, so one bad row only fails itself.
+ * Exports read the lab's tests through a database cursor instead of loading them into a list.
+ */
+@Service
+public class TestsImportExportServiceImplementation implements TestsImportExportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestsImportExportService.class);
+
+	private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {
+	};
+
+	private final TestRepository testRepository;
+	private final LabTestsCache labTestsCache;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final CsvMapper csvMapper = new CsvMapper();
+	private final int batchSize;
+	private final int fetchSize;
+
+	/**
+	 * Constructor for TestsImportExportServiceImplementation.
+	 *
+	 * @param testRepository     The repository the tests are written to and read from.
+	 * @param labTestsCache      The cache whose labs are evicted after each imported batch.
+	 * @param transactionManager The transaction manager used for the per-batch transactions.
+	 * @param objectMapper       The mapper used to read NDJSON rows.
+	 * @param batchSize          The number of rows inserted per JDBC batch.
+	 * @param fetchSize          The number of rows read per database round trip during an export.
+	 */
+	public TestsImportExportServiceImplementation(TestRepository testRepository, LabTestsCache labTestsCache,
+			PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			@Value("${lab-tests.import.batch-size:1000}") int batchSize,
+			@Value("${lab-tests.export.fetch-size:500}") int fetchSize) {
+		this.testRepository = testRepository;
+		this.labTestsCache = labTestsCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.batchSize = batchSize;
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Import tests from a CSV or NDJSON stream.
+	 * A CSV row that cannot be parsed ends the import, because the rows after it cannot be trusted;
+	 * an NDJSON line that cannot be parsed is reported and the import carries on with the next line.
+	 *
+	 * @param body        The uploaded rows.
+	 * @param contentType TEXT_CSV or APPLICATION_NDJSON.
+	 * @param results     Receives the result of each row.
+	 * @return The totals of the import.
+	 * @throws IOException If the upload cannot be read.
+	 */
+	@Override
+	public TestImportSummary importTests(InputStream body, MediaType contentType, Consumer<TestImportResult> results)
+			throws IOException {
+		logger.info("Importing tests from {} upload", contentType);
+		long started = System.nanoTime();
+		Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+		ImportBatch batch = new ImportBatch(results);
+		if (TEXT_CSV.isCompatibleWith(contentType)) {
+			MappingIterator<Map<String, Object>> rows = csvMapper.readerFor(ROW_TYPE)
+					.with(CsvSchema.emptySchema().withHeader())
+					.readValues(reader);
+			while (true) {
+				long row = batch.rows + 1;
+				try {
+					if (!rows.hasNextValue()) {
+						break;
+					}
+					batch.add(row, rows.nextValue());
+				} catch (JacksonException ex) {
+					batch.reject(row, TestImportResult.Status.INVALID, "Unreadable CSV row, import stopped: "
+							+ ex.getOriginalMessage());
+					break;
+				}
+			}
+		} else {
+			BufferedReader lines = new BufferedReader(reader);
+			String line;
+			while ((line = lines.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				long row = batch.rows + 1;
+				try {
+					batch.add(row, objectMapper.readValue(line, ROW_TYPE));
+				} catch (JacksonException ex) {
+					batch.reject(row, TestImportResult.Status.INVALID, "Unreadable JSON: " + ex.getOriginalMessage());
+				}
+			}
+		}
+		batch.flush();
+		TestImportSummary summary = new TestImportSummary(batch.rows, batch.created, batch.rows - batch.created,
+				(System.nanoTime() - started) / 1_000_000);
+		logger.info("Import finished: {}", summary);
+		return summary;
+	}
+
+	/**
+	 * Read all tests of a lab in test_id order. The transaction keeps the cursor open while the rows are consumed.
+	 *
+	 * @param lab_id   The ID of the lab whose tests are exported.
+	 * @param consumer Receives each test.
+	 * @throws DatabaseException If there's an issue accessing the database.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportTests(long lab_id, Consumer<Tests> consumer) throws DatabaseException {
+		logger.info("Exporting tests for lab with lab_id: {}", lab_id);
+		testRepository.streamByLabId(lab_id, fetchSize, consumer);
+	}
+
+	/**
+	 * Convert a parsed row into a test. Column names are those of the JSON form of Tests;
+	 * lab_id is accepted as well as labId, and a test_id column is ignored because IDs are always generated.
+	 */
+	static Tests toTest(Map<String, Object> row) {
+		Tests test = new Tests();
+		test.setTest_name(required(row, "test_name"));
+		test.setHome_sample(text(row, "home_sample"));
+		test.setTest_description(text(row, "test_description"));
+		test.setGov_appro_cert_path(text(row, "gov_appro_cert_path"));
+		String labId = text(row, "labId") != null ? text(row, "labId") : required(row, "lab_id");
+		try {
+			test.setLabId(Long.parseLong(labId));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("labId is not a number: " + labId);
+		}
+		String price = text(row, "price");
+		if (price != null) {
+			try {
+				test.setPrice(Integer.parseInt(price));
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("price is not a whole number: " + price);
+			}
+			if (test.getPrice() < 0) {
+				throw new IllegalArgumentException("price must not be negative: " + price);
+			}
+		}
+		String approval = text(row, "test_approval");
+		if (approval != null) {
+			if (!approval.equalsIgnoreCase("true") && !approval.equalsIgnoreCase("false")) {
+				throw new IllegalArgumentException("test_approval must be true or false: " + approval);
+			}
+			test.setTest_approval(Boolean.parseBoolean(approval));
+		}
+		return test;
+	}
+
+	private static String required(Map<String, Object> row, String column) {
+		String value = text(row, column);
+		if (value == null) {
+			throw new IllegalArgumentException(column + " is required");
+		}
+		return value;
+	}
+
+	// CSV has no nulls, so an empty cell counts as missing
+	private static String text(Map<String, Object> row, String column) {
+		Object value = row.get(column);
+		if (value == null || value.toString().isBlank()) {
+			return null;
+		}
+		return value.toString().trim();
+	}
+
+	/**
+	 * Collects the rows of the batch being read, together with the results of the rows that were rejected
+	 * on the way, so that every result is handed out in input order once the batch is written.
+	 */
+	private class ImportBatch {
+
+		private final Consumer<TestImportResult> results;
+		private final List<TestImportResult> pending = new ArrayList<>();
+		private final List<TestImportResult> pendingInserts = new ArrayList<>();
+		private final List<Tests> tests = new ArrayList<>();
+		private long rows;
+		private long created;
+
+		ImportBatch(Consumer<TestImportResult> results) {
+			this.results = results;
+		}
+
+		void add(long row, Map<String, Object> values) {
+			Tests test;
+			try {
+				test = toTest(values);
+			} catch (IllegalArgumentException ex) {
+				reject(row, TestImportResult.Status.INVALID, ex.getMessage());
+				return;
+			}
+			rows++;
+			TestImportResult result = new TestImportResult(row, null, null, null);
+			pending.add(result);
+			pendingInserts.add(result);
+			tests.add(test);
+			flushIfFull();
+		}
+
+		void reject(long row, TestImportResult.Status status, String error) {
+			rows++;
+			pending.add(new TestImportResult(row, status, null, error));
+			flushIfFull();
+		}
+
+		// rejected rows count too, so a file of nothing but bad rows is still answered as it is read
+		private void flushIfFull() {
+			if (pending.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		void flush() {
+			if (!tests.isEmpty()) {
+				try {
+					List<Long> ids = transactionTemplate.execute(status -> testRepository.insertBatch(tests));
+					for (int i = 0; i < ids.size(); i++) {
+						created(pendingInserts.get(i), ids.get(i));
+					}
+				} catch (DataAccessException batchFailure) {
+					logger.warn("Batch of {} tests rejected, retrying row by row: {}", tests.size(),
+							NestedExceptionUtils.getMostSpecificCause(batchFailure).getMessage());
+					for (int i = 0; i < tests.size(); i++) {
+						List<Tests> single = List.of(tests.get(i));
+						try {
+							created(pendingInserts.get(i),
+									transactionTemplate.execute(status -> testRepository.insertBatch(single)).get(0));
+						} catch (DataAccessException ex) {
+							pendingInserts.get(i).setStatus(TestImportResult.Status.FAILED);
+							pendingInserts.get(i).setError(NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+						}
+					}
+				}
+				labTestsCache.evict(tests.stream().mapToLong(Tests::getLabId).distinct().toArray());
+			}
+			pending.forEach(results);
+			pending.clear();
+			pendingInserts.clear();
+			tests.clear();
+		}
+
+		private void created(TestImportResult result, long test_id) {
+			result.setStatus(TestImportResult.Status.CREATED);
+			result.setTest_id(test_id);
+			created++;
+		}
+	}
+}
@@ -1,13 +1,29 @@
 package com.onehealth.serviceImplementation;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestSearchPage;
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.dto.TestSummary;
+import com.onehealth.dto.TestSummaryPage;
+import com.onehealth.dto.TestsPatchRequest;
 import com.onehealth.dto.TestsUpdateRequest;
 import com.onehealth.entity.Tests;
 import com.onehealth.exception.DatabaseException;
+import com.onehealth.exception.InvalidPageRequestException;
 import com.onehealth.exception.TestNotFoundException;
 import com.onehealth.repository.TestRepository;
 import com.onehealth.service.TestsService;
@@ -19,20 +35,99 @@ import com.onehealth.service.TestsService;
 public class TestsServiceImplementation implements TestsService{
 
     private static final Logger logger = LoggerFactory.getLogger(TestsService.class);
+
+    private static final List<String> SORT_COLUMNS = List.of("test_id", "test_name", "price");
 	
     @Autowired
     private TestRepository testRepository;
+
+    @Autowired
+    private LabTestsCache labTestsCache;
+
+    @Value("${lab-tests.list.max-page-size:500}")
+    private int maxListPageSize;
+
+    @Value("${lab-tests.search.max-page-size:100}")
+    private int maxSearchPageSize;
 	
     /**
-     * Retrieve a list of all tests.
+     * Retrieve one page of the list of all tests as summaries, without description and certificate path.
+     * Without a cursor the page is read by page number; with a cursor the query seeks past the last row of the
+     * previous page on (sort column, test_id), so deep pages cost the same as the first one.
+     * The page size is clamped to 1..lab-tests.list.max-page-size.
      *
-     * @return A list of all available tests.
+     * @param sort   The sort column, test_id, test_name or price, optionally followed by ",asc" or ",desc".
+     * @param cursor The nextCursor of the previous page, or null to start at the given page number.
+     * @param page   The zero-based page number, used only when no cursor is given.
+     * @param size   The number of tests per page.
+     * @return One page of test summaries and the cursor of the next page.
+     * @throws InvalidPageRequestException If the sort is unknown or the cursor is invalid or belongs to another sort.
      * @throws DatabaseException If there's an issue accessing the database.
      */
     @Override
-    public List<Tests> getAllTests() throws DatabaseException {
-        logger.info("Fetching all tests");
-        return testRepository.findAll();
+    public TestSummaryPage getTestSummaries(String sort, String cursor, int page, int size)
+            throws InvalidPageRequestException, DatabaseException {
+        logger.info("Fetching tests sorted by {}, cursor {}, page {}, size {}", sort, cursor, page, size);
+        String[] parts = sort.split(",");
+        String column = parts[0].trim();
+        String direction = parts.length > 1 ? parts[1].trim().toLowerCase() : "asc";
+        if (!SORT_COLUMNS.contains(column) || parts.length > 2 || !(direction.equals("asc") || direction.equals("desc"))) {
+            throw new InvalidPageRequestException("Unknown sort: " + sort + ", expected one of " + SORT_COLUMNS + " with ,asc or ,desc");
+        }
+        String sortKey = column + "," + direction;
+        boolean descending = direction.equals("desc");
+        int pageSize = Math.max(1, Math.min(size, maxListPageSize));
+        Slice<TestSummary> slice;
+        if (cursor == null || cursor.isBlank()) {
+            Sort.Direction sortDirection = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+            // the same order as the keyset queries, where a null name sorts as the empty string
+            Sort order = column.equals("test_name") ? JpaSort.unsafe(sortDirection, "coalesce(t.test_name, '')", "t.test_id")
+                    : Sort.by(sortDirection, column.equals("test_id") ? new String[] { "test_id" } : new String[] { column, "test_id" });
+            slice = testRepository.findSummaries(PageRequest.of(Math.max(0, page), pageSize, order));
+        } else {
+            String[] position = decodeCursor(cursor, sortKey);
+            long lastId = Long.parseLong(position[1]);
+            Pageable first = PageRequest.ofSize(pageSize);
+            slice = switch (sortKey) {
+                case "test_id,asc" -> testRepository.findSummariesAfterId(lastId, first);
+                case "test_id,desc" -> testRepository.findSummariesBeforeId(lastId, first);
+                case "test_name,asc" -> testRepository.findSummariesAfterName(position[2], lastId, first);
+                case "test_name,desc" -> testRepository.findSummariesBeforeName(position[2], lastId, first);
+                case "price,asc" -> testRepository.findSummariesAfterPrice(Integer.parseInt(position[2]), lastId, first);
+                default -> testRepository.findSummariesBeforePrice(Integer.parseInt(position[2]), lastId, first);
+            };
+        }
+        List<TestSummary> tests = slice.getContent();
+        String nextCursor = slice.hasNext() ? encodeCursor(sortKey, tests.get(tests.size() - 1)) : null;
+        return new TestSummaryPage(tests, nextCursor);
+    }
+
+    // cursor = base64url("<sort>\n<test_id>\n<sort column value>"); the sort is kept so a cursor cannot be reused with another.
+    // A null name is written as the empty string, which is where the name queries sort it.
+    private static String encodeCursor(String sortKey, TestSummary last) {
+        String value = sortKey.startsWith("test_name") ? (last.getTest_name() != null ? last.getTest_name() : "")
+                : sortKey.startsWith("price") ? String.valueOf(last.getPrice()) : "";
+        String position = sortKey + "\n" + last.getTest_id() + "\n" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor, String sortKey) throws InvalidPageRequestException {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+            if (position.length != 3) {
+                throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+            }
+            if (!position[0].equals(sortKey)) {
+                throw new InvalidPageRequestException("Cursor was issued for sort " + position[0] + ", not " + sortKey);
+            }
+            Long.parseLong(position[1]);
+            if (sortKey.startsWith("price")) {
+                Integer.parseInt(position[2]);
+            }
+            return position;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+        }
     }
 
     /**
@@ -69,10 +164,11 @@ public class TestsServiceImplementation implements TestsService{
      */
     @Override
     public void deleteTest(long test_id) throws DatabaseException, TestNotFoundException {
-        boolean isValidId = testRepository.existsById(test_id);
-        if (isValidId) {
-            logger.info("Deleting test with test_id: {}", test_id);
-            testRepository.deleteById(test_id);
+        logger.info("Deleting test with test_id: {}", test_id);
+        // one DELETE ... RETURNING: the returned lab ID is both the not-found check and the lab to evict
+        Optional<Long> labId = testRepository.deleteReturningLabId(test_id);
+        if (labId.isPresent()) {
+            labTestsCache.evict(labId.get());
         } else {
             logger.warn("Test with test_id {} not found.", test_id);
             logger.error("Operation failed !!");
@@ -90,20 +186,10 @@ public class TestsServiceImplementation implements TestsService{
     @Override
     public void updateTestDetails(TestsUpdateRequest test) throws DatabaseException, TestNotFoundException {
         logger.info("Updating test with test_id: {}", test.getTest_id());
-        boolean isValidId = testRepository.existsById(test.getTest_id());
-        if (isValidId) {
-            logger.info("Deleting test with test_id: {}", test.getTest_id());
-            Tests updateTest = new Tests();
-            updateTest.setTest_id(test.getTest_id());
-            updateTest.setTest_name(test.getTest_name());
-            updateTest.setPrice(test.getPrice());
-            updateTest.setGov_appro_cert_path(test.getGov_appro_cert_path());
-            updateTest.setHome_sample(test.getHome_sample());
-            updateTest.setTest_approval(test.isTest_approval());
-            updateTest.setTest_description(test.getTest_description());
-            updateTest.setLabId(test.getLabId());
-            // TODO Auto-generated method stub
-            testRepository.save(updateTest);
+        // a single UPDATE; it returns the lab the test belonged to before, whose cached menu is now stale too
+        Optional<Long> previousLabId = testRepository.updateAllColumns(test);
+        if (previousLabId.isPresent()) {
+            labTestsCache.evict(previousLabId.get(), test.getLabId());
         } else {
             logger.warn("Test with test_id {} not found.", test.getTest_id());
             logger.error("Operation failed !!");
@@ -111,17 +197,39 @@ public class TestsServiceImplementation implements TestsService{
         }
     }
 
+    /**
+     * Partially update the details of a test, writing only the attributes set in the patch.
+     *
+     * @param test_id The ID of the test to update.
+     * @param patch   The attributes to change.
+     * @throws TestNotFoundException If the test with the given ID is not found.
+     * @throws DatabaseException If there's an issue accessing the database.
+     */
+    @Override
+    public void patchTestDetails(long test_id, TestsPatchRequest patch) throws DatabaseException, TestNotFoundException {
+        logger.info("Patching test with test_id: {}", test_id);
+        Optional<Long> previousLabId = testRepository.updateChangedColumns(test_id, patch);
+        if (previousLabId.isPresent()) {
+            labTestsCache.evict(previousLabId.get(), patch.getLabId() != null ? patch.getLabId() : previousLabId.get());
+        } else {
+            logger.warn("Test with test_id {} not found.", test_id);
+            logger.error("Operation failed !!");
+            throw new TestNotFoundException("Test Not Found with : " + test_id);
+        }
+    }
+
     /**
      * Retrieve a list of tests based on the lab ID.
+     * The list is served from the LabTestsCache and only read from the database on a miss.
      *
      * @param lab_id The ID of the lab for which tests need to be retrieved.
-     * @return A list of tests associated with the provided lab ID.
+     * @return An unmodifiable list of tests associated with the provided lab ID.
      * @throws DatabaseException If there's an issue accessing the database.
      */
     @Override
     public List<Tests> getAllTestByLabId(long lab_id) throws DatabaseException {
         logger.info("Fetching all tests for lab with lab_id: {}", lab_id);
-        return testRepository.findByLabId(lab_id);
+        return labTestsCache.get(lab_id, testRepository::findByLabId);
     }
 
     /**
@@ -135,5 +243,25 @@ public class TestsServiceImplementation implements TestsService{
         logger.info("Adding a new test");
         // TODO Auto-generated method stub
         testRepository.save(test);
+        labTestsCache.evict(test.getLabId());
+    }
+
+    /**
+     * Search tests by name and description, optionally filtered by price range, home sample and approval.
+     * The page size is clamped to 1..lab-tests.search.max-page-size and a negative page is read as the first one.
+     * One row more than the page size is read to tell whether a next page exists, so no count query is needed.
+     *
+     * @param request The search text, filters and page.
+     * @return One page of matching tests, best match first.
+     * @throws DatabaseException If there's an issue accessing the database.
+     */
+    @Override
+    public TestSearchPage searchTests(TestSearchRequest request) throws DatabaseException {
+        logger.info("Searching tests: {}", request);
+        int size = Math.max(1, Math.min(request.getSize(), maxSearchPageSize));
+        int page = Math.max(0, request.getPage());
+        List<Tests> tests = testRepository.search(request, (long) page * size, size + 1);
+        boolean hasNext = tests.size() > size;
+        return new TestSearchPage(hasNext ? tests.subList(0, size) : tests, page, size, hasNext);
     }
 }
@@ -0,0 +1,25 @@
+-- The tests table as Hibernate mapped it under ddl-auto=update, with its indexes and the full-text search column
+-- that used to come from schema.sql. A database created by ddl-auto=update may already hold all of it, so every
+-- statement is safe to run against an existing schema.
+
+create table if not exists tests (
+    test_id bigint generated by default as identity primary key,
+    test_name varchar(255),
+    home_sample varchar(255),
+    test_description varchar(255),
+    price integer not null,
+    test_approval boolean not null,
+    gov_appro_cert_path varchar(255),
+    lab_id bigint not null
+);
+-- the per-lab test menu
+create index if not exists idx_tests_lab_id on tests (lab_id);
+-- the keyset-paged test list, sorted by name or by price
+create index if not exists idx_tests_test_name on tests (test_name, test_id);
+create index if not exists idx_tests_price on tests (price, test_id);
+
+-- Full-text search over test name (weight A) and description (weight B), kept up to date by Postgres itself.
+alter table tests add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('english', coalesce(test_name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(test_description, '')), 'B')) stored;
+create index if not exists idx_tests_search_vector on tests using gin (search_vector);
@@ -0,0 +1,4 @@
+-- The test list pages by name on (coalesce(test_name, ''), test_id), so that tests without a name get a place in the
+-- order that the keyset row comparison can move past; the index follows the same expression.
+drop index if exists idx_tests_test_name;
+create index idx_tests_test_name on tests ((coalesce(test_name, '')), test_id);
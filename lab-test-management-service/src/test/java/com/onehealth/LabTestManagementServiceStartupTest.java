@@ -0,0 +1,39 @@
+package com.onehealth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Boots the service with the schema coming from Flyway instead of Hibernate, and checks that it is up within the
+ * startup budget with the indexes the per-lab menu, the test list and the search rely on.
+ */
+class LabTestManagementServiceStartupTest {
+
+	private static final Duration STARTUP_BUDGET = Duration.ofSeconds(15);
+
+	@Test
+	void bootsWithinBudgetOnTheMigratedSchema() {
+		long start = System.nanoTime();
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LabTestManagementServiceApplication.class)
+				.run("--server.port=0", "--spring.main.banner-mode=off")) {
+			Duration startup = Duration.ofNanos(System.nanoTime() - start);
+			assertTrue(startup.compareTo(STARTUP_BUDGET) < 0, "startup took " + startup + ", budget is " + STARTUP_BUDGET);
+
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			assertEquals(1, jdbcTemplate.queryForObject("select count(*) from flyway_schema_history "
+					+ "where version = '1' and success", Integer.class));
+			for (String index : new String[] { "idx_tests_lab_id", "idx_tests_test_name", "idx_tests_price",
+					"idx_tests_search_vector" }) {
+				assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_indexes where tablename = 'tests' "
+						+ "and indexname = ?", Integer.class, index), index + " missing");
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.onehealth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that this service's connections are named after it, and that the connection budget adds up the planned
+ * pools times their instances, whatever is connected right now.
+ */
+@SpringBootTest(properties = "connection-budget.instances.product-service=1000")
+class ConnectionBudgetCheckTest {
+
+	@Autowired
+	private ConnectionBudgetCheck connectionBudgetCheck;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void budgetAddsUpThePlannedPools() throws Exception {
+		ConnectionBudgetCheck.Budget budget = connectionBudgetCheck.check();
+
+		assertEquals(5, budget.getConnectionsByApplication().get("lab-test-management-service"));
+		assertEquals(5_000, budget.getConnectionsByApplication().get("product-service"));
+		assertEquals(5 + 10 + 8 + 5_000, budget.getRequired());
+		assertTrue(budget.isExceeded());
+		assertEquals("lab-test-management-service",
+				jdbcTemplate.queryForObject("select current_setting('application_name')", String.class));
+	}
+}
@@ -0,0 +1,50 @@
+package com.onehealth.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Checks that the Prometheus scrape carries the hot-path timers with histogram buckets,
+ * together with the JDBC, HikariCP and lab test cache meters, all tagged with the application name.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+	private static final long LAB = 970_001;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void prometheusScrapeHasHotPathHistograms() throws Exception {
+		mockMvc.perform(get("/test/allTest").param("size", "5")).andExpect(status().isOk());
+		mockMvc.perform(get("/test/inLab").param("lab_id", String.valueOf(LAB))).andExpect(status().isOk());
+		mockMvc.perform(get("/test/inLab").param("lab_id", String.valueOf(LAB))).andExpect(status().isOk());
+
+		String scrape = mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		for (String series : new String[] {
+				"lab_tests_requests_seconds_bucket{application=\"lab-test-management-service\",class=\"com.onehealth.controller.TestsController\"",
+				"method=\"getAllTest\"",
+				"method=\"getAllTestByLabId\"",
+				"http_server_requests_seconds_bucket{",
+				"jdbc_query_seconds_bucket{",
+				"hikaricp_connections_active{",
+				"hikaricp_connections_usage_seconds_bucket{application=\"lab-test-management-service\",pool=\"lab-test-management-service\"",
+				"cache_gets_total{application=\"lab-test-management-service\",cache=\"lab-tests\",result=\"hit\",} 1.0" }) {
+			assertTrue(scrape.contains(series), series + " missing from scrape");
+		}
+	}
+}
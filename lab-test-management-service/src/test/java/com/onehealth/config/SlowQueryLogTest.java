@@ -0,0 +1,48 @@
+package com.onehealth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+/**
+ * Checks that only statements above the threshold are logged, batches with their size,
+ * and that the log can be switched on at runtime.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogTest {
+
+	@Test
+	void slowStatementsAreLoggedOnceSwitchedOn(CapturedOutput output) {
+		SlowQueryLog slowQueryLog = new SlowQueryLog(false, Duration.ofMillis(100), 1.0);
+		slowQueryLog.afterQuery(execution(300, 0), List.of(new QueryInfo("select * from tests where lab_id=?")));
+		assertFalse(output.getOut().contains("Slow query"));
+
+		slowQueryLog.configure(true, null, null);
+		slowQueryLog.afterQuery(execution(50, 0), List.of(new QueryInfo("select * from tests where test_id=?")));
+		slowQueryLog.afterQuery(execution(300, 1000), List.of(new QueryInfo("insert into tests (lab_id) values (?)")));
+
+		assertFalse(output.getOut().contains("test_id"));
+		assertTrue(output.getOut().contains("Slow query took 300 ms (batch of 1000): insert into tests (lab_id) values (?)"));
+		assertEquals(true, slowQueryLog.settings().get("enabled"));
+	}
+
+	private static ExecutionInfo execution(long elapsedMillis, int batchSize) {
+		ExecutionInfo executionInfo = new ExecutionInfo();
+		executionInfo.setElapsedTime(elapsedMillis);
+		executionInfo.setBatch(batchSize > 0);
+		executionInfo.setBatchSize(batchSize);
+		executionInfo.setSuccess(true);
+		return executionInfo;
+	}
+}
@@ -0,0 +1,109 @@
+package com.onehealth.serviceImplementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestsUpdateRequest;
+import com.onehealth.entity.Tests;
+import com.onehealth.repository.TestRepository;
+import com.onehealth.service.TestsService;
+
+/**
+ * Checks that /test/inLab reads are served from the lab cache and that every write through the
+ * service evicts exactly the labs it changed. Rows written with plain JDBC bypass the service and
+ * so stay invisible until a service write evicts the lab.
+ */
+@SpringBootTest
+class LabTestsCacheTest {
+
+	private static final long LAB = 910_001;
+	private static final long OTHER_LAB = 910_002;
+
+	@Autowired
+	private TestsService testsService;
+	@Autowired
+	private TestRepository testRepository;
+	@Autowired
+	private LabTestsCache labTestsCache;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tests where lab_id in (?, ?)", LAB, OTHER_LAB);
+		labTestsCache.evict(LAB, OTHER_LAB);
+	}
+
+	@Test
+	void repeatedReadsAreServedFromTheCache() throws Exception {
+		testsService.addNewTest(newTest("CBC", LAB));
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+
+		insertBehindTheCache("Lipid Profile", LAB);
+
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+	}
+
+	@Test
+	void addNewTestEvictsItsLab() throws Exception {
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+
+		testsService.addNewTest(newTest("CBC", LAB));
+
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+	}
+
+	@Test
+	void updateEvictsTheOldAndTheNewLab() throws Exception {
+		testsService.addNewTest(newTest("CBC", LAB));
+		Tests test = testRepository.findByLabId(LAB).get(0);
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+		assertEquals(0, testsService.getAllTestByLabId(OTHER_LAB).size());
+
+		TestsUpdateRequest move = new TestsUpdateRequest();
+		move.setTest_id(test.getTest_id());
+		move.setTest_name("CBC");
+		move.setLabId(OTHER_LAB);
+		testsService.updateTestDetails(move);
+
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+		assertEquals(List.of("CBC"), names(testsService.getAllTestByLabId(OTHER_LAB)));
+	}
+
+	@Test
+	void deleteEvictsOnlyItsLab() throws Exception {
+		testsService.addNewTest(newTest("CBC", LAB));
+		testsService.addNewTest(newTest("Thyroid Profile", OTHER_LAB));
+		long testId = testRepository.findByLabId(LAB).get(0).getTest_id();
+		testsService.getAllTestByLabId(LAB);
+		testsService.getAllTestByLabId(OTHER_LAB);
+		insertBehindTheCache("Vitamin D", OTHER_LAB);
+
+		testsService.deleteTest(testId);
+
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+		// the other lab was not evicted, so the row inserted behind the cache is still not visible
+		assertEquals(List.of("Thyroid Profile"), names(testsService.getAllTestByLabId(OTHER_LAB)));
+	}
+
+	private void insertBehindTheCache(String name, long labId) {
+		jdbcTemplate.update("insert into tests (test_name, price, test_approval, lab_id) values (?, 100, true, ?)",
+				name, labId);
+	}
+
+	private static Tests newTest(String name, long labId) {
+		return new Tests(0, name, "Yes", name + " test", 100, true, null, labId);
+	}
+
+	private static List<String> names(List<Tests> tests) {
+		return tests.stream().map(Tests::getTest_name).toList();
+	}
+}
@@ -0,0 +1,200 @@
+package com.onehealth.serviceImplementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestSummary;
+import com.onehealth.dto.TestSummaryPage;
+import com.onehealth.entity.Tests;
+import com.onehealth.repository.TestRepository;
+import com.onehealth.service.TestsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks the paged test list: walking the cursors visits every test exactly once in the requested order, tests
+ * without a name included,
+ * summaries are read without creating Tests entities, and they are several times smaller than the entities.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TestSummaryPageTest {
+
+	private static final long LAB = 960_001;
+
+	@Autowired
+	private TestsService testsService;
+	@Autowired
+	private TestRepository testRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private LabTestsCache labTestsCache;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void createTests() throws Exception {
+		String description = "Long clinical description. ".repeat(9);
+		int[] prices = { 300, 150, 300, 900, 150, 600, 300 };
+		for (int i = 0; i < prices.length; i++) {
+			testsService.addNewTest(new Tests(0, "Paged test " + (char) ('G' - i), "Yes", description, prices[i], true,
+					"/certs/lab-960001/approval-certificate-" + i + ".pdf", LAB));
+		}
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tests where lab_id = ?", LAB);
+		labTestsCache.evict(LAB);
+	}
+
+	@Test
+	void cursorsVisitEveryTestOnceInOrder() throws Exception {
+		int total = jdbcTemplate.queryForObject("select count(*) from tests", Integer.class);
+		for (String sort : List.of("test_id", "test_id,desc", "test_name", "test_name,desc", "price", "price,desc")) {
+			List<TestSummary> visited = new ArrayList<>();
+			String cursor = null;
+			do {
+				TestSummaryPage page = testsService.getTestSummaries(sort, cursor, 0, 3);
+				visited.addAll(page.getTests());
+				cursor = page.getNextCursor();
+			} while (cursor != null);
+
+			Set<Long> ids = new HashSet<>();
+			visited.forEach(test -> ids.add(test.getTest_id()));
+			assertEquals(total, visited.size(), sort);
+			assertEquals(total, ids.size(), sort);
+			assertEquals(sorted(visited, sort), visited, sort);
+		}
+	}
+
+	@Test
+	void testsWithoutANameArePagedPastByTheCursor() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			jdbcTemplate.update("insert into tests (test_name, home_sample, test_description, price, test_approval, lab_id)"
+					+ " values (null, 'No', 'Unnamed', 100, true, ?)", LAB);
+		}
+		Set<Long> unnamed = new HashSet<>(jdbcTemplate.queryForList(
+				"select test_id from tests where lab_id = ? and test_name is null", Long.class, LAB));
+		int total = jdbcTemplate.queryForObject("select count(*) from tests", Integer.class);
+
+		for (String sort : List.of("test_name", "test_name,desc")) {
+			List<TestSummary> visited = new ArrayList<>();
+			String cursor = null;
+			do {
+				TestSummaryPage page = testsService.getTestSummaries(sort, cursor, 0, 2);
+				visited.addAll(page.getTests());
+				cursor = page.getNextCursor();
+			} while (cursor != null && visited.size() <= total);
+
+			assertEquals(total, visited.size(), sort);
+			assertEquals(unnamed.size(), visited.stream().filter(test -> unnamed.contains(test.getTest_id())).count(), sort);
+			assertEquals(sorted(visited, sort), visited, sort);
+		}
+	}
+
+	@Test
+	void pageNumberAndCursorAgree() throws Exception {
+		TestSummaryPage first = testsService.getTestSummaries("price,desc", null, 0, 2);
+		TestSummaryPage second = testsService.getTestSummaries("price,desc", null, 1, 2);
+		TestSummaryPage next = testsService.getTestSummaries("price,desc", first.getNextCursor(), 0, 2);
+
+		assertEquals(ids(second.getTests()), ids(next.getTests()));
+	}
+
+	@Test
+	void summariesAreNotLoadedAsEntities() throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		testsService.getTestSummaries("test_name", null, 0, 50);
+		testsService.getTestSummaries("price", testsService.getTestSummaries("price", null, 0, 2).getNextCursor(), 0, 50);
+
+		assertEquals(0, statistics.getEntityLoadCount());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void summariesAreSeveralTimesSmaller() throws Exception {
+		List<Tests> entities = testRepository.findByLabId(LAB);
+		List<TestSummary> summaries = new ArrayList<>();
+		String cursor = null;
+		do {
+			TestSummaryPage page = testsService.getTestSummaries("test_id", cursor, 0, 500);
+			page.getTests().stream().filter(test -> test.getLabId() == LAB).forEach(summaries::add);
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		int entityBytes = objectMapper.writeValueAsBytes(entities).length;
+		int summaryBytes = objectMapper.writeValueAsBytes(summaries).length;
+		assertEquals(entities.size(), summaries.size());
+		assertTrue(summaryBytes * 3 < entityBytes, summaryBytes + " summary bytes vs " + entityBytes + " entity bytes");
+		assertFalse(objectMapper.writeValueAsString(summaries).contains("test_description"));
+	}
+
+	@Test
+	void badSortOrCursorIsRejected() throws Exception {
+		String cursor = testsService.getTestSummaries("price", null, 0, 1).getNextCursor();
+
+		mockMvc.perform(get("/test/allTest").param("sort", "test_description"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/test/allTest").param("sort", "test_name").param("cursor", cursor))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/test/allTest").param("cursor", "not-a-cursor"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/test/allTest").param("sort", "price").param("cursor", cursor).param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tests.length()").value(1))
+				.andExpect(jsonPath("$.tests[0].test_description").doesNotExist());
+	}
+
+	@Test
+	void lastPageHasNoCursor() throws Exception {
+		int total = jdbcTemplate.queryForObject("select count(*) from tests", Integer.class);
+
+		assertNull(testsService.getTestSummaries("test_id", null, 0, total).getNextCursor());
+	}
+
+	private static List<TestSummary> sorted(List<TestSummary> tests, String sort) {
+		Comparator<TestSummary> order = switch (sort.split(",")[0]) {
+			case "test_name" -> Comparator.comparing((TestSummary test) -> test.getTest_name() != null ? test.getTest_name() : "")
+					.thenComparingLong(TestSummary::getTest_id);
+			case "price" -> Comparator.comparingInt(TestSummary::getPrice).thenComparingLong(TestSummary::getTest_id);
+			default -> Comparator.comparingLong(TestSummary::getTest_id);
+		};
+		return tests.stream().sorted(sort.endsWith(",desc") ? order.reversed() : order).toList();
+	}
+
+	private static List<Long> ids(List<TestSummary> tests) {
+		return tests.stream().map(TestSummary::getTest_id).toList();
+	}
+}
@@ -0,0 +1,174 @@
+package com.onehealth.serviceImplementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.service.TestsService;
+
+/**
+ * Checks the bulk import and export: a catalogue of 20k tests loads in seconds, every row gets a result
+ * in input order, bad rows only fail themselves, and an exported CSV can be imported again.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TestsImportExportTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(TestsImportExportTest.class);
+
+	private static final long LAB = 930_001;
+	private static final long OTHER_LAB = 930_002;
+	private static final int CATALOGUE_SIZE = 20_000;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private LabTestsCache labTestsCache;
+	@Autowired
+	private TestsService testsService;
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tests where lab_id in (?, ?)", LAB, OTHER_LAB);
+		labTestsCache.evict(LAB, OTHER_LAB);
+	}
+
+	@Test
+	void importsTwentyThousandCsvRowsInSeconds() throws Exception {
+		StringBuilder csv = new StringBuilder("test_name,home_sample,test_description,price,test_approval,labId\n");
+		for (int i = 1; i <= CATALOGUE_SIZE; i++) {
+			String price = i == 7 ? "free" : String.valueOf(100 + i % 900);
+			csv.append("Test ").append(i).append(",Yes,\"Panel, number ").append(i).append("\",").append(price)
+					.append(",true,").append(LAB).append('\n');
+		}
+
+		long started = System.nanoTime();
+		List<JsonNode> lines = bulkImport("text/csv", csv.toString());
+		long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+		logger.info("Imported {} CSV rows in {} ms", CATALOGUE_SIZE, elapsedMillis);
+
+		assertEquals(CATALOGUE_SIZE + 1, lines.size());
+		for (int i = 0; i < CATALOGUE_SIZE; i++) {
+			assertEquals(i + 1, lines.get(i).get("row").asLong());
+		}
+		assertEquals("INVALID", lines.get(6).get("status").asText());
+		assertEquals("price is not a whole number: free", lines.get(6).get("error").asText());
+		assertEquals("CREATED", lines.get(7).get("status").asText());
+		assertNotNull(lines.get(7).get("test_id"));
+		JsonNode summary = lines.get(CATALOGUE_SIZE);
+		assertEquals(CATALOGUE_SIZE, summary.get("rows").asLong());
+		assertEquals(CATALOGUE_SIZE - 1, summary.get("created").asLong());
+		assertEquals(1, summary.get("rejected").asLong());
+		assertEquals(CATALOGUE_SIZE - 1, count(LAB));
+		assertTrue(elapsedMillis < 20_000, "import took " + elapsedMillis + " ms");
+	}
+
+	@Test
+	void badNdjsonRowsOnlyFailThemselves() throws Exception {
+		String tooLong = "x".repeat(300);
+		String ndjson = "{\"test_name\":\"Lipid profile\",\"price\":900,\"labId\":" + LAB + "}\n"
+				+ "{not json\n"
+				+ "\n"
+				+ "{\"test_name\":\"" + tooLong + "\",\"labId\":" + LAB + "}\n"
+				+ "{\"price\":100,\"labId\":" + LAB + "}\n"
+				+ "{\"test_name\":\"HbA1c\",\"test_approval\":true,\"lab_id\":" + OTHER_LAB + "}\n";
+
+		List<JsonNode> lines = bulkImport("application/x-ndjson", ndjson);
+
+		assertEquals(6, lines.size());
+		assertEquals("CREATED", lines.get(0).get("status").asText());
+		assertEquals("INVALID", lines.get(1).get("status").asText());
+		assertEquals("FAILED", lines.get(2).get("status").asText());
+		assertEquals(3, lines.get(2).get("row").asLong());
+		assertEquals("INVALID", lines.get(3).get("status").asText());
+		assertEquals("test_name is required", lines.get(3).get("error").asText());
+		assertEquals("CREATED", lines.get(4).get("status").asText());
+		assertEquals(2, lines.get(5).get("created").asLong());
+		assertEquals(3, lines.get(5).get("rejected").asLong());
+		assertEquals(1, count(LAB));
+		assertEquals(1, count(OTHER_LAB));
+	}
+
+	@Test
+	void importEvictsTheCachedMenuOfTheLab() throws Exception {
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+
+		bulkImport("application/x-ndjson", "{\"test_name\":\"Vitamin D\",\"price\":1200,\"labId\":" + LAB + "}\n");
+
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+	}
+
+	@Test
+	void exportedCsvCanBeImportedAgain() throws Exception {
+		bulkImport("application/x-ndjson",
+				"{\"test_name\":\"Thyroid, T3 T4 TSH\",\"home_sample\":\"Yes\",\"price\":650,\"test_approval\":true,\"labId\":" + LAB + "}\n"
+						+ "{\"test_name\":\"Urine routine\",\"test_description\":\"Line one\\nline two\",\"price\":150,\"labId\":" + LAB + "}\n");
+
+		String csv = export("csv");
+		assertTrue(csv.startsWith("test_id,test_name,home_sample,test_description,price,test_approval,gov_appro_cert_path,labId\n"));
+		List<JsonNode> lines = bulkImport("text/csv", csv);
+		assertEquals(2, lines.get(2).get("created").asLong());
+
+		List<String> exported = export("ndjson").lines().toList();
+		assertEquals(4, exported.size());
+		assertEquals(objectMapper.readTree(exported.get(0)).get("test_name"), objectMapper.readTree(exported.get(2)).get("test_name"));
+		assertEquals(objectMapper.readTree(exported.get(1)).get("test_description"), objectMapper.readTree(exported.get(3)).get("test_description"));
+		assertEquals(true, objectMapper.readTree(exported.get(2)).get("test_approval").asBoolean());
+	}
+
+	@Test
+	void unknownExportFormatIsRejected() throws Exception {
+		mockMvc.perform(get("/test/export").param("lab_id", String.valueOf(LAB)).param("format", "xml"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private List<JsonNode> bulkImport(String contentType, String body) throws Exception {
+		String response = mockMvc.perform(post("/test/bulkImport").contentType(contentType)
+				.content(body.getBytes(StandardCharsets.UTF_8)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : response.split("\n")) {
+			lines.add(objectMapper.readTree(line));
+		}
+		return lines;
+	}
+
+	private String export(String format) throws Exception {
+		MvcResult result = mockMvc.perform(get("/test/export").param("lab_id", String.valueOf(LAB)).param("format", format))
+				.andReturn();
+		return mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+	}
+
+	private int count(long lab_id) {
+		return jdbcTemplate.queryForObject("select count(*) from tests where lab_id = ?", Integer.class, lab_id);
+	}
+}
@@ -0,0 +1,154 @@
+package com.onehealth.serviceImplementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestSearchPage;
+import com.onehealth.dto.TestSearchRequest;
+import com.onehealth.entity.Tests;
+import com.onehealth.service.TestsService;
+
+/**
+ * Checks the test search: name matches rank above description matches, also behind many weaker matches,
+ * filters narrow the matches,
+ * pages do not overlap, and the V1 migration has put the GIN index on the search_vector column.
+ * The made-up words in the fixtures keep rows of other labs out of the results.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TestsSearchTest {
+
+	private static final long LAB = 940_001;
+
+	@Autowired
+	private TestsService testsService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private LabTestsCache labTestsCache;
+	@Autowired
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void createTests() throws Exception {
+		testsService.addNewTest(new Tests(0, "Zorblax panel", "Yes", "Checks quenvite levels", 500, true, null, LAB));
+		testsService.addNewTest(new Tests(0, "Liver function", "No", "Includes a zorblax marker", 800, true, null, LAB));
+		testsService.addNewTest(new Tests(0, "Zorblax screening", "yes", "Quick zorblax check", 200, false, null, LAB));
+		testsService.addNewTest(new Tests(0, "Quenvite profile", "No", "Fasting sample", 1200, true, null, LAB));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tests where lab_id = ?", LAB);
+		labTestsCache.evict(LAB);
+	}
+
+	@Test
+	void ranksNameMatchesAboveDescriptionMatches() throws Exception {
+		List<String> names = names(testsService.searchTests(request("zorblax")));
+
+		assertEquals(3, names.size());
+		assertEquals("Liver function", names.get(2));
+		assertTrue(names.containsAll(List.of("Zorblax panel", "Zorblax screening")));
+	}
+
+	@Test
+	void bestMatchIsFoundBehindManyWeakerOnes() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			testsService.addNewTest(new Tests(0, "Panel " + i, "No", "Mentions flurbane once", 100, true, null, LAB));
+		}
+		testsService.addNewTest(new Tests(0, "Flurbane flurbane panel", "No", "Flurbane only", 100, true, null, LAB));
+
+		TestSearchRequest request = request("flurbane");
+		request.setSize(1);
+		assertEquals(List.of("Flurbane flurbane panel"), names(testsService.searchTests(request)));
+
+		request.setSize(10);
+		request.setPage(5);
+		assertEquals(1, testsService.searchTests(request).getTests().size());
+	}
+
+	@Test
+	void filtersByPriceHomeSampleAndApproval() throws Exception {
+		TestSearchRequest request = request("zorblax");
+		request.setMaxPrice(600);
+		assertEquals(List.of("Zorblax panel", "Zorblax screening"), sorted(names(testsService.searchTests(request))));
+
+		request.setHome_sample("YES");
+		request.setTest_approval(true);
+		assertEquals(List.of("Zorblax panel"), names(testsService.searchTests(request)));
+
+		request.setMinPrice(501);
+		assertTrue(testsService.searchTests(request).getTests().isEmpty());
+	}
+
+	@Test
+	void understandsWebSearchSyntax() throws Exception {
+		assertEquals(List.of("Quenvite profile", "Zorblax panel"), sorted(names(testsService.searchTests(request("quenvite")))));
+		assertEquals(List.of("Quenvite profile"), names(testsService.searchTests(request("quenvite -zorblax"))));
+		assertEquals(List.of("Zorblax panel"), names(testsService.searchTests(request("\"zorblax panel\""))));
+	}
+
+	@Test
+	void pagesDoNotOverlap() throws Exception {
+		TestSearchRequest request = request("zorblax or quenvite");
+		request.setSize(3);
+		TestSearchPage first = testsService.searchTests(request);
+		request.setPage(1);
+		TestSearchPage second = testsService.searchTests(request);
+
+		assertEquals(3, first.getTests().size());
+		assertTrue(first.isHasNext());
+		assertEquals(1, second.getTests().size());
+		assertFalse(second.isHasNext());
+		assertFalse(names(first).contains(names(second).get(0)));
+	}
+
+	@Test
+	void searchEndpointBindsQueryParameters() throws Exception {
+		mockMvc.perform(get("/test/search").param("q", "zorblax").param("minPrice", "300").param("size", "1"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tests.length()").value(1))
+				.andExpect(jsonPath("$.tests[0].test_name").value("Zorblax panel"))
+				.andExpect(jsonPath("$.size").value(1))
+				.andExpect(jsonPath("$.hasNext").value(true));
+	}
+
+	@Test
+	void searchVectorHasAGinIndex() {
+		String definition = jdbcTemplate.queryForObject(
+				"select indexdef from pg_indexes where tablename = 'tests' and indexname = 'idx_tests_search_vector'", String.class);
+
+		assertTrue(definition.contains("USING gin (search_vector)"), definition);
+	}
+
+	private static TestSearchRequest request(String q) {
+		TestSearchRequest request = new TestSearchRequest();
+		request.setQ(q);
+		return request;
+	}
+
+	private static List<String> names(TestSearchPage page) {
+		return page.getTests().stream().map(Tests::getTest_name).toList();
+	}
+
+	private static List<String> sorted(List<String> names) {
+		return names.stream().sorted().toList();
+	}
+}
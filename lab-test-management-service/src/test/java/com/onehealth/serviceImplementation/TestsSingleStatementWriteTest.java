@@ -0,0 +1,149 @@
+package com.onehealth.serviceImplementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.onehealth.cache.LabTestsCache;
+import com.onehealth.dto.TestsPatchRequest;
+import com.onehealth.dto.TestsUpdateRequest;
+import com.onehealth.entity.Tests;
+import com.onehealth.exception.TestNotFoundException;
+import com.onehealth.repository.TestRepository;
+import com.onehealth.service.TestsService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that updates and deletes go straight to SQL, without loading or merging a Tests entity,
+ * that PATCH only changes the attributes it carries, and that the affected labs are still evicted.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class TestsSingleStatementWriteTest {
+
+	private static final long LAB = 920_001;
+	private static final long OTHER_LAB = 920_002;
+	private static final long MISSING_TEST_ID = -1;
+
+	@Autowired
+	private TestsService testsService;
+	@Autowired
+	private TestRepository testRepository;
+	@Autowired
+	private LabTestsCache labTestsCache;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private MockMvc mockMvc;
+
+	private long testId;
+	private Statistics statistics;
+
+	@BeforeEach
+	void createTest() throws Exception {
+		testsService.addNewTest(new Tests(0, "CBC", "Yes", "Complete blood count", 300, true, "/certs/cbc.pdf", LAB));
+		testId = testRepository.findByLabId(LAB).get(0).getTest_id();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from tests where lab_id in (?, ?)", LAB, OTHER_LAB);
+		labTestsCache.evict(LAB, OTHER_LAB);
+	}
+
+	@Test
+	void updateOverwritesEveryColumnWithoutLoadingTheEntity() throws Exception {
+		testsService.updateTestDetails(new TestsUpdateRequest(testId, "CBC with ESR", "No", null, 450, false, null, LAB));
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		Tests updated = testRepository.findById(testId).orElseThrow();
+		assertEquals("CBC with ESR", updated.getTest_name());
+		assertEquals(450, updated.getPrice());
+		assertFalse(updated.isTest_approval());
+		assertNull(updated.getTest_description());
+	}
+
+	@Test
+	void patchOnlyWritesTheGivenColumns() throws Exception {
+		TestsPatchRequest patch = new TestsPatchRequest();
+		patch.setPrice(350);
+		testsService.patchTestDetails(testId, patch);
+
+		Tests patched = testRepository.findById(testId).orElseThrow();
+		assertEquals(350, patched.getPrice());
+		assertEquals("CBC", patched.getTest_name());
+		assertEquals("Complete blood count", patched.getTest_description());
+		assertEquals("/certs/cbc.pdf", patched.getGov_appro_cert_path());
+	}
+
+	@Test
+	void patchMovingALabEvictsBothLabs() throws Exception {
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+		assertEquals(0, testsService.getAllTestByLabId(OTHER_LAB).size());
+
+		mockMvc.perform(patch("/test/patchTest").param("test_id", String.valueOf(testId))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"labId\":" + OTHER_LAB + "}"))
+				.andExpect(status().isOk());
+
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+		assertEquals(List.of("CBC"),
+				testsService.getAllTestByLabId(OTHER_LAB).stream().map(Tests::getTest_name).toList());
+	}
+
+	@Test
+	void emptyPatchOnlyChecksThatTheTestExists() throws Exception {
+		testsService.patchTestDetails(testId, new TestsPatchRequest());
+
+		assertThrows(TestNotFoundException.class,
+				() -> testsService.patchTestDetails(MISSING_TEST_ID, new TestsPatchRequest()));
+	}
+
+	@Test
+	void missingTestsAreReportedFromTheAffectedRowCount() throws Exception {
+		TestsPatchRequest patch = new TestsPatchRequest();
+		patch.setPrice(1);
+
+		assertThrows(TestNotFoundException.class, () -> testsService.updateTestDetails(
+				new TestsUpdateRequest(MISSING_TEST_ID, "x", "No", null, 1, false, null, LAB)));
+		assertThrows(TestNotFoundException.class, () -> testsService.patchTestDetails(MISSING_TEST_ID, patch));
+		assertThrows(TestNotFoundException.class, () -> testsService.deleteTest(MISSING_TEST_ID));
+		mockMvc.perform(patch("/test/patchTest").param("test_id", String.valueOf(MISSING_TEST_ID))
+				.contentType(MediaType.APPLICATION_JSON).content("{\"price\":1}"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void deleteRemovesTheRowAndEvictsItsLab() throws Exception {
+		assertEquals(1, testsService.getAllTestByLabId(LAB).size());
+		statistics.clear();
+
+		testsService.deleteTest(testId);
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertFalse(testRepository.existsById(testId));
+		assertEquals(0, testsService.getAllTestByLabId(LAB).size());
+	}
+}
@@ -2,8 +2,13 @@ package com.micro;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
+import com.example.common.AsyncLogMetrics;
+
+// logback-spring.xml comes from service-common; its other beans are for the servlet services and are not scanned here
 @SpringBootApplication
+@Import(AsyncLogMetrics.class)
 public class ApiGatewayApplication {
 
   public static void main(String[] args) {
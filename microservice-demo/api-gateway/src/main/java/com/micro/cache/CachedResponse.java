@@ -0,0 +1,18 @@
+package com.micro.cache;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * A complete downstream GET response as stored by {@link ResponseCache}.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, Instant storedAt,
+		Duration ttl) {
+
+	public long ageSeconds() {
+		return Duration.between(storedAt, Instant.now()).toSeconds();
+	}
+}
@@ -0,0 +1,69 @@
+package com.micro.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Local response cache bounded by total body bytes. Each entry lives for the TTL it was stored with,
+ * which comes from the downstream Cache-Control max-age or the route's default.
+ */
+@Component
+public class ResponseCache {
+
+	private static final int ENTRY_OVERHEAD_BYTES = 512;
+
+	private final Cache<String, CachedResponse> cache;
+	private final Duration maxTtl;
+	private final int maxEntryBytes;
+
+	public ResponseCache(@Value("${gateway.response-cache.max-size-bytes:67108864}") long maxSizeBytes,
+			@Value("${gateway.response-cache.max-entry-bytes:1048576}") int maxEntryBytes,
+			@Value("${gateway.response-cache.max-ttl:10m}") Duration maxTtl) {
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maxSizeBytes)
+				.weigher((String key, CachedResponse response) -> response.body().length + ENTRY_OVERHEAD_BYTES)
+				.expireAfter(new Expiry<String, CachedResponse>() {
+					@Override
+					public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+						return response.ttl().toNanos();
+					}
+
+					@Override
+					public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+							long currentDuration) {
+						return response.ttl().toNanos();
+					}
+
+					@Override
+					public long expireAfterRead(String key, CachedResponse response, long currentTime,
+							long currentDuration) {
+						return currentDuration;
+					}
+				})
+				.build();
+		this.maxTtl = maxTtl;
+		this.maxEntryBytes = maxEntryBytes;
+	}
+
+	public CachedResponse get(String key) {
+		return cache.getIfPresent(key);
+	}
+
+	public void put(String key, CachedResponse response) {
+		cache.put(key, response);
+	}
+
+	public Duration getMaxTtl() {
+		return maxTtl;
+	}
+
+	public int getMaxEntryBytes() {
+		return maxEntryBytes;
+	}
+}
@@ -0,0 +1,151 @@
+package com.micro.filter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptive load shedding in front of each route's downstream call. Every route keeps an exponentially
+ * weighted moving average of downstream latency, up to the moment the response is committed, and a count
+ * of requests in flight. Once the average
+ * crosses the latency threshold, a growing share of requests is answered with 503 and Retry-After
+ * straight away; the rest keep flowing so the average can recover. The in-flight cap is a hard limit.
+ * Runs after the route filters, so rate-limited requests and cache hits never reach it.
+ */
+@Component
+public class LoadSheddingGlobalFilter implements GlobalFilter, Ordered {
+
+	public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 50;
+
+	private final Map<String, RouteLoad> routes = new ConcurrentHashMap<>();
+	private final MeterRegistry meterRegistry;
+	private final long latencyThresholdNanos;
+	private final double maxShedRatio;
+	private final int maxInFlight;
+	private final double smoothing;
+	private final long retryAfterSeconds;
+
+	public LoadSheddingGlobalFilter(MeterRegistry meterRegistry,
+			@Value("${gateway.load-shedding.latency-threshold:500ms}") Duration latencyThreshold,
+			@Value("${gateway.load-shedding.max-shed-ratio:0.9}") double maxShedRatio,
+			@Value("${gateway.load-shedding.max-in-flight:200}") int maxInFlight,
+			@Value("${gateway.load-shedding.smoothing:0.2}") double smoothing,
+			@Value("${gateway.load-shedding.retry-after:1s}") Duration retryAfter) {
+		this.meterRegistry = meterRegistry;
+		this.latencyThresholdNanos = latencyThreshold.toNanos();
+		this.maxShedRatio = maxShedRatio;
+		this.maxInFlight = maxInFlight;
+		this.smoothing = smoothing;
+		this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (route == null) {
+			return chain.filter(exchange);
+		}
+		RouteLoad load = routes.computeIfAbsent(route.getId(), RouteLoad::new);
+		if (load.inFlight.get() >= maxInFlight || ThreadLocalRandom.current().nextDouble() < shedRatio(load)) {
+			load.shed.increment();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+			return response.setComplete();
+		}
+		load.accepted.increment();
+		load.inFlight.incrementAndGet();
+		long start = System.nanoTime();
+		AtomicBoolean recorded = new AtomicBoolean();
+		// latency is the time until the downstream response starts, not until a streamed body or a slow client is done
+		exchange.getResponse().beforeCommit(() -> {
+			if (recorded.compareAndSet(false, true)) {
+				load.record(System.nanoTime() - start, smoothing);
+			}
+			return Mono.empty();
+		});
+		return chain.filter(exchange).doFinally(signal -> {
+			load.inFlight.decrementAndGet();
+			// failed or cancelled before any response: the time it took still counts
+			if (recorded.compareAndSet(false, true)) {
+				load.record(System.nanoTime() - start, smoothing);
+			}
+		});
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	/**
+	 * Share of requests to reject: zero up to the threshold, then rising linearly so that twice the
+	 * threshold sheds everything up to the configured maximum.
+	 */
+	double shedRatio(RouteLoad load) {
+		double overload = (load.latencyEwmaNanos - latencyThresholdNanos) / (double) latencyThresholdNanos;
+		return overload <= 0 ? 0 : Math.min(maxShedRatio, overload);
+	}
+
+	RouteLoad routeLoad(String routeId) {
+		return routes.get(routeId);
+	}
+
+	class RouteLoad {
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final Counter accepted;
+		private final Counter shed;
+		private volatile double latencyEwmaNanos;
+
+		RouteLoad(String routeId) {
+			this.accepted = counter(routeId, "accepted");
+			this.shed = counter(routeId, "shed");
+			Gauge.builder("gateway.loadshed.in.flight", inFlight, AtomicInteger::get)
+					.tag("route", routeId)
+					.register(meterRegistry);
+			Gauge.builder("gateway.loadshed.latency.ewma", this, routeLoad -> routeLoad.latencyEwmaNanos / 1_000_000d)
+					.tag("route", routeId)
+					.baseUnit("milliseconds")
+					.register(meterRegistry);
+		}
+
+		// a lost update between two racing completions only drops one sample
+		void record(long latencyNanos, double alpha) {
+			double current = latencyEwmaNanos;
+			latencyEwmaNanos = current == 0 ? latencyNanos : current + alpha * (latencyNanos - current);
+		}
+
+		double getLatencyEwmaNanos() {
+			return latencyEwmaNanos;
+		}
+
+		private Counter counter(String routeId, String outcome) {
+			return Counter.builder("gateway.loadshed.requests")
+					.tag("route", routeId)
+					.tag("outcome", outcome)
+					.register(meterRegistry);
+		}
+	}
+}
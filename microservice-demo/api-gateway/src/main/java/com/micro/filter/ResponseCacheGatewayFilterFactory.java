@@ -0,0 +1,230 @@
+package com.micro.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.micro.cache.CachedResponse;
+import com.micro.cache.ResponseCache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter ("ResponseCache") that serves repeated GETs from the local {@link ResponseCache}.
+ * Downstream Cache-Control decides whether and for how long a response is kept, every cached
+ * response carries an ETag, and a matching If-None-Match is answered with 304 without going downstream.
+ * A response without max-age or s-maxage is only kept when the route opts in with a default TTL
+ * (ResponseCache=30s); with a bare ResponseCache it goes through uncached.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+	private static final Set<String> UNCACHEABLE_DIRECTIVES = Set.of("no-store", "no-cache", "private");
+	private static final Set<String> CACHEABLE_VARY = Set.of("accept", "accept-encoding");
+	private static final List<String> HOP_BY_HOP_HEADERS = List.of(HttpHeaders.CONTENT_LENGTH,
+			HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, HttpHeaders.SET_COOKIE);
+
+	private final ResponseCache responseCache;
+
+	public ResponseCacheGatewayFilterFactory(ResponseCache responseCache) {
+		super(Config.class);
+		this.responseCache = responseCache;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("defaultTtl");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return (exchange, chain) -> {
+			ServerHttpRequest request = exchange.getRequest();
+			if (request.getMethod() != HttpMethod.GET || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+				return chain.filter(exchange);
+			}
+			Set<String> requestDirectives = directives(request.getHeaders().getCacheControl());
+			if (requestDirectives.contains("no-store")) {
+				return chain.filter(exchange);
+			}
+			String key = cacheKey(request);
+			// no-cache from the client means revalidate: go downstream, but keep the fresh answer
+			if (!requestDirectives.contains("no-cache")) {
+				CachedResponse cached = responseCache.get(key);
+				if (cached != null) {
+					return writeCached(exchange, cached);
+				}
+			}
+			return chain.filter(exchange.mutate()
+					.response(new CapturingResponse(exchange.getResponse(), key, config.getDefaultTtl())).build());
+		};
+	}
+
+	private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+		ServerHttpResponse response = exchange.getResponse();
+		HttpHeaders headers = response.getHeaders();
+		headers.putAll(cached.headers());
+		headers.setETag(cached.etag());
+		headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds()));
+		headers.set("X-Cache", "HIT");
+		if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		response.setStatusCode(cached.status());
+		headers.setContentLength(cached.body().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+	}
+
+	/**
+	 * Returns the TTL for a downstream response, or null when it must not be cached.
+	 * Without max-age or s-maxage that is the route's default TTL, null unless the route set one.
+	 */
+	private Duration ttlFor(HttpStatusCode status, HttpHeaders headers, Duration defaultTtl) {
+		if (status == null || status.value() != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)
+				|| headers.getVary().stream().anyMatch(vary -> !CACHEABLE_VARY.contains(vary.toLowerCase(Locale.ROOT)))) {
+			return null;
+		}
+		Set<String> directives = directives(headers.getCacheControl());
+		if (directives.stream().anyMatch(UNCACHEABLE_DIRECTIVES::contains)) {
+			return null;
+		}
+		Long maxAge = seconds(directives, "s-maxage=");
+		if (maxAge == null) {
+			maxAge = seconds(directives, "max-age=");
+		}
+		if (maxAge == null) {
+			maxAge = defaultTtl != null ? defaultTtl.toSeconds() : 0L;
+		}
+		if (maxAge <= 0) {
+			return null;
+		}
+		Duration ttl = Duration.ofSeconds(maxAge);
+		return ttl.compareTo(responseCache.getMaxTtl()) > 0 ? responseCache.getMaxTtl() : ttl;
+	}
+
+	private static String cacheKey(ServerHttpRequest request) {
+		HttpHeaders headers = request.getHeaders();
+		return request.getURI().getRawPath() + "?" + request.getURI().getRawQuery() + "|"
+				+ headers.getFirst(HttpHeaders.ACCEPT) + "|" + headers.getFirst(HttpHeaders.ACCEPT_ENCODING);
+	}
+
+	private static Set<String> directives(String cacheControl) {
+		if (cacheControl == null || cacheControl.isBlank()) {
+			return Set.of();
+		}
+		return Set.of(cacheControl.toLowerCase(Locale.ROOT).replace(" ", "").split(","));
+	}
+
+	private static Long seconds(Set<String> directives, String prefix) {
+		for (String directive : directives) {
+			if (directive.startsWith(prefix)) {
+				try {
+					return Long.parseLong(directive.substring(prefix.length()).replace("\"", ""));
+				} catch (NumberFormatException ex) {
+					return 0L;
+				}
+			}
+		}
+		return null;
+	}
+
+	// If-None-Match uses the weak comparison: W/"x" matches "x"
+	private static boolean matches(List<String> ifNoneMatch, String etag) {
+		String opaque = stripWeak(etag);
+		return ifNoneMatch.stream().anyMatch(candidate -> "*".equals(candidate) || stripWeak(candidate).equals(opaque));
+	}
+
+	private static String stripWeak(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+
+	/**
+	 * Passes the downstream body through unchanged while copying it aside, and stores the copy
+	 * once the body completes. Bodies above the per-entry limit are streamed but not kept.
+	 */
+	private class CapturingResponse extends ServerHttpResponseDecorator {
+
+		private final String key;
+		private final Duration defaultTtl;
+
+		CapturingResponse(ServerHttpResponse delegate, String key, Duration defaultTtl) {
+			super(delegate);
+			this.key = key;
+			this.defaultTtl = defaultTtl;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			Duration ttl = ttlFor(getStatusCode(), getHeaders(), defaultTtl);
+			if (ttl == null) {
+				return super.writeWith(body);
+			}
+			HttpStatusCode status = getStatusCode();
+			ByteArrayOutputStream captured = new ByteArrayOutputStream();
+			AtomicBoolean tooLarge = new AtomicBoolean();
+			Flux<DataBuffer> tee = Flux.<DataBuffer>from(body).doOnNext(buffer -> {
+				int length = buffer.readableByteCount();
+				if (tooLarge.get() || captured.size() + length > responseCache.getMaxEntryBytes()) {
+					tooLarge.set(true);
+					captured.reset();
+					return;
+				}
+				byte[] chunk = new byte[length];
+				buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+				captured.write(chunk, 0, length);
+			}).doOnComplete(() -> {
+				if (!tooLarge.get()) {
+					store(status, captured.toByteArray(), ttl);
+				}
+			});
+			return super.writeWith(tee);
+		}
+
+		private void store(HttpStatusCode status, byte[] body, Duration ttl) {
+			HttpHeaders headers = new HttpHeaders();
+			headers.putAll(getHeaders());
+			HOP_BY_HOP_HEADERS.forEach(headers::remove);
+			String etag = headers.getETag() != null ? headers.getETag()
+					: "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+			headers.remove(HttpHeaders.ETAG);
+			responseCache.put(key, new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, etag,
+					Instant.now(), ttl));
+		}
+	}
+
+	public static class Config {
+
+		// TTL for 200s that carry no max-age or s-maxage; null keeps them out of the cache
+		private Duration defaultTtl;
+
+		public Duration getDefaultTtl() {
+			return defaultTtl;
+		}
+
+		public void setDefaultTtl(Duration defaultTtl) {
+			this.defaultTtl = defaultTtl;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.micro.ratelimit;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate-limit key for a request: the authenticated principal when there is one, otherwise the client's address.
+ * X-Client-Id and X-Forwarded-For are only believed on requests from a proxy listed in
+ * {@code gateway.rate-limit.trusted-proxies}; anyone else is keyed by the peer address, so a caller cannot get
+ * a fresh bucket by changing a header.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+	public static final String CLIENT_ID_HEADER = "X-Client-Id";
+	public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+	private final Set<String> trustedProxies = new HashSet<>();
+
+	public ClientKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+		for (String proxy : trustedProxies) {
+			if (!proxy.isBlank()) {
+				// both spellings, e.g. ::1 as configured and 0:0:0:0:0:0:0:1 as the peer address comes back
+				this.trustedProxies.add(proxy.trim());
+				this.trustedProxies.add(hostAddress(proxy.trim()));
+			}
+		}
+	}
+
+	@Override
+	public Mono<String> resolve(ServerWebExchange exchange) {
+		return exchange.getPrincipal()
+				.map(principal -> "user:" + principal.getName())
+				.switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(clientKey(exchange.getRequest()))));
+	}
+
+	private String clientKey(ServerHttpRequest request) {
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		if (remoteAddress == null) {
+			return null;
+		}
+		String peer = remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress()
+				: remoteAddress.getHostString();
+		if (!trustedProxies.contains(peer)) {
+			return "ip:" + peer;
+		}
+		String clientId = request.getHeaders().getFirst(CLIENT_ID_HEADER);
+		if (clientId != null && !clientId.isBlank()) {
+			return "client:" + clientId.trim();
+		}
+		// every proxy appends the address it saw, so the client is the last hop that is not one of ours
+		List<String> forwardedFor = request.getHeaders().getValuesAsList(FORWARDED_FOR_HEADER);
+		for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+			String hop = forwardedFor.get(i).trim();
+			if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+				return "ip:" + hop;
+			}
+		}
+		return "ip:" + peer;
+	}
+
+	private static String hostAddress(String proxy) {
+		try {
+			return InetAddress.getByName(proxy).getHostAddress();
+		} catch (UnknownHostException ex) {
+			throw new IllegalArgumentException("gateway.rate-limit.trusted-proxies: unknown host " + proxy, ex);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.micro.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.Min;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token-bucket {@code RateLimiter} for the RequestRateLimiter filter that keeps one bucket per route and
+ * client key in this gateway instance, so no Redis is needed. Limits are per gateway instance.
+ * Route filters configure it with the {@code in-memory-rate-limiter.*} args; routes without args use the defaults.
+ * Decisions are counted as {@code gateway.ratelimit.requests} tagged with route and outcome.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+	public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+	private final Config defaultConfig;
+	private final Cache<String, TokenBucket> buckets;
+	private final MeterRegistry meterRegistry;
+
+	public InMemoryRateLimiter(ConfigurationService configurationService, MeterRegistry meterRegistry,
+			@Value("${gateway.rate-limit.default-replenish-rate:100}") int replenishRate,
+			@Value("${gateway.rate-limit.default-burst-capacity:200}") int burstCapacity,
+			@Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+			@Value("${gateway.rate-limit.idle-bucket-expiry:10m}") Duration idleBucketExpiry) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.defaultConfig = new Config().setReplenishRate(replenishRate).setBurstCapacity(burstCapacity);
+		// an idle bucket has refilled completely, so dropping it loses nothing
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(maxBuckets)
+				.expireAfterAccess(idleBucketExpiry)
+				.build();
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		Config config = getConfig().getOrDefault(routeId, defaultConfig);
+		long now = System.nanoTime();
+		TokenBucket bucket = buckets.get(routeId + ":" + id, key -> new TokenBucket(config.getBurstCapacity(), now));
+		long remaining = bucket.tryConsume(config.getRequestedTokens(), config.getReplenishRate(),
+				config.getBurstCapacity(), now);
+		boolean allowed = remaining >= 0;
+		counter(routeId, allowed ? "accepted" : "rejected").increment();
+		return Mono.just(new Response(allowed, Map.of(REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+				REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+				BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()))));
+	}
+
+	private Counter counter(String routeId, String outcome) {
+		return Counter.builder("gateway.ratelimit.requests")
+				.tag("route", routeId)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	public static class Config {
+
+		@Min(1)
+		private int replenishRate;
+
+		@Min(1)
+		private int burstCapacity;
+
+		@Min(1)
+		private int requestedTokens = 1;
+
+		public int getReplenishRate() {
+			return replenishRate;
+		}
+
+		public Config setReplenishRate(int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+
+		public int getBurstCapacity() {
+			return burstCapacity;
+		}
+
+		public Config setBurstCapacity(int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+
+		public int getRequestedTokens() {
+			return requestedTokens;
+		}
+
+		public Config setRequestedTokens(int requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return "Config [replenishRate=" + replenishRate + ", burstCapacity=" + burstCapacity
+					+ ", requestedTokens=" + requestedTokens + "]";
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.micro.ratelimit;
+
+/**
+ * Token bucket that refills continuously at {@code replenishRate} tokens per second up to {@code burstCapacity}.
+ */
+class TokenBucket {
+
+	private double tokens;
+	private long lastRefillNanos;
+
+	TokenBucket(int burstCapacity, long nowNanos) {
+		this.tokens = burstCapacity;
+		this.lastRefillNanos = nowNanos;
+	}
+
+	/**
+	 * Takes {@code requested} tokens if they are available and returns the tokens left afterwards,
+	 * or -1 when the request has to be rejected.
+	 */
+	synchronized long tryConsume(int requested, int replenishRate, int burstCapacity, long nowNanos) {
+		double refill = (nowNanos - lastRefillNanos) / 1_000_000_000d * replenishRate;
+		tokens = Math.min(burstCapacity, tokens + refill);
+		lastRefillNanos = nowNanos;
+		if (tokens < requested) {
+			return -1;
+		}
+		tokens -= requested;
+		return (long) tokens;
+	}
+}
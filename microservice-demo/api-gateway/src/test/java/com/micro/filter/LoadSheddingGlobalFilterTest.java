@@ -0,0 +1,124 @@
+package com.micro.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class LoadSheddingGlobalFilterTest {
+
+	private static final Route ROUTE = Route.async().id("order-service").uri("lb://order-service")
+			.predicate(exchange -> true).build();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void fastDownstreamIsNeverShed() {
+		LoadSheddingGlobalFilter filter = filter(Duration.ofMillis(500), 100);
+		for (int i = 0; i < 50; i++) {
+			MockServerWebExchange exchange = exchange();
+			filter.filter(exchange, chain(Duration.ZERO)).block();
+			assertNull(exchange.getResponse().getStatusCode());
+		}
+		assertEquals(50, count("accepted"));
+		assertEquals(0, count("shed"));
+	}
+
+	@Test
+	void slowDownstreamIsShedFast() {
+		LoadSheddingGlobalFilter filter = filter(Duration.ofMillis(5), 100);
+		for (int i = 0; i < 3; i++) {
+			filter.filter(exchange(), chain(Duration.ofMillis(50))).block();
+		}
+
+		MockServerWebExchange shed = null;
+		for (int i = 0; i < 200 && shed == null; i++) {
+			MockServerWebExchange exchange = exchange();
+			filter.filter(exchange, chain(Duration.ofMillis(50))).block();
+			if (exchange.getResponse().getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+				shed = exchange;
+			}
+		}
+
+		assertNotNull(shed);
+		assertEquals("1", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(0.9, filter.shedRatio(filter.routeLoad("order-service")));
+	}
+
+	@Test
+	void slowStreamedBodyDoesNotCountAsLatency() {
+		LoadSheddingGlobalFilter filter = filter(Duration.ofMillis(20), 100);
+		MockServerWebExchange streamed = exchange();
+		filter.filter(streamed, streaming(Duration.ofMillis(50), 6)).block();
+		assertEquals(6, streamed.getResponse().getBodyAsString().block().lines().count());
+
+		for (int i = 0; i < 50; i++) {
+			MockServerWebExchange exchange = exchange();
+			filter.filter(exchange, chain(Duration.ZERO)).block();
+			assertNull(exchange.getResponse().getStatusCode());
+		}
+		assertEquals(0, count("shed"));
+		assertTrue(filter.routeLoad("order-service").getLatencyEwmaNanos() < Duration.ofMillis(20).toNanos());
+	}
+
+	@Test
+	void inFlightCapRejectsImmediately() {
+		LoadSheddingGlobalFilter filter = filter(Duration.ofSeconds(10), 1);
+		filter.filter(exchange(), exchange -> Mono.never()).subscribe();
+
+		MockServerWebExchange rejected = exchange();
+		filter.filter(rejected, chain(Duration.ZERO)).block();
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+		assertEquals(1, count("shed"));
+	}
+
+	private LoadSheddingGlobalFilter filter(Duration latencyThreshold, int maxInFlight) {
+		return new LoadSheddingGlobalFilter(meterRegistry, latencyThreshold, 0.9, maxInFlight, 0.5,
+				Duration.ofSeconds(1));
+	}
+
+	private static MockServerWebExchange exchange() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/order"));
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+		return exchange;
+	}
+
+	private static GatewayFilterChain chain(Duration latency) {
+		return exchange -> latency.isZero() ? Mono.empty() : Mono.delay(latency).then();
+	}
+
+	// an NDJSON response whose first line is sent at once and the rest one gap apart
+	private static GatewayFilterChain streaming(Duration gap, int lines) {
+		return exchange -> {
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+			return response.writeWith(Flux.interval(Duration.ZERO, gap).take(lines)
+					.map(line -> response.bufferFactory().wrap(("{\"id\":" + line + "}\n").getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+
+	private double count(String outcome) {
+		return meterRegistry.counter("gateway.loadshed.requests", "route", "order-service", "outcome", outcome)
+				.count();
+	}
+}
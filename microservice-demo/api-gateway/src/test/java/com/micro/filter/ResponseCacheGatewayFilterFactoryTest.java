@@ -0,0 +1,163 @@
+package com.micro.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.micro.cache.ResponseCache;
+
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+	private static final String BODY = "[{\"id\":1,\"name\":\"Iphone 13\"}]";
+
+	private final ResponseCache responseCache = new ResponseCache(1 << 20, 1 << 10, Duration.ofMinutes(10));
+	private final ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(responseCache);
+	// as configured on the product route: ResponseCache=30s
+	private final GatewayFilter filter = factory.apply(config(Duration.ofSeconds(30)));
+	private final AtomicInteger downstreamCalls = new AtomicInteger();
+
+	@Test
+	void repeatedGetIsServedFromCache() {
+		MockServerWebExchange first = get("/product");
+		filter.filter(first, downstream(BODY, null)).block();
+		MockServerWebExchange second = get("/product");
+		filter.filter(second, downstream(BODY, null)).block();
+
+		assertEquals(1, downstreamCalls.get());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+		assertNotNull(second.getResponse().getHeaders().getETag());
+	}
+
+	@Test
+	void matchingIfNoneMatchGets304WithoutGoingDownstream() {
+		filter.filter(get("/product"), downstream(BODY, null)).block();
+		MockServerWebExchange primed = get("/product");
+		filter.filter(primed, downstream(BODY, null)).block();
+		String etag = primed.getResponse().getHeaders().getETag();
+
+		MockServerWebExchange conditional = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/product").ifNoneMatch("W/" + etag));
+		filter.filter(conditional, downstream(BODY, null)).block();
+
+		assertEquals(1, downstreamCalls.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+		assertEquals("", conditional.getResponse().getBodyAsString().defaultIfEmpty("").block());
+	}
+
+	@Test
+	void downstreamEtagIsKept() {
+		filter.filter(get("/product"), downstream(BODY, "\"v7\"")).block();
+		MockServerWebExchange second = get("/product");
+		filter.filter(second, downstream(BODY, "\"v7\"")).block();
+
+		assertEquals("\"v7\"", second.getResponse().getHeaders().getETag());
+	}
+
+	@Test
+	void noStoreResponsesAreNotCached() {
+		filter.filter(get("/order"), downstream(BODY, null, "no-store")).block();
+		filter.filter(get("/order"), downstream(BODY, null, "no-store")).block();
+
+		assertEquals(2, downstreamCalls.get());
+	}
+
+	@Test
+	void zeroMaxAgeIsNotCachedButMaxAgeIs() {
+		filter.filter(get("/order"), downstream(BODY, null, "max-age=0")).block();
+		filter.filter(get("/product"), downstream(BODY, null, "public, max-age=60")).block();
+
+		assertNull(responseCache.get("/order?null|null|null"));
+		assertEquals(Duration.ofSeconds(60), responseCache.get("/product?null|null|null").ttl());
+	}
+
+	@Test
+	void withoutARouteDefaultOnlyExplicitMaxAgeIsCached() {
+		GatewayFilter bare = factory.apply(config(null));
+		bare.filter(get("/order/async/ORD-1"), downstream(BODY, null)).block();
+		bare.filter(get("/order/async/ORD-1"), downstream(BODY, null)).block();
+		bare.filter(get("/product"), downstream(BODY, null, "max-age=60")).block();
+
+		assertEquals(3, downstreamCalls.get());
+		assertNull(responseCache.get("/order/async/ORD-1?null|null|null"));
+		assertEquals(Duration.ofSeconds(60), responseCache.get("/product?null|null|null").ttl());
+	}
+
+	@Test
+	void clientNoCacheRevalidatesDownstream() {
+		filter.filter(get("/product"), downstream(BODY, null)).block();
+		MockServerWebExchange revalidate = MockServerWebExchange
+				.from(MockServerHttpRequest.get("/product").header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+		filter.filter(revalidate, downstream(BODY, null)).block();
+
+		assertEquals(2, downstreamCalls.get());
+	}
+
+	@Test
+	void bodiesAboveTheEntryLimitPassThroughUncached() {
+		String large = "x".repeat(2 << 10);
+		MockServerWebExchange first = get("/product");
+		filter.filter(first, downstream(large, null)).block();
+		filter.filter(get("/product"), downstream(large, null)).block();
+
+		assertEquals(large, first.getResponse().getBodyAsString().block());
+		assertEquals(2, downstreamCalls.get());
+	}
+
+	@Test
+	void postIsNeverCached() {
+		MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/order"));
+		filter.filter(post, downstream(BODY, null)).block();
+		filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/order")), downstream(BODY, null)).block();
+
+		assertEquals(2, downstreamCalls.get());
+	}
+
+	private static ResponseCacheGatewayFilterFactory.Config config(Duration defaultTtl) {
+		ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+		config.setDefaultTtl(defaultTtl);
+		return config;
+	}
+
+	private static MockServerWebExchange get(String path) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+	}
+
+	private GatewayFilterChain downstream(String body, String etag) {
+		return downstream(body, etag, null);
+	}
+
+	// stands in for the routing filter: writes a 200 JSON answer to whatever response the filter passed on
+	private GatewayFilterChain downstream(String body, String etag, String cacheControl) {
+		return exchange -> {
+			downstreamCalls.incrementAndGet();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			if (etag != null) {
+				response.getHeaders().setETag(etag);
+			}
+			if (cacheControl != null) {
+				response.getHeaders().setCacheControl(cacheControl);
+			}
+			byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+		};
+	}
+}
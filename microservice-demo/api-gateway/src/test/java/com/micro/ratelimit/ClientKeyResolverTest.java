@@ -0,0 +1,50 @@
+package com.micro.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+class ClientKeyResolverTest {
+
+	private final ClientKeyResolver resolver = new ClientKeyResolver(List.of("10.0.0.1", "::1"));
+
+	@Test
+	void untrustedCallerIsKeyedByItsAddressWhateverHeadersItSends() {
+		assertEquals("ip:203.0.113.7", resolve("203.0.113.7", "client-1", null));
+		assertEquals("ip:203.0.113.7", resolve("203.0.113.7", "client-2", "198.51.100.1"));
+	}
+
+	@Test
+	void trustedProxyNamesTheClient() {
+		assertEquals("client:client-1", resolve("10.0.0.1", "client-1", "198.51.100.1"));
+	}
+
+	@Test
+	void trustedProxyWithoutClientIdForwardsTheClientAddress() {
+		// the left-most entry was written by the client and is ignored
+		assertEquals("ip:198.51.100.1", resolve("10.0.0.1", null, "192.0.2.99, 198.51.100.1, 10.0.0.1"));
+		assertEquals("ip:10.0.0.1", resolve("10.0.0.1", null, null));
+	}
+
+	@Test
+	void loopbackMatchesEitherSpelling() {
+		assertEquals("client:load-client-3", resolve("0:0:0:0:0:0:0:1", "load-client-3", null));
+	}
+
+	private String resolve(String peer, String clientId, String forwardedFor) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/product")
+				.remoteAddress(new InetSocketAddress(peer, 40000));
+		if (clientId != null) {
+			request.header(ClientKeyResolver.CLIENT_ID_HEADER, clientId);
+		}
+		if (forwardedFor != null) {
+			request.header(ClientKeyResolver.FORWARDED_FOR_HEADER, forwardedFor);
+		}
+		return resolver.resolve(MockServerWebExchange.from(request)).block();
+	}
+}
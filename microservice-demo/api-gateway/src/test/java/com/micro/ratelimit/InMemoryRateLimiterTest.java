@@ -0,0 +1,63 @@
+package com.micro.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemoryRateLimiterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final InMemoryRateLimiter rateLimiter = new InMemoryRateLimiter(null, meterRegistry, 1, 3, 1000,
+			Duration.ofMinutes(10));
+
+	@Test
+	void burstIsAllowedThenRejected() {
+		for (int i = 0; i < 3; i++) {
+			assertTrue(rateLimiter.isAllowed("order-service", "client:a").block().isAllowed());
+		}
+		assertFalse(rateLimiter.isAllowed("order-service", "client:a").block().isAllowed());
+
+		assertEquals(3, meterRegistry.counter("gateway.ratelimit.requests", "route", "order-service", "outcome",
+				"accepted").count());
+		assertEquals(1, meterRegistry.counter("gateway.ratelimit.requests", "route", "order-service", "outcome",
+				"rejected").count());
+	}
+
+	@Test
+	void bucketsAreKeptPerClientAndPerRoute() {
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.isAllowed("order-service", "client:a").block();
+		}
+		assertFalse(rateLimiter.isAllowed("order-service", "client:a").block().isAllowed());
+		assertTrue(rateLimiter.isAllowed("order-service", "client:b").block().isAllowed());
+		assertTrue(rateLimiter.isAllowed("product-service", "client:a").block().isAllowed());
+	}
+
+	@Test
+	void routeConfigOverridesDefaults() {
+		rateLimiter.getConfig().put("product-service",
+				new InMemoryRateLimiter.Config().setReplenishRate(10).setBurstCapacity(10));
+
+		var response = rateLimiter.isAllowed("product-service", "client:a").block();
+
+		assertEquals("9", response.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+		assertEquals("10", response.getHeaders().get(InMemoryRateLimiter.BURST_CAPACITY_HEADER));
+	}
+
+	@Test
+	void tokensRefillOverTime() {
+		TokenBucket bucket = new TokenBucket(2, 0);
+		assertEquals(1, bucket.tryConsume(1, 4, 2, 0));
+		assertEquals(0, bucket.tryConsume(1, 4, 2, 0));
+		assertEquals(-1, bucket.tryConsume(1, 4, 2, 0));
+		// 4 tokens/s: a quarter second buys one more request, but never more than the burst capacity
+		assertEquals(0, bucket.tryConsume(1, 4, 2, 250_000_000L));
+		assertEquals(1, bucket.tryConsume(1, 4, 2, 10_000_000_000L));
+	}
+}
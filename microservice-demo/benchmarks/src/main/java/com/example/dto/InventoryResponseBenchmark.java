@@ -0,0 +1,71 @@
+package com.example.dto;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The stock-check response on both sides of the wire: inventory-service builds and writes it,
+ * order-service reads it back as an array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InventoryResponseBenchmark {
+
+	@Param({ "1", "10", "100" })
+	private int skuCount;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private Map<String, Integer> quantities;
+	private List<InventoryResponse> responses;
+	private byte[] json;
+
+	@Setup
+	public void createResponses() throws JsonProcessingException {
+		quantities = new LinkedHashMap<>();
+		for (int i = 0; i < skuCount; i++) {
+			quantities.put("sku-" + i, i % 3);
+		}
+		responses = build();
+		json = objectMapper.writeValueAsBytes(responses);
+	}
+
+	// same mapping as InventoryServiceImpl.isInStock over the cached quantities
+	@Benchmark
+	public List<InventoryResponse> build() {
+		return quantities.entrySet().stream()
+				.map(entry -> new InventoryResponse(entry.getKey(), entry.getValue() > 0))
+				.toList();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(responses);
+	}
+
+	@Benchmark
+	public InventoryResponse[] deserialize() throws IOException {
+		return objectMapper.readValue(json, InventoryResponse[].class);
+	}
+}
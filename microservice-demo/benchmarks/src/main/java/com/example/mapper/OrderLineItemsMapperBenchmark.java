@@ -0,0 +1,51 @@
+package com.example.mapper;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.dto.OrderLineItemsDto;
+import com.example.model.OrderLineItems;
+import com.example.model.Orders;
+
+/**
+ * Maps the line items of an order request to entities with the mapper placeOrder and the batch endpoint use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderLineItemsMapperBenchmark {
+
+	@Param({ "1", "10", "100" })
+	private int lineItems;
+
+	private List<OrderLineItemsDto> dtos;
+
+	@Setup
+	public void createRequest() {
+		dtos = IntStream.range(0, lineItems)
+				.mapToObj(i -> new OrderLineItemsDto(null, "sku-" + i, BigDecimal.valueOf(100 + i, 2), 1 + i % 5))
+				.toList();
+	}
+
+	@Benchmark
+	public List<OrderLineItems> mapLineItems() {
+		return OrderLineItemsMapper.attachLineItems(new Orders(), dtos);
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.serviceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan.Filter;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import com.example.cache.StockCache;
+import com.example.dto.InventoryResponse;
+import com.example.model.Inventory;
+import com.example.repository.InventoryRepository;
+
+/**
+ * InventoryServiceImpl.isInStock over the real StockCache and InventoryRepository, backed by an in-memory H2
+ * database. "cached" answers from the cache only; "uncached" evicts the SKUs first, so every call runs the query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StockCheckBenchmark {
+
+	private static final int STOCKED_SKUS = 10_000;
+
+	@Param({ "1", "10", "100" })
+	private int skuCount;
+
+	private ConfigurableApplicationContext context;
+	private InventoryServiceImpl inventoryService;
+	private StockCache stockCache;
+	private List<String> skuCodes;
+
+	@Setup
+	public void startInventory() {
+		context = new SpringApplicationBuilder(StockCheckApplication.class)
+				.run("--spring.config.location=classpath:/stock-check-benchmark.properties");
+		inventoryService = context.getBean(InventoryServiceImpl.class);
+		stockCache = context.getBean(StockCache.class);
+		context.getBean(InventoryRepository.class).saveAll(IntStream.range(0, STOCKED_SKUS)
+				.mapToObj(i -> new Inventory(null, "sku-" + i, i % 3))
+				.toList());
+		// spread over the table rather than the first rows
+		skuCodes = IntStream.range(0, skuCount).mapToObj(i -> "sku-" + i * (STOCKED_SKUS / skuCount)).toList();
+	}
+
+	@TearDown
+	public void stopInventory() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<InventoryResponse> cached() {
+		return inventoryService.isInStock(skuCodes);
+	}
+
+	@Benchmark
+	public List<InventoryResponse> uncached() {
+		stockCache.evictAfterCommit(skuCodes);
+		return inventoryService.isInStock(skuCodes);
+	}
+
+	// only the inventory slice: the other services' classes share the com.example packages on this classpath
+	@SpringBootConfiguration
+	@EnableAutoConfiguration
+	@EnableJpaRepositories(basePackageClasses = InventoryRepository.class,
+			includeFilters = @Filter(type = FilterType.ASSIGNABLE_TYPE, classes = InventoryRepository.class))
+	@Import({ InventoryServiceImpl.class, StockCache.class })
+	static class StockCheckApplication {
+
+		@Bean
+		PersistenceManagedTypes persistenceManagedTypes() {
+			return PersistenceManagedTypes.of(Inventory.class.getName());
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.onehealth.entity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a list of lab tests to JSON, as the lab-test service does for a lab's test menu.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TestsSerializationBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	private int size;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private List<Tests> tests;
+
+	@Setup
+	public void createTests() {
+		tests = IntStream.range(0, size)
+				.mapToObj(i -> new Tests(i, "Test " + i, i % 2 == 0 ? "Yes" : "No", "Description of test number " + i,
+						100 + i % 900, true, "/certs/lab-" + i % 50 + "/approval-certificate.pdf", i % 50))
+				.toList();
+	}
+
+	@Benchmark
+	public byte[] serialize() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(tests);
+	}
+}
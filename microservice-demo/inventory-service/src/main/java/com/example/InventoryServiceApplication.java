@@ -4,10 +4,12 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import com.example.model.Inventory;
 import com.example.repository.InventoryRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class InventoryServiceApplication {
 
 	public static void main(String[] args) {
@@ -17,6 +19,10 @@ public class InventoryServiceApplication {
 	@Bean
 	public CommandLineRunner loadData(InventoryRepository inventoryRepository) {
 		 return args -> {
+			 // reserving stock updates rows by skuCode, so seed only once instead of on every boot
+			 if (inventoryRepository.count() > 0) {
+				 return;
+			 }
 			 Inventory inventory = new Inventory();
 			 inventory.setSkuCode("Iphone 13");
 			 inventory.setQuantity(150);
@@ -0,0 +1,65 @@
+package com.example.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of available quantity per skuCode.
+ * Entries expire after the configured TTL, which also bounds how stale a racing reader can leave an entry.
+ * Hit/miss/eviction counts are published as the "inventory.stock" cache metrics.
+ */
+@Component
+public class StockCache {
+
+	private final Cache<String, Integer> cache;
+
+	public StockCache(@Value("${inventory.cache.ttl:2s}") Duration ttl,
+			@Value("${inventory.cache.maximum-size:10000}") long maximumSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "inventory.stock");
+	}
+
+	/**
+	 * Returns the cached quantities and loads all missing SKUs with a single call to the loader.
+	 * SKUs the loader does not return are left out of the result and are not cached.
+	 */
+	public Map<String, Integer> getAll(List<String> skuCodes, Function<Set<String>, Map<String, Integer>> loader) {
+		return cache.getAll(skuCodes, missing -> loader.apply(Set.copyOf(missing)));
+	}
+
+	/**
+	 * Drops the given SKUs once the surrounding transaction commits, or right away when there is none,
+	 * so the next read loads the committed quantity rather than the one from before the change.
+	 */
+	public void evictAfterCommit(Collection<String> skuCodes) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache.invalidateAll(skuCodes);
+				}
+			});
+		} else {
+			cache.invalidateAll(skuCodes);
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class StockEventConfig {
+
+	// resolves service names through discovery; Boot's builder also records http.client.requests and propagates traces
+	@Bean
+	@LoadBalanced
+	public RestTemplate stockEventRestTemplate(RestTemplateBuilder restTemplateBuilder,
+			@Value("${inventory.stock-events.connect-timeout:1s}") Duration connectTimeout,
+			@Value("${inventory.stock-events.read-timeout:2s}") Duration readTimeout) {
+		return restTemplateBuilder.setConnectTimeout(connectTimeout).setReadTimeout(readTimeout).build();
+	}
+}
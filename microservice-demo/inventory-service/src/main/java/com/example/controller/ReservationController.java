@@ -0,0 +1,40 @@
+package com.example.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.service.ReservationService;
+
+@RestController
+@RequestMapping("/inventory/reservation")
+public class ReservationController {
+
+	@Autowired
+	private ReservationService reservationService;
+
+	@PostMapping
+	@ResponseStatus(value = HttpStatus.CREATED)
+	public ReservationResponse reserve(@RequestBody ReservationRequest reservationRequest) {
+		return reservationService.reserve(reservationRequest);
+	}
+
+	@PostMapping("/{reservationId}/commit")
+	@ResponseStatus(value = HttpStatus.OK)
+	public ReservationResponse commit(@PathVariable String reservationId) {
+		return reservationService.commit(reservationId);
+	}
+
+	@PostMapping("/{reservationId}/release")
+	@ResponseStatus(value = HttpStatus.OK)
+	public ReservationResponse release(@PathVariable String reservationId) {
+		return reservationService.release(reservationId);
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.dto;
+
+public class ReservationItem {
+	private String skuCode;
+	private Integer quantity;
+	public String getSkuCode() {
+		return skuCode;
+	}
+	public void setSkuCode(String skuCode) {
+		this.skuCode = skuCode;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	@Override
+	public String toString() {
+		return "ReservationItem [skuCode=" + skuCode + ", quantity=" + quantity + "]";
+	}
+	public ReservationItem(String skuCode, Integer quantity) {
+		super();
+		this.skuCode = skuCode;
+		this.quantity = quantity;
+	}
+	public ReservationItem() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
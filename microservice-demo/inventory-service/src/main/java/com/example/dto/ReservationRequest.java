@@ -0,0 +1,30 @@
+package com.example.dto;
+
+import java.util.List;
+
+public class ReservationRequest {
+	private List<ReservationItem> items;
+
+	public List<ReservationItem> getItems() {
+		return items;
+	}
+
+	public void setItems(List<ReservationItem> items) {
+		this.items = items;
+	}
+
+	@Override
+	public String toString() {
+		return "ReservationRequest [items=" + items + "]";
+	}
+
+	public ReservationRequest(List<ReservationItem> items) {
+		super();
+		this.items = items;
+	}
+
+	public ReservationRequest() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
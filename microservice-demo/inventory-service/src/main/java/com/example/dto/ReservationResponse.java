@@ -0,0 +1,33 @@
+package com.example.dto;
+
+import com.example.model.ReservationStatus;
+
+public class ReservationResponse {
+	private String reservationId;
+	private ReservationStatus status;
+	public String getReservationId() {
+		return reservationId;
+	}
+	public void setReservationId(String reservationId) {
+		this.reservationId = reservationId;
+	}
+	public ReservationStatus getStatus() {
+		return status;
+	}
+	public void setStatus(ReservationStatus status) {
+		this.status = status;
+	}
+	@Override
+	public String toString() {
+		return "ReservationResponse [reservationId=" + reservationId + ", status=" + status + "]";
+	}
+	public ReservationResponse(String reservationId, ReservationStatus status) {
+		super();
+		this.reservationId = reservationId;
+		this.status = status;
+	}
+	public ReservationResponse() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.dto;
+
+import java.time.Instant;
+
+/**
+ * The quantity left for a SKU after a stock change. Ids of one SKU grow with every change,
+ * so a subscriber keeps the event with the highest id and can ignore duplicates and stragglers.
+ */
+public class StockChangeEvent {
+	private Long id;
+	private String skuCode;
+	private Integer quantity;
+	private Instant createdAt;
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getSkuCode() {
+		return skuCode;
+	}
+	public void setSkuCode(String skuCode) {
+		this.skuCode = skuCode;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+	@Override
+	public String toString() {
+		return "StockChangeEvent [id=" + id + ", skuCode=" + skuCode + ", quantity=" + quantity + ", createdAt="
+				+ createdAt + "]";
+	}
+	public StockChangeEvent(Long id, String skuCode, Integer quantity, Instant createdAt) {
+		super();
+		this.id = id;
+		this.skuCode = skuCode;
+		this.quantity = quantity;
+		this.createdAt = createdAt;
+	}
+	public StockChangeEvent() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a reservation asks for more units of a SKU than are available.
+ * The whole reservation is rolled back and the request answers HTTP 409 (CONFLICT).
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InsufficientStockException(String message) {
+		super(message);
+	}
+}
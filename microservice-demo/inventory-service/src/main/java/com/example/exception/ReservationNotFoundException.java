@@ -0,0 +1,17 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a commit or release names a reservation that does not exist.
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class ReservationNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReservationNotFoundException(String message) {
+		super(message);
+	}
+}
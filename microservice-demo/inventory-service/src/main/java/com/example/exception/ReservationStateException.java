@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a reservation can no longer move to the requested status,
+ * e.g. committing a reservation that was already released.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ReservationStateException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ReservationStateException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,7 @@
+package com.example.model;
+
+public enum ReservationStatus {
+	RESERVED,
+	COMMITTED,
+	RELEASED
+}
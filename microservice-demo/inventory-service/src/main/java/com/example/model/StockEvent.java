@@ -0,0 +1,74 @@
+package com.example.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Outbox row recording the quantity a SKU was left with by a committed stock change.
+ * Written in the transaction that changed the stock and pushed to subscribers afterwards; publishedAt stays null until then.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_stock_event_published_at_id", columnList = "publishedAt, id"))
+public class StockEvent {
+
+	public StockEvent() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+	public StockEvent(Long id, String skuCode, Integer quantity, Instant createdAt) {
+		super();
+		this.id = id;
+		this.skuCode = skuCode;
+		this.quantity = quantity;
+		this.createdAt = createdAt;
+	}
+	@Override
+	public String toString() {
+		return "StockEvent [id=" + id + ", skuCode=" + skuCode + ", quantity=" + quantity + ", createdAt="
+				+ createdAt + ", publishedAt=" + publishedAt + "]";
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getSkuCode() {
+		return skuCode;
+	}
+	public void setSkuCode(String skuCode) {
+		this.skuCode = skuCode;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+	public Instant getPublishedAt() {
+		return publishedAt;
+	}
+	public void setPublishedAt(Instant publishedAt) {
+		this.publishedAt = publishedAt;
+	}
+	// rows are only inserted by StockEventRepository.recordQuantities, which leaves the id to the column default
+	@Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String skuCode;
+    private Integer quantity;
+    private Instant createdAt;
+    private Instant publishedAt;
+}
@@ -0,0 +1,88 @@
+package com.example.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One reserved SKU line. All lines of a reservation share the same reservationId.
+ */
+@Entity
+@Table(indexes = { @Index(name = "idx_stock_reservation_reservation_id", columnList = "reservationId"),
+		@Index(name = "idx_stock_reservation_status_created_at", columnList = "status, createdAt") })
+public class StockReservation {
+
+	public StockReservation() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+	public StockReservation(Long id, String reservationId, String skuCode, Integer quantity, ReservationStatus status,
+			Instant createdAt) {
+		super();
+		this.id = id;
+		this.reservationId = reservationId;
+		this.skuCode = skuCode;
+		this.quantity = quantity;
+		this.status = status;
+		this.createdAt = createdAt;
+	}
+	@Override
+	public String toString() {
+		return "StockReservation [id=" + id + ", reservationId=" + reservationId + ", skuCode=" + skuCode
+				+ ", quantity=" + quantity + ", status=" + status + ", createdAt=" + createdAt + "]";
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getReservationId() {
+		return reservationId;
+	}
+	public void setReservationId(String reservationId) {
+		this.reservationId = reservationId;
+	}
+	public String getSkuCode() {
+		return skuCode;
+	}
+	public void setSkuCode(String skuCode) {
+		this.skuCode = skuCode;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	public ReservationStatus getStatus() {
+		return status;
+	}
+	public void setStatus(ReservationStatus status) {
+		this.status = status;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+	@Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_reservation_seq")
+    @SequenceGenerator(name = "stock_reservation_seq", sequenceName = "stock_reservation_seq", allocationSize = 50)
+    private Long id;
+    private String reservationId;
+    private String skuCode;
+    private Integer quantity;
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+    private Instant createdAt;
+}
@@ -3,10 +3,22 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.dto.InventoryResponse;
 import com.example.model.Inventory;
 
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
 	 List<Inventory> findBySkuCodeIn(List<String> skuCode);
+
+	 // conditional decrement: the row lock taken by the UPDATE makes check-and-set atomic, 0 rows means not enough stock
+	 @Modifying
+	 @Query("update Inventory i set i.quantity = i.quantity - :quantity where i.skuCode = :skuCode and i.quantity >= :quantity")
+	 int reserveStock(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
+
+	 @Modifying
+	 @Query("update Inventory i set i.quantity = i.quantity + :quantity where i.skuCode = :skuCode")
+	 int restoreStock(@Param("skuCode") String skuCode, @Param("quantity") int quantity);
 }
@@ -0,0 +1,38 @@
+package com.example.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.model.StockEvent;
+
+public interface StockEventRepository extends JpaRepository<StockEvent, Long> {
+
+	// copies the quantities as this transaction sees them; called after the UPDATE, so the inventory row locks
+	// it holds make event ids of a SKU increase in commit order
+	@Modifying
+	@Query(value = "insert into stock_event (sku_code, quantity, created_at) "
+			+ "select i.sku_code, i.quantity, :now from inventory i where i.sku_code in (:skuCodes) order by i.sku_code",
+			nativeQuery = true)
+	int recordQuantities(@Param("skuCodes") Collection<String> skuCodes, @Param("now") Instant now);
+
+	@Query("select e from StockEvent e where e.publishedAt is null order by e.id")
+	List<StockEvent> findUnpublished(Pageable pageable);
+
+	@Transactional
+	@Modifying
+	@Query("update StockEvent e set e.publishedAt = :now where e.id in :ids")
+	int markPublished(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("delete from StockEvent e where e.publishedAt < :publishedBefore")
+	int deletePublishedBefore(@Param("publishedBefore") Instant publishedBefore);
+}
@@ -0,0 +1,27 @@
+package com.example.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.model.ReservationStatus;
+import com.example.model.StockReservation;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+	List<StockReservation> findByReservationId(String reservationId);
+
+	// compare-and-set on the status so that concurrent commit/release calls cannot both win
+	@Modifying
+	@Query("update StockReservation r set r.status = :to where r.reservationId = :reservationId and r.status = :from")
+	int updateStatus(@Param("reservationId") String reservationId, @Param("from") ReservationStatus from,
+			@Param("to") ReservationStatus to);
+
+	@Query("select distinct r.reservationId from StockReservation r where r.status = :status and r.createdAt < :createdBefore")
+	List<String> findReservationIdsByStatusCreatedBefore(@Param("status") ReservationStatus status,
+			@Param("createdBefore") Instant createdBefore);
+}
@@ -0,0 +1,48 @@
+package com.example.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.model.ReservationStatus;
+import com.example.repository.StockReservationRepository;
+import com.example.service.ReservationService;
+
+/**
+ * Gives stock back for reservations that were neither committed nor released within the hold timeout.
+ */
+@Component
+public class ReservationExpiryScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+	@Autowired
+	private StockReservationRepository stockReservationRepository;
+	@Autowired
+	private ReservationService reservationService;
+
+	@Value("${inventory.reservation.hold-timeout:15m}")
+	private Duration holdTimeout;
+
+	@Scheduled(fixedDelayString = "${inventory.reservation.expiry-check-interval:PT1M}")
+	public void releaseExpiredHolds() {
+		List<String> expired = stockReservationRepository.findReservationIdsByStatusCreatedBefore(
+				ReservationStatus.RESERVED, Instant.now().minus(holdTimeout));
+		for (String reservationId : expired) {
+			logger.info("Releasing reservation {} held for longer than {}", reservationId, holdTimeout);
+			try {
+				reservationService.release(reservationId);
+			} catch (RuntimeException ex) {
+				// committed or released concurrently, nothing left to give back
+				logger.debug("Reservation {} could not be released: {}", reservationId, ex.getMessage());
+			}
+		}
+	}
+}
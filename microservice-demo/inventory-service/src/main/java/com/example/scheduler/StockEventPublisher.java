@@ -0,0 +1,75 @@
+package com.example.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.dto.StockChangeEvent;
+import com.example.model.StockEvent;
+import com.example.repository.StockEventRepository;
+
+/**
+ * Pushes stock events from the outbox to order-service in id order, one batch per POST, and marks them published
+ * once the batch is accepted. A failed push is simply repeated on the next run; subscribers ignore events they
+ * already have, so a batch sent twice (e.g. by two instances) does no harm.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.stock-events.enabled", matchIfMissing = true)
+public class StockEventPublisher {
+
+	private static final Logger logger = LoggerFactory.getLogger(StockEventPublisher.class);
+
+	@Autowired
+	private StockEventRepository stockEventRepository;
+	@Autowired
+	private RestTemplate stockEventRestTemplate;
+
+	@Value("${inventory.stock-events.target-url:http://order-service/stock-events}")
+	private String targetUrl;
+	@Value("${inventory.stock-events.batch-size:500}")
+	private int batchSize;
+	@Value("${inventory.stock-events.retention:1h}")
+	private Duration retention;
+
+	@Scheduled(fixedDelayString = "${inventory.stock-events.publish-interval:PT1S}")
+	public void publishPending() {
+		List<StockEvent> batch;
+		do {
+			batch = stockEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+			if (batch.isEmpty()) {
+				break;
+			}
+			try {
+				stockEventRestTemplate.postForEntity(targetUrl, batch.stream().map(StockEventPublisher::toMessage).toList(), Void.class);
+			} catch (RestClientException | IllegalStateException ex) {
+				// IllegalStateException: no order-service instance registered
+				logger.debug("Stock events not delivered to {}, retrying next run: {}", targetUrl, ex.getMessage());
+				return;
+			}
+			stockEventRepository.markPublished(batch.stream().map(StockEvent::getId).toList(), Instant.now());
+		} while (batch.size() == batchSize);
+	}
+
+	@Scheduled(fixedDelayString = "${inventory.stock-events.purge-interval:PT10M}")
+	public void purgePublished() {
+		int purged = stockEventRepository.deletePublishedBefore(Instant.now().minus(retention));
+		if (purged > 0) {
+			logger.info("Purged {} stock events published more than {} ago", purged, retention);
+		}
+	}
+
+	private static StockChangeEvent toMessage(StockEvent event) {
+		return new StockChangeEvent(event.getId(), event.getSkuCode(), event.getQuantity(), event.getCreatedAt());
+	}
+}
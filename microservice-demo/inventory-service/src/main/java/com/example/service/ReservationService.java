@@ -0,0 +1,10 @@
+package com.example.service;
+
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+
+public interface ReservationService {
+	ReservationResponse reserve(ReservationRequest reservationRequest);
+	ReservationResponse commit(String reservationId);
+	ReservationResponse release(String reservationId);
+}
@@ -1,29 +1,42 @@
 package com.example.serviceImpl;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.example.cache.StockCache;
 import com.example.dto.InventoryResponse;
-
+import com.example.model.Inventory;
 import com.example.repository.InventoryRepository;
 import com.example.service.InventoryService;
 
+import io.micrometer.core.annotation.Timed;
+
 
 @Service
 public class InventoryServiceImpl implements InventoryService{
 
 	@Autowired
 	private InventoryRepository inventoryRepository;
+	@Autowired
+	private StockCache stockCache;
 	
-	@Transactional(readOnly = true)
+	// no surrounding transaction: cache hits must not check out a DB connection
 	@Override
+	@Timed(value = "inventory.stock.check", histogram = true)
 	  public List<InventoryResponse> isInStock(List<String> skuCode) {
-        return inventoryRepository.findBySkuCodeIn(skuCode).stream()
-                .map(inventory -> new InventoryResponse(inventory.getSkuCode(),inventory.getQuantity() > 0))
+        return stockCache.getAll(skuCode, this::loadQuantities).entrySet().stream()
+                .map(entry -> new InventoryResponse(entry.getKey(), entry.getValue() > 0))
                 .toList();
     }
 
+	private Map<String, Integer> loadQuantities(Set<String> skuCodes) {
+		return inventoryRepository.findBySkuCodeIn(List.copyOf(skuCodes)).stream()
+				.collect(Collectors.toMap(Inventory::getSkuCode, Inventory::getQuantity, Integer::sum));
+	}
+
 } 
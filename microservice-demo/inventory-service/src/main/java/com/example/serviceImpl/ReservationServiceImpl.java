@@ -0,0 +1,110 @@
+package com.example.serviceImpl;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.cache.StockCache;
+import com.example.dto.ReservationItem;
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.exception.InsufficientStockException;
+import com.example.exception.ReservationNotFoundException;
+import com.example.exception.ReservationStateException;
+import com.example.model.ReservationStatus;
+import com.example.model.StockReservation;
+import com.example.repository.InventoryRepository;
+import com.example.repository.StockEventRepository;
+import com.example.repository.StockReservationRepository;
+import com.example.service.ReservationService;
+
+@Service
+public class ReservationServiceImpl implements ReservationService {
+
+	@Autowired
+	private InventoryRepository inventoryRepository;
+	@Autowired
+	private StockReservationRepository stockReservationRepository;
+	@Autowired
+	private StockEventRepository stockEventRepository;
+	@Autowired
+	private StockCache stockCache;
+
+	@Transactional
+	@Override
+	public ReservationResponse reserve(ReservationRequest reservationRequest) {
+		// merge duplicate SKUs and lock rows in a fixed order so concurrent reservations cannot deadlock
+		Map<String, Integer> quantities = new TreeMap<>();
+		List<ReservationItem> items = reservationRequest.getItems() != null ? reservationRequest.getItems() : List.of();
+		for (ReservationItem item : items) {
+			if (item.getSkuCode() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+				throw new IllegalArgumentException("Every reservation item needs a skuCode and a positive quantity");
+			}
+			quantities.merge(item.getSkuCode(), item.getQuantity(), Integer::sum);
+		}
+		if (quantities.isEmpty()) {
+			throw new IllegalArgumentException("Reservation has no items");
+		}
+
+		String reservationId = UUID.randomUUID().toString();
+		Instant now = Instant.now();
+		List<StockReservation> lines = quantities.entrySet().stream()
+				.map(entry -> new StockReservation(null, reservationId, entry.getKey(), entry.getValue(),
+						ReservationStatus.RESERVED, now))
+				.toList();
+		for (StockReservation line : lines) {
+			if (inventoryRepository.reserveStock(line.getSkuCode(), line.getQuantity()) == 0) {
+				// runtime exception: everything reserved so far in this transaction is rolled back
+				throw new InsufficientStockException("Not enough stock for " + line.getSkuCode());
+			}
+		}
+		// one JDBC batch, so the inventory row locks taken above are released soon after
+		stockReservationRepository.saveAll(lines);
+		// outbox: the new quantities are published only if this transaction commits
+		stockEventRepository.recordQuantities(quantities.keySet(), now);
+		stockCache.evictAfterCommit(quantities.keySet());
+		return new ReservationResponse(reservationId, ReservationStatus.RESERVED);
+	}
+
+	@Transactional
+	@Override
+	public ReservationResponse commit(String reservationId) {
+		if (stockReservationRepository.updateStatus(reservationId, ReservationStatus.RESERVED, ReservationStatus.COMMITTED) == 0) {
+			return alreadyIn(reservationId, ReservationStatus.COMMITTED);
+		}
+		return new ReservationResponse(reservationId, ReservationStatus.COMMITTED);
+	}
+
+	@Transactional
+	@Override
+	public ReservationResponse release(String reservationId) {
+		if (stockReservationRepository.updateStatus(reservationId, ReservationStatus.RESERVED, ReservationStatus.RELEASED) == 0) {
+			return alreadyIn(reservationId, ReservationStatus.RELEASED);
+		}
+		List<StockReservation> lines = stockReservationRepository.findByReservationId(reservationId);
+		lines.forEach(line -> inventoryRepository.restoreStock(line.getSkuCode(), line.getQuantity()));
+		List<String> skuCodes = lines.stream().map(StockReservation::getSkuCode).toList();
+		stockEventRepository.recordQuantities(skuCodes, Instant.now());
+		stockCache.evictAfterCommit(skuCodes);
+		return new ReservationResponse(reservationId, ReservationStatus.RELEASED);
+	}
+
+	// the status update matched nothing: repeating the same transition is fine, anything else is a conflict
+	private ReservationResponse alreadyIn(String reservationId, ReservationStatus target) {
+		List<StockReservation> lines = stockReservationRepository.findByReservationId(reservationId);
+		if (lines.isEmpty()) {
+			throw new ReservationNotFoundException("Reservation not found: " + reservationId);
+		}
+		ReservationStatus current = lines.get(0).getStatus();
+		if (current != target) {
+			throw new ReservationStateException("Reservation " + reservationId + " is already " + current);
+		}
+		return new ReservationResponse(reservationId, current);
+	}
+}
@@ -0,0 +1,43 @@
+-- Tables as Hibernate mapped them under ddl-auto=update, plus the indexes the hot queries need.
+-- The micro database is shared with order-service and product-service, and may already hold these tables from
+-- ddl-auto=update, so every statement is safe to run against an existing schema.
+
+create table if not exists inventory (
+    id bigint generated by default as identity primary key,
+    sku_code varchar(255),
+    quantity integer
+);
+-- loadData used to insert the seed SKUs on every boot, so an older table holds one copy of each per restart. Keep the
+-- oldest row per SKU with the highest quantity of its copies; the copies all start from the same seed, so summing them
+-- would multiply the stock. Reservations and stock events refer to a SKU by code, not by inventory id, so nothing else
+-- has to be repointed.
+update inventory i set quantity = d.quantity
+from (select min(id) as id, max(quantity) as quantity from inventory
+      where sku_code is not null group by sku_code having count(*) > 1) d
+where i.id = d.id;
+delete from inventory i
+where exists (select 1 from inventory k where k.sku_code = i.sku_code and k.id < i.id);
+-- stock checks and the conditional decrement look up one row per SKU
+create unique index if not exists uk_inventory_sku_code on inventory (sku_code);
+
+create sequence if not exists stock_reservation_seq start with 1 increment by 50;
+create table if not exists stock_reservation (
+    id bigint primary key,
+    reservation_id varchar(255),
+    sku_code varchar(255),
+    quantity integer,
+    status varchar(255) check (status in ('RESERVED', 'COMMITTED', 'RELEASED')),
+    created_at timestamp(6) with time zone
+);
+create index if not exists idx_stock_reservation_reservation_id on stock_reservation (reservation_id);
+-- the expiry check looks for RESERVED lines older than the hold timeout
+create index if not exists idx_stock_reservation_status_created_at on stock_reservation (status, created_at);
+
+create table if not exists stock_event (
+    id bigint generated by default as identity primary key,
+    sku_code varchar(255),
+    quantity integer,
+    created_at timestamp(6) with time zone,
+    published_at timestamp(6) with time zone
+);
+create index if not exists idx_stock_event_published_at_id on stock_event (published_at, id);
@@ -0,0 +1,72 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.repository.InventoryRepository;
+
+/**
+ * Runs the migration over an inventory table as ddl-auto=update and the old loadData left it, with the seed SKUs
+ * inserted once per restart, and checks that the service starts with one row per SKU behind the unique index.
+ */
+class InventorySchemaMigrationTest {
+
+	private static final String DATABASE_URL = "jdbc:postgresql://localhost:5432/micro";
+	private static final String LEGACY_SCHEMA = "inventory_startup_legacy";
+
+	@AfterEach
+	void dropLegacySchema() throws SQLException {
+		execute("drop schema if exists " + LEGACY_SCHEMA + " cascade");
+	}
+
+	@Test
+	void mergesSkusSeededOnEveryBoot() throws SQLException {
+		execute("drop schema if exists " + LEGACY_SCHEMA + " cascade",
+				"create schema " + LEGACY_SCHEMA,
+				"set search_path to " + LEGACY_SCHEMA,
+				"create table inventory (id bigint generated by default as identity primary key, "
+						+ "sku_code varchar(255), quantity integer)",
+				"insert into inventory (sku_code, quantity) values ('Iphone 13', 150), ('Iphone 15', 180), "
+						+ "('Iphone 16', 0), ('Iphone 13', 150), ('Iphone 15', 180), ('Iphone 16', 0), "
+						+ "('Iphone 13', 149), ('Iphone 15', 180), ('Iphone 16', 0)");
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+				.run("--eureka.client.enabled=false", "--inventory.stock-events.publish-interval=PT1H",
+						"--inventory.reservation.expiry-check-interval=PT1H", "--spring.main.banner-mode=off",
+						"--spring.datasource.url=" + DATABASE_URL + "?currentSchema=" + LEGACY_SCHEMA
+								+ "&reWriteBatchedInserts=true")) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+					"select id, sku_code, quantity from inventory order by id");
+			assertEquals(List.of(Map.of("id", 1L, "sku_code", "Iphone 13", "quantity", 150),
+					Map.of("id", 2L, "sku_code", "Iphone 15", "quantity", 180),
+					Map.of("id", 3L, "sku_code", "Iphone 16", "quantity", 0)), rows);
+			assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_indexes "
+					+ "where schemaname = ? and indexname = 'uk_inventory_sku_code'", Integer.class, LEGACY_SCHEMA));
+
+			// the seed does not run again on the merged table
+			assertEquals(3, context.getBean(InventoryRepository.class).count());
+		}
+	}
+
+	private static void execute(String... statements) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(DATABASE_URL, "postgres", "varun");
+				Statement statement = connection.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+		}
+	}
+}
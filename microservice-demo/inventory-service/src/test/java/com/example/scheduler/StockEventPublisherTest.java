@@ -0,0 +1,150 @@
+package com.example.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.dto.ReservationItem;
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.dto.StockChangeEvent;
+import com.example.exception.InsufficientStockException;
+import com.example.model.Inventory;
+import com.example.model.StockEvent;
+import com.example.repository.InventoryRepository;
+import com.example.repository.StockEventRepository;
+import com.example.repository.StockReservationRepository;
+import com.example.service.ReservationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks the stock event outbox: committed reservations and releases record the quantity left,
+ * rolled back ones record nothing, and the publisher only marks events published once order-service took them.
+ */
+@SpringBootTest(properties = { "eureka.client.enabled=false", "inventory.stock-events.publish-interval=PT1H",
+		"spring.jpa.show-sql=false" })
+class StockEventPublisherTest {
+
+	private static final HttpServer orderService = startOrderService();
+	private static final List<StockChangeEvent> received = new CopyOnWriteArrayList<>();
+	private static volatile int responseStatus = 204;
+
+	@Autowired
+	private StockEventPublisher stockEventPublisher;
+	@Autowired
+	private ReservationService reservationService;
+	@Autowired
+	private InventoryRepository inventoryRepository;
+	@Autowired
+	private StockReservationRepository stockReservationRepository;
+	@Autowired
+	private StockEventRepository stockEventRepository;
+
+	private final String skuCode = "events-" + UUID.randomUUID();
+
+	@DynamicPropertySource
+	static void orderServiceInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.order-service[0].uri",
+				() -> "http://localhost:" + orderService.getAddress().getPort());
+	}
+
+	@AfterAll
+	static void stopOrderService() {
+		orderService.stop(0);
+	}
+
+	@BeforeEach
+	void createStock() {
+		responseStatus = 204;
+		received.clear();
+		inventoryRepository.save(new Inventory(null, skuCode, 5));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		stockReservationRepository.deleteAll(stockReservationRepository.findAll().stream()
+				.filter(line -> line.getSkuCode().equals(skuCode)).toList());
+		stockEventRepository.deleteAll(events());
+		inventoryRepository.deleteAll(inventoryRepository.findBySkuCodeIn(List.of(skuCode)));
+	}
+
+	@Test
+	void reserveAndReleaseRecordTheQuantityLeft() {
+		ReservationResponse reservation = reservationService.reserve(new ReservationRequest(List.of(new ReservationItem(skuCode, 2))));
+		reservationService.release(reservation.getReservationId());
+
+		List<StockEvent> events = events();
+		assertEquals(List.of(3, 5), events.stream().map(StockEvent::getQuantity).toList());
+		assertTrue(events.get(0).getId() < events.get(1).getId());
+		assertNull(events.get(0).getPublishedAt());
+	}
+
+	@Test
+	void rolledBackReservationRecordsNothing() {
+		assertThrows(InsufficientStockException.class,
+				() -> reservationService.reserve(new ReservationRequest(List.of(new ReservationItem(skuCode, 6)))));
+
+		assertTrue(events().isEmpty());
+	}
+
+	@Test
+	void eventsArePublishedOnceOrderServiceAcceptsThem() {
+		reservationService.reserve(new ReservationRequest(List.of(new ReservationItem(skuCode, 1))));
+
+		responseStatus = 500;
+		stockEventPublisher.publishPending();
+		assertNull(events().get(0).getPublishedAt());
+
+		responseStatus = 204;
+		stockEventPublisher.publishPending();
+		assertNotNull(events().get(0).getPublishedAt());
+		List<StockChangeEvent> delivered = received.stream().filter(event -> event.getSkuCode().equals(skuCode)).toList();
+		assertEquals(2, delivered.size());
+		assertEquals(4, delivered.get(1).getQuantity());
+		assertEquals(events().get(0).getId(), delivered.get(1).getId());
+
+		received.clear();
+		stockEventPublisher.publishPending();
+		assertTrue(received.stream().noneMatch(event -> event.getSkuCode().equals(skuCode)));
+	}
+
+	private List<StockEvent> events() {
+		return stockEventRepository.findAll().stream().filter(event -> event.getSkuCode().equals(skuCode))
+				.sorted(Comparator.comparing(StockEvent::getId)).toList();
+	}
+
+	private static HttpServer startOrderService() {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		try {
+			HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+			server.createContext("/stock-events", exchange -> {
+				received.addAll(List.of(objectMapper.readValue(exchange.getRequestBody(), StockChangeEvent[].class)));
+				exchange.sendResponseHeaders(responseStatus, -1);
+				exchange.close();
+			});
+			server.start();
+			return server;
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.dto.ReservationItem;
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.model.Inventory;
+import com.example.repository.InventoryRepository;
+import com.example.repository.StockEventRepository;
+import com.example.repository.StockReservationRepository;
+import com.example.service.InventoryService;
+import com.example.service.ReservationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(properties = "inventory.cache.ttl=10m")
+class InventoryServiceCacheTest {
+
+	@Autowired
+	private InventoryService inventoryService;
+	@Autowired
+	private ReservationService reservationService;
+	@Autowired
+	private InventoryRepository inventoryRepository;
+	@Autowired
+	private StockReservationRepository stockReservationRepository;
+	@Autowired
+	private StockEventRepository stockEventRepository;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private final String skuCode = "cache-" + UUID.randomUUID();
+
+	@AfterEach
+	void cleanUp() {
+		stockReservationRepository.deleteAll(stockReservationRepository.findAll().stream()
+				.filter(line -> line.getSkuCode().equals(skuCode)).toList());
+		stockEventRepository.deleteAll(stockEventRepository.findAll().stream()
+				.filter(event -> event.getSkuCode().equals(skuCode)).toList());
+		inventoryRepository.deleteAll(inventoryRepository.findBySkuCodeIn(List.of(skuCode)));
+	}
+
+	@Test
+	void repeatedChecksAreServedFromCacheUntilStockChanges() {
+		inventoryRepository.save(new Inventory(null, skuCode, 1));
+		double hitsBefore = cacheGets("hit");
+
+		assertTrue(inventoryService.isInStock(List.of(skuCode)).get(0).isInStock());
+		assertTrue(inventoryService.isInStock(List.of(skuCode)).get(0).isInStock());
+		assertEquals(hitsBefore + 1, cacheGets("hit"));
+
+		// reserving the last unit evicts the entry, so the next check sees the committed quantity
+		ReservationResponse reservation = reservationService
+				.reserve(new ReservationRequest(List.of(new ReservationItem(skuCode, 1))));
+		assertFalse(inventoryService.isInStock(List.of(skuCode)).get(0).isInStock());
+
+		reservationService.release(reservation.getReservationId());
+		assertTrue(inventoryService.isInStock(List.of(skuCode)).get(0).isInStock());
+	}
+
+	@Test
+	void unknownSkusAreOmitted() {
+		assertTrue(inventoryService.isInStock(List.of(skuCode)).isEmpty());
+	}
+
+	private double cacheGets(String result) {
+		return meterRegistry.get("cache.gets").tag("cache", "inventory.stock").tag("result", result)
+				.functionCounter().count();
+	}
+}
@@ -0,0 +1,145 @@
+package com.example.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.dto.ReservationItem;
+import com.example.dto.ReservationRequest;
+import com.example.dto.ReservationResponse;
+import com.example.exception.InsufficientStockException;
+import com.example.model.Inventory;
+import com.example.repository.InventoryRepository;
+import com.example.repository.StockEventRepository;
+import com.example.repository.StockReservationRepository;
+import com.example.service.ReservationService;
+
+/**
+ * Contention benchmark: many threads reserving the same hot SKU at once.
+ * Asserts nothing is oversold and that the sustained reservation rate stays above a floor.
+ * About 220 ops/s was measured on a laptop against a local Postgres. Every reservation takes the hot SKU's row lock
+ * in its conditional UPDATE and holds it until commit, so reservations of that SKU run one at a time; the rate is
+ * one commit round trip per reservation, and the 8-connection pool already queues 24 of the 32 threads.
+ */
+@SpringBootTest
+class ReservationContentionTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReservationContentionTest.class);
+
+	private static final int THREADS = 32;
+	// well under the measured rate, so a slow CI machine passes, but far above what a table lock or a
+	// retry storm on the hot row would leave
+	private static final long MIN_OPS_PER_SECOND = 100;
+
+	@Autowired
+	private ReservationService reservationService;
+	@Autowired
+	private InventoryRepository inventoryRepository;
+	@Autowired
+	private StockReservationRepository stockReservationRepository;
+	@Autowired
+	private StockEventRepository stockEventRepository;
+
+	private final String hotSku = "bench-hot-" + UUID.randomUUID();
+	private final String coldSku = "bench-cold-" + UUID.randomUUID();
+
+	@AfterEach
+	void cleanUp() {
+		List<String> skuCodes = List.of(hotSku, coldSku);
+		stockReservationRepository.deleteAll(stockReservationRepository.findAll().stream()
+				.filter(line -> skuCodes.contains(line.getSkuCode())).toList());
+		stockEventRepository.deleteAll(stockEventRepository.findAll().stream()
+				.filter(event -> skuCodes.contains(event.getSkuCode())).toList());
+		inventoryRepository.deleteAll(inventoryRepository.findBySkuCodeIn(skuCodes));
+	}
+
+	@Test
+	void hotSkuIsNeverOversold() throws Exception {
+		inventoryRepository.save(new Inventory(null, hotSku, 500));
+		inventoryRepository.save(new Inventory(null, coldSku, 1_000_000));
+		AtomicInteger reserved = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+
+		long elapsed = runConcurrently(2_000, () -> {
+			try {
+				reservationService.reserve(new ReservationRequest(List.of(
+						new ReservationItem(coldSku, 1), new ReservationItem(hotSku, 1))));
+				reserved.incrementAndGet();
+			} catch (InsufficientStockException ex) {
+				rejected.incrementAndGet();
+			}
+			return null;
+		});
+
+		long opsPerSecond = report("reserve (hot + cold SKU)", reserved.get() + rejected.get(), elapsed);
+		assertEquals(500, reserved.get());
+		assertEquals(0, quantityOf(hotSku));
+		// a rejected reservation must also roll back the cold SKU it had already decremented
+		assertEquals(1_000_000 - 500, quantityOf(coldSku));
+		assertTrue(opsPerSecond >= MIN_OPS_PER_SECOND, opsPerSecond + " reservations/s");
+	}
+
+	@Test
+	void reserveAndReleaseRestoresStock() throws Exception {
+		inventoryRepository.save(new Inventory(null, hotSku, 100));
+
+		long elapsed = runConcurrently(2_000, () -> {
+			try {
+				ReservationResponse response = reservationService
+						.reserve(new ReservationRequest(List.of(new ReservationItem(hotSku, 1))));
+				reservationService.release(response.getReservationId());
+			} catch (InsufficientStockException ex) {
+				// all 100 units momentarily held by other threads
+			}
+			return null;
+		});
+
+		long opsPerSecond = report("reserve + release (hot SKU)", 2_000, elapsed);
+		assertEquals(100, quantityOf(hotSku));
+		// two transactions per operation
+		assertTrue(opsPerSecond >= MIN_OPS_PER_SECOND / 2, opsPerSecond + " reserve + release/s");
+	}
+
+	private long runConcurrently(int operations, Callable<Void> operation) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			long start = System.nanoTime();
+			for (int i = 0; i < operations; i++) {
+				futures.add(executor.submit(operation));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+			return System.nanoTime() - start;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private int quantityOf(String skuCode) {
+		return inventoryRepository.findBySkuCodeIn(List.of(skuCode)).get(0).getQuantity();
+	}
+
+	private long report(String scenario, int operations, long elapsedNanos) {
+		long opsPerSecond = Math.round(operations * 1e9 / elapsedNanos);
+		logger.info("{}: {} ops on {} threads in {} ms -> {} ops/s", scenario, operations, THREADS,
+				elapsedNanos / 1_000_000, opsPerSecond);
+		return opsPerSecond;
+	}
+}
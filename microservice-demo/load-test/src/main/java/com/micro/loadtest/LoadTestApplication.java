@@ -0,0 +1,273 @@
+package com.micro.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Boots discovery-server, inventory, product and order services and the api-gateway from their boot jars,
+ * each in its own JVM, against an embedded Postgres (or the one given with --db-url). Seeds products and stock,
+ * then sends orders and catalogue reads through the gateway at fixed rates and reports throughput and latency
+ * percentiles per route, on the console and as JSON in --result-file.
+ *
+ * <pre>
+ * mvn -P load-test -pl load-test -am -DskipTests verify -Dloadtest.args="--orders-per-second=50 --duration=5m"
+ * </pre>
+ *
+ * The services run with SQL logging and tracing off, and with short discovery intervals so the run can start sooner.
+ * Requests are spread over --clients X-Client-Id values, which the gateway believes because the harness is
+ * registered as a trusted proxy, so the per-client rate limits only kick in when a single client would really exceed them.
+ */
+public class LoadTestApplication implements AutoCloseable {
+
+	private static final String SKU_PREFIX = "load-sku-";
+	private static final String PRODUCT_PREFIX = "Load test product ";
+
+	private final LoadTestOptions options;
+	private final Deque<AutoCloseable> running = new ArrayDeque<>();
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private String dbUrl;
+	private ServiceProcess discovery;
+	private ServiceProcess gateway;
+
+	public LoadTestApplication(LoadTestOptions options) {
+		this.options = options;
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		LoadTestApplication loadTest = new LoadTestApplication(options);
+		Thread shutdown = new Thread(() -> loadTest.closeQuietly());
+		Runtime.getRuntime().addShutdownHook(shutdown);
+		try {
+			loadTest.start();
+			loadTest.seed();
+			loadTest.awaitRoutes();
+			Map<String, Object> result = loadTest.run();
+			loadTest.report(result);
+		} finally {
+			loadTest.close();
+			Runtime.getRuntime().removeShutdownHook(shutdown);
+		}
+	}
+
+	void start() throws IOException, InterruptedException {
+		if (options.getDbUrl() == null) {
+			log("Starting embedded Postgres");
+			EmbeddedPostgres postgres = EmbeddedPostgres.builder().setServerConfig("max_connections", "300").start();
+			running.push(postgres);
+			dbUrl = postgres.getJdbcUrl("postgres", "postgres");
+		} else {
+			dbUrl = options.getDbUrl();
+		}
+
+		int discoveryPort = freePort();
+		Map<String, String> discoveryProperties = new LinkedHashMap<>();
+		discoveryProperties.put("eureka.client.serviceUrl.defaultZone", "http://localhost:" + discoveryPort + "/eureka");
+		// new registrations show up in /eureka/apps after a second instead of up to 30
+		discoveryProperties.put("eureka.server.response-cache-update-interval-ms", "1000");
+		discovery = startService("discovery-server", discoveryPort, discoveryProperties);
+		discovery.awaitHealthy(options.getStartupTimeout());
+
+		Map<String, String> common = new LinkedHashMap<>();
+		common.put("eureka.client.service-url.defaultZone", "http://localhost:" + discoveryPort + "/eureka");
+		common.put("eureka.instance.hostname", "localhost");
+		common.put("eureka.client.registry-fetch-interval-seconds", "5");
+		common.put("eureka.instance.lease-renewal-interval-in-seconds", "5");
+		common.put("spring.cloud.loadbalancer.cache.ttl", "5s");
+		common.put("spring.datasource.url", dbUrl);
+		common.put("spring.datasource.username", options.getDbUser());
+		common.put("spring.datasource.password", options.getDbPassword());
+		common.put("spring.jpa.show-sql", "false");
+		common.put("management.tracing.enabled", "false");
+		common.put("logging.level.org.springframework.cloud.gateway", "INFO");
+		common.putAll(options.getServiceProperties());
+
+		List<ServiceProcess> services = new ArrayList<>();
+		for (String name : List.of("inventory-service", "product-service", "order-service")) {
+			services.add(startService(name, freePort(), common));
+		}
+		for (ServiceProcess service : services) {
+			service.awaitHealthy(options.getStartupTimeout());
+			log(service.getName() + " is up");
+		}
+		Map<String, String> gatewayProperties = new LinkedHashMap<>(common);
+		gatewayProperties.putIfAbsent("gateway.rate-limit.trusted-proxies", "127.0.0.1,::1");
+		gateway = startService("api-gateway", freePort(), gatewayProperties);
+		gateway.awaitHealthy(options.getStartupTimeout());
+		log("api-gateway is up at " + gateway.uri(""));
+
+		HttpRequest apps = HttpRequest.newBuilder(discovery.uri("/eureka/apps")).header("Accept", "application/json").build();
+		discovery.await(apps, response -> response.statusCode() == 200
+				&& List.of("API-GATEWAY", "ORDER-SERVICE", "INVENTORY-SERVICE", "PRODUCT-SERVICE").stream()
+						.allMatch(app -> response.body().contains("\"" + app + "\"")),
+				options.getStartupTimeout());
+	}
+
+	// the services have created their tables by now; rows from an earlier run against the same database are reused
+	void seed() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(dbUrl, options.getDbUser(), options.getDbPassword())) {
+			try (PreparedStatement insert = connection.prepareStatement(
+					"insert into inventory (sku_code, quantity) select ? || g, 1000000000 from generate_series(1, ?) g"
+							+ " where not exists (select 1 from inventory where sku_code = ? || g)")) {
+				insert.setString(1, SKU_PREFIX);
+				insert.setInt(2, options.getSkus());
+				insert.setString(3, SKU_PREFIX);
+				insert.executeUpdate();
+			}
+			try (PreparedStatement insert = connection.prepareStatement(
+					"insert into product (name, description, price) select ? || g, 'Seeded by the load test', 10 + g % 90"
+							+ " from generate_series((select count(*) from product where name like ? || '%') + 1, ?) g")) {
+				insert.setString(1, PRODUCT_PREFIX);
+				insert.setString(2, PRODUCT_PREFIX);
+				insert.setInt(3, options.getProducts());
+				insert.executeUpdate();
+			}
+		}
+		log("Seeded " + options.getSkus() + " SKUs and " + options.getProducts() + " products");
+	}
+
+	// the gateway and order-service each need a registry fetch before they can reach the services behind them
+	void awaitRoutes() throws InterruptedException {
+		gateway.await(catalogueRead(0), response -> response.statusCode() == 200, options.getStartupTimeout());
+		gateway.await(order(0), response -> response.statusCode() == 200, options.getStartupTimeout());
+		log("Routes answer, starting " + options.getWarmup().toSeconds() + "s warmup and "
+				+ options.getDuration().toSeconds() + "s measurement");
+	}
+
+	Map<String, Object> run() throws InterruptedException {
+		RouteStats orders = new RouteStats("POST /order");
+		RouteStats catalogue = new RouteStats("GET " + options.getCatalogueUri());
+		long start = System.nanoTime() + Duration.ofMillis(100).toNanos();
+		List<Thread> generators = new ArrayList<>();
+		generators.add(generator(orders, options.getOrdersPerSecond(), this::order, start));
+		generators.add(generator(catalogue, options.getCatalogueReadsPerSecond(), this::catalogueRead, start));
+		for (Thread generator : generators) {
+			generator.join();
+		}
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("ordersPerSecond", options.getOrdersPerSecond());
+		result.put("catalogueReadsPerSecond", options.getCatalogueReadsPerSecond());
+		result.put("clients", options.getClients());
+		result.put("warmupSeconds", options.getWarmup().toSeconds());
+		result.put("measuredSeconds", options.getDuration().toSeconds());
+		result.put("routes", List.of(orders.summary(options.getDuration()), catalogue.summary(options.getDuration())));
+		return result;
+	}
+
+	private Thread generator(RouteStats stats, double ratePerSecond, LongFunction<HttpRequest> requests, long start) {
+		Thread generator = new Thread(new OpenModelLoad(client, stats, ratePerSecond, requests, start,
+				options.getWarmup(), options.getDuration()), "load " + stats.getRoute());
+		if (ratePerSecond > 0) {
+			generator.start();
+		}
+		return generator;
+	}
+
+	private HttpRequest catalogueRead(long n) {
+		return request(n, options.getCatalogueUri()).GET().build();
+	}
+
+	private HttpRequest order(long n) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		StringBuilder body = new StringBuilder("{\"orderLineItemsDtoList\":[");
+		for (int item = 0, items = 1 + random.nextInt(3); item < items; item++) {
+			body.append(item > 0 ? "," : "")
+					.append("{\"skuCode\":\"").append(SKU_PREFIX).append(1 + random.nextInt(options.getSkus()))
+					.append("\",\"price\":").append(10 + random.nextInt(90))
+					.append(",\"quantity\":").append(1 + random.nextInt(3)).append('}');
+		}
+		body.append("]}");
+		return request(n, "/order")
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build();
+	}
+
+	private HttpRequest.Builder request(long n, String path) {
+		return HttpRequest.newBuilder(gateway.uri(path))
+				.timeout(Duration.ofSeconds(30))
+				.header("X-Client-Id", "load-client-" + n % options.getClients());
+	}
+
+	@SuppressWarnings("unchecked")
+	void report(Map<String, Object> result) throws IOException {
+		System.out.printf("%n%-32s %10s %10s %9s %9s %9s %9s %9s  %s%n",
+				"route", "offered/s", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "non-2xx");
+		for (Map<String, Object> route : (List<Map<String, Object>>) result.get("routes")) {
+			Map<String, Object> latency = (Map<String, Object>) route.get("latencyMillis");
+			Map<String, Long> statuses = new LinkedHashMap<>((Map<String, Long>) route.get("statuses"));
+			statuses.keySet().removeIf(status -> status.startsWith("2"));
+			System.out.printf("%-32s %10s %10s %9s %9s %9s %9s %9s  %s%s%n",
+					route.get("route"), route.get("offeredPerSecond"), route.get("throughputPerSecond"),
+					latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p99.9"), latency.get("max"),
+					statuses, (long) route.get("failures") > 0 ? " failures=" + route.get("failures") : "");
+		}
+		Path resultFile = options.getResultFile();
+		if (resultFile.getParent() != null) {
+			Files.createDirectories(resultFile.getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile.toFile(), result);
+		log("Result written to " + resultFile);
+	}
+
+	private ServiceProcess startService(String name, int port, Map<String, String> properties) throws IOException {
+		Path jar = options.getServicesDir().resolve(name).resolve("target").resolve(name + "-" + options.getVersion() + ".jar");
+		log("Starting " + name + " on port " + port);
+		ServiceProcess service = ServiceProcess.start(name, jar, port, properties, options.getJvmOptions(), options.getLogsDir());
+		running.push(service);
+		return service;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static void log(String message) {
+		System.out.println("[load-test] " + message);
+	}
+
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (Exception ex) {
+			// shutting down anyway
+		}
+	}
+
+	// stops the gateway first and the database last
+	@Override
+	public synchronized void close() throws Exception {
+		while (!running.isEmpty()) {
+			running.pop().close();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.micro.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command line options of the load test, given as --name=value. Durations take an ms, s, m or h suffix.
+ * Any --service.some.property=value is passed on to every service as --some.property=value.
+ */
+public class LoadTestOptions {
+
+	private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m|h)");
+
+	private Path servicesDir = Path.of("..");
+	private String version = "0.0.1-SNAPSHOT";
+	private Path resultFile = Path.of("target/load-test-result.json");
+	private Path logsDir = Path.of("target/logs");
+
+	// no --db-url: an embedded Postgres is started for the run and thrown away afterwards
+	private String dbUrl;
+	private String dbUser = "postgres";
+	private String dbPassword = "";
+
+	private double ordersPerSecond = 20;
+	private double catalogueReadsPerSecond = 100;
+	private String catalogueUri = "/product/page?size=20";
+	private int clients = 50;
+	private int skus = 100;
+	private int products = 1000;
+	private Duration warmup = Duration.ofSeconds(30);
+	private Duration duration = Duration.ofMinutes(1);
+	private Duration startupTimeout = Duration.ofMinutes(5);
+	private String jvmOptions = "-Xmx384m";
+	private final Map<String, String> serviceProperties = new LinkedHashMap<>();
+
+	public static LoadTestOptions parse(String... args) {
+		LoadTestOptions options = new LoadTestOptions();
+		for (String arg : args) {
+			int equals = arg.indexOf('=');
+			if (!arg.startsWith("--") || equals < 0) {
+				throw new IllegalArgumentException("Expected --name=value but got " + arg);
+			}
+			options.set(arg.substring(2, equals), arg.substring(equals + 1));
+		}
+		return options;
+	}
+
+	private void set(String name, String value) {
+		if (name.startsWith("service.")) {
+			serviceProperties.put(name.substring("service.".length()), value);
+			return;
+		}
+		switch (name) {
+			case "services-dir" -> servicesDir = Path.of(value);
+			case "version" -> version = value;
+			case "result-file" -> resultFile = Path.of(value);
+			case "logs-dir" -> logsDir = Path.of(value);
+			case "db-url" -> dbUrl = value;
+			case "db-user" -> dbUser = value;
+			case "db-password" -> dbPassword = value;
+			case "orders-per-second" -> ordersPerSecond = Double.parseDouble(value);
+			case "catalogue-reads-per-second" -> catalogueReadsPerSecond = Double.parseDouble(value);
+			case "catalogue-uri" -> catalogueUri = value;
+			case "clients" -> clients = Integer.parseInt(value);
+			case "skus" -> skus = Integer.parseInt(value);
+			case "products" -> products = Integer.parseInt(value);
+			case "warmup" -> warmup = duration(value);
+			case "duration" -> duration = duration(value);
+			case "startup-timeout" -> startupTimeout = duration(value);
+			case "jvm-options" -> jvmOptions = value;
+			default -> throw new IllegalArgumentException("Unknown option --" + name);
+		}
+	}
+
+	static Duration duration(String value) {
+		Matcher matcher = DURATION.matcher(value);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Expected a duration like 500ms, 30s or 5m but got " + value);
+		}
+		long amount = Long.parseLong(matcher.group(1));
+		return switch (matcher.group(2)) {
+			case "ms" -> Duration.ofMillis(amount);
+			case "s" -> Duration.ofSeconds(amount);
+			case "m" -> Duration.ofMinutes(amount);
+			default -> Duration.ofHours(amount);
+		};
+	}
+
+	public Path getServicesDir() {
+		return servicesDir;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public Path getResultFile() {
+		return resultFile;
+	}
+
+	public Path getLogsDir() {
+		return logsDir;
+	}
+
+	public String getDbUrl() {
+		return dbUrl;
+	}
+
+	public String getDbUser() {
+		return dbUser;
+	}
+
+	public String getDbPassword() {
+		return dbPassword;
+	}
+
+	public double getOrdersPerSecond() {
+		return ordersPerSecond;
+	}
+
+	public double getCatalogueReadsPerSecond() {
+		return catalogueReadsPerSecond;
+	}
+
+	public String getCatalogueUri() {
+		return catalogueUri;
+	}
+
+	public int getClients() {
+		return clients;
+	}
+
+	public int getSkus() {
+		return skus;
+	}
+
+	public int getProducts() {
+		return products;
+	}
+
+	public Duration getWarmup() {
+		return warmup;
+	}
+
+	public Duration getDuration() {
+		return duration;
+	}
+
+	public Duration getStartupTimeout() {
+		return startupTimeout;
+	}
+
+	public String getJvmOptions() {
+		return jvmOptions;
+	}
+
+	public Map<String, String> getServiceProperties() {
+		return serviceProperties;
+	}
+}
@@ -0,0 +1,85 @@
+package com.micro.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model traffic for one route: requests are started at a fixed rate whether or not earlier ones have been
+ * answered, as independent users would send them. Latency is taken from the moment a request was due rather than
+ * from when it went out, so a generator that falls behind shows up in the numbers instead of hiding the queueing.
+ */
+public class OpenModelLoad implements Runnable {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient client;
+	private final RouteStats stats;
+	private final long periodNanos;
+	private final LongFunction<HttpRequest> requests;
+	private final long startNanos;
+	private final long measureFromNanos;
+	private final long endNanos;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	/**
+	 * @param requests builds the n-th request of the run
+	 */
+	public OpenModelLoad(HttpClient client, RouteStats stats, double ratePerSecond, LongFunction<HttpRequest> requests,
+			long startNanos, Duration warmup, Duration duration) {
+		this.client = client;
+		this.stats = stats;
+		this.periodNanos = (long) (1e9 / ratePerSecond);
+		this.requests = requests;
+		this.startNanos = startNanos;
+		this.measureFromNanos = startNanos + warmup.toNanos();
+		this.endNanos = measureFromNanos + duration.toNanos();
+	}
+
+	@Override
+	public void run() {
+		for (long n = 0;; n++) {
+			long due = startNanos + n * periodNanos;
+			if (due >= endNanos) {
+				break;
+			}
+			long wait = due - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			send(requests.apply(n), due, due >= measureFromNanos);
+		}
+		awaitInFlight();
+	}
+
+	private void send(HttpRequest request, long due, boolean measured) {
+		if (measured) {
+			stats.recordSent();
+		}
+		inFlight.incrementAndGet();
+		client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.orTimeout(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+				.whenComplete((response, failure) -> {
+					if (measured) {
+						if (failure != null) {
+							stats.recordFailure();
+						} else {
+							stats.recordResponse(response.statusCode(), System.nanoTime() - due);
+						}
+					}
+					inFlight.decrementAndGet();
+				});
+	}
+
+	// every request times out on its own, so this ends within REQUEST_TIMEOUT of the last one being sent
+	private void awaitInFlight() {
+		while (inFlight.get() > 0) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+		}
+	}
+}
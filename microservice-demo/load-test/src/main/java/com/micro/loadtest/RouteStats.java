@@ -0,0 +1,82 @@
+package com.micro.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of the measured requests of one route. Latencies of successful (2xx) responses go into a histogram
+ * in microseconds; other statuses and transport failures are only counted, since a fast 429 or 503 would
+ * otherwise make the route look quicker than it is.
+ */
+public class RouteStats {
+
+	private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+	private final String route;
+	private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+	private final LongAdder sent = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+	public RouteStats(String route) {
+		this.route = route;
+	}
+
+	public String getRoute() {
+		return route;
+	}
+
+	public void recordSent() {
+		sent.increment();
+	}
+
+	public void recordResponse(int status, long latencyNanos) {
+		statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+		if (status >= 200 && status < 300) {
+			latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+		}
+	}
+
+	public void recordFailure() {
+		failures.increment();
+	}
+
+	public Map<String, Object> summary(Duration measured) {
+		double seconds = measured.toNanos() / 1e9;
+		Map<String, Long> byStatus = new TreeMap<>();
+		statuses.forEach((status, count) -> byStatus.put(String.valueOf(status), count.sum()));
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("route", route);
+		summary.put("sent", sent.sum());
+		summary.put("succeeded", latencies.getTotalCount());
+		summary.put("offeredPerSecond", round(sent.sum() / seconds));
+		summary.put("throughputPerSecond", round(latencies.getTotalCount() / seconds));
+		summary.put("statuses", byStatus);
+		summary.put("failures", failures.sum());
+		Map<String, Double> percentiles = new LinkedHashMap<>();
+		for (double percentile : new double[] { 50, 90, 99, 99.9 }) {
+			percentiles.put("p" + (percentile == (int) percentile ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+					millis(latencies.getValueAtPercentile(percentile)));
+		}
+		percentiles.put("max", millis(latencies.getMaxValue()));
+		summary.put("latencyMillis", percentiles);
+		return summary;
+	}
+
+	private static double millis(long micros) {
+		return round(micros / 1000.0);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+}
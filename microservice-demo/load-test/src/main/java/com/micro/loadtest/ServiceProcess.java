@@ -0,0 +1,105 @@
+package com.micro.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * One service of the system running from its boot jar in a JVM of its own, with output going to a log file.
+ */
+public class ServiceProcess implements AutoCloseable {
+
+	private static final HttpClient PROBE = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+	private final String name;
+	private final int port;
+	private final Process process;
+	private final Path log;
+
+	private ServiceProcess(String name, int port, Process process, Path log) {
+		this.name = name;
+		this.port = port;
+		this.process = process;
+		this.log = log;
+	}
+
+	public static ServiceProcess start(String name, Path jar, int port, Map<String, String> properties, String jvmOptions,
+			Path logsDir) throws IOException {
+		if (!Files.isRegularFile(jar)) {
+			throw new IllegalStateException(jar + " not found, package the services first");
+		}
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+		command.add("-jar");
+		command.add(jar.toString());
+		command.add("--server.port=" + port);
+		properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+		Files.createDirectories(logsDir);
+		Path log = logsDir.resolve(name + ".log");
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		return new ServiceProcess(name, port, process, log);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	public void awaitHealthy(Duration timeout) throws InterruptedException {
+		await(uri("/actuator/health"), response -> response.statusCode() == 200, timeout);
+	}
+
+	/**
+	 * Polls the URI until the check accepts the response. Fails early when the process has exited.
+	 */
+	public void await(URI uri, Predicate<HttpResponse<String>> check, Duration timeout) throws InterruptedException {
+		await(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build(), check, timeout);
+	}
+
+	public void await(HttpRequest request, Predicate<HttpResponse<String>> check, Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (true) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException(name + " exited with code " + process.exitValue() + ", see " + log);
+			}
+			try {
+				if (check.test(PROBE.send(request, HttpResponse.BodyHandlers.ofString()))) {
+					return;
+				}
+			} catch (IOException ex) {
+				// not listening yet
+			}
+			if (System.nanoTime() > deadline) {
+				throw new IllegalStateException(name + " not ready after " + timeout + " waiting on " + request.uri() + ", see " + log);
+			}
+			Thread.sleep(500);
+		}
+	}
+
+	@Override
+	public void close() throws InterruptedException {
+		process.destroy();
+		if (!process.waitFor(30, TimeUnit.SECONDS)) {
+			process.destroyForcibly().waitFor();
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.dto.OrderOutcome;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache of the outcome recorded for each Idempotency-Key, so a client's retry is answered
+ * without a query. Only a shortcut: the unique constraint on orders.idempotency_key stays the source of truth
+ * once an entry expires or when the retry lands on another instance.
+ * Hit/miss/eviction counts are published as the "orders.idempotency" cache metrics.
+ */
+@Component
+public class IdempotencyCache {
+
+	private final Cache<String, OrderOutcome> cache;
+
+	public IdempotencyCache(@Value("${order.idempotency.cache-ttl:10m}") Duration ttl,
+			@Value("${order.idempotency.cache-maximum-size:100000}") long maximumSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.expireAfterWrite(ttl)
+				.maximumSize(maximumSize)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders.idempotency");
+	}
+
+	public OrderOutcome get(String idempotencyKey) {
+		return cache.getIfPresent(idempotencyKey);
+	}
+
+	public void put(String idempotencyKey, OrderOutcome outcome) {
+		cache.put(idempotencyKey, outcome);
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+}
@@ -0,0 +1,67 @@
+package com.example.client;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+
+import com.example.dto.InventoryResponse;
+import com.example.exception.InventoryUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Looks up stock for a set of SKUs with a single {@code GET /inventory?skuCode=...} call.
+ * The calling thread waits at most connect-timeout + response-timeout for the answer.
+ * Calls go through a bulkhead and then a circuit breaker, so a slow inventory-service ties up at most
+ * max-concurrent-calls threads, and once it keeps failing callers are refused without waiting at all.
+ */
+@Component
+public class InventoryClient {
+
+	private final WebClient webClient;
+	private final Duration deadline;
+	private final CircuitBreaker circuitBreaker;
+	private final Bulkhead bulkhead;
+
+	public InventoryClient(WebClient.Builder webClientBuilder,
+			@Value("${inventory.client.base-url:http://inventory-service}") String baseUrl,
+			@Value("${inventory.client.connect-timeout:1s}") Duration connectTimeout,
+			@Value("${inventory.client.response-timeout:2s}") Duration responseTimeout,
+			CircuitBreaker inventoryCircuitBreaker, Bulkhead inventoryBulkhead) {
+		this.webClient = webClientBuilder.clone().baseUrl(baseUrl).build();
+		this.deadline = connectTimeout.plus(responseTimeout);
+		this.circuitBreaker = inventoryCircuitBreaker;
+		this.bulkhead = inventoryBulkhead;
+	}
+
+	public InventoryResponse[] checkStock(List<String> skuCodes) {
+		try {
+			return Bulkhead.decorateSupplier(bulkhead,
+					CircuitBreaker.decorateSupplier(circuitBreaker, () -> fetch(skuCodes))).get();
+		} catch (CallNotPermittedException ex) {
+			throw new InventoryUnavailableException("Inventory circuit breaker is open", ex);
+		} catch (BulkheadFullException ex) {
+			throw new InventoryUnavailableException("Too many inventory lookups in flight", ex);
+		}
+	}
+
+	private InventoryResponse[] fetch(List<String> skuCodes) {
+		try {
+			InventoryResponse[] responses = webClient.get()
+					.uri(uriBuilder -> uriBuilder.path("/inventory").queryParam("skuCode", skuCodes).build())
+					.retrieve()
+					.bodyToMono(InventoryResponse[].class)
+					.block(deadline);
+			return responses != null ? responses : new InventoryResponse[0];
+		} catch (WebClientException | IllegalStateException ex) {
+			throw new InventoryUnavailableException("Inventory service did not answer within " + deadline, ex);
+		}
+	}
+}
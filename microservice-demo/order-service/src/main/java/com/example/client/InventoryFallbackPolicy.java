@@ -0,0 +1,11 @@
+package com.example.client;
+
+/**
+ * What placeOrder does when the inventory lookup fails, times out, or is refused by the breaker or bulkhead.
+ */
+public enum InventoryFallbackPolicy {
+	// fail the order with 503
+	REJECT,
+	// store the order as PENDING_RECONCILIATION and confirm stock later
+	ACCEPT
+}
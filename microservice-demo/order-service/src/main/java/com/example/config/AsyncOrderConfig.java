@@ -0,0 +1,30 @@
+package com.example.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class AsyncOrderConfig {
+
+	// fixed-size pool with a bounded queue; a full queue rejects and the entry waits in the outbox for the poller
+	@Bean(destroyMethod = "shutdown")
+	public ThreadPoolExecutor orderWorkerExecutor(MeterRegistry meterRegistry,
+			@Value("${order.async.workers:4}") int workers,
+			@Value("${order.async.queue-capacity:100}") int queueCapacity) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("order-worker-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		new ExecutorServiceMetrics(executor, "order.async.workers", Tags.empty()).bindTo(meterRegistry);
+		return executor;
+	}
+}
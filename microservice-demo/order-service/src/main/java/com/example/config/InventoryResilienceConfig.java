@@ -0,0 +1,87 @@
+package com.example.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.exception.InventoryUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Circuit breaker and semaphore bulkhead for the inventory lookup.
+ * Besides the resilience4j.circuitbreaker.* and resilience4j.bulkhead.* meters, every breaker state change
+ * is counted as inventory.circuitbreaker.transitions and every call refused by a full bulkhead as
+ * inventory.bulkhead.rejected.
+ */
+@Configuration
+public class InventoryResilienceConfig {
+
+	public static final String INVENTORY = "inventory";
+
+	@Bean
+	public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry,
+			@Value("${inventory.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+			@Value("${inventory.circuit-breaker.slow-call-duration-threshold:1s}") Duration slowCallDurationThreshold,
+			@Value("${inventory.circuit-breaker.slow-call-rate-threshold:50}") float slowCallRateThreshold,
+			@Value("${inventory.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+			@Value("${inventory.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+			@Value("${inventory.circuit-breaker.wait-duration-in-open-state:10s}") Duration waitDurationInOpenState,
+			@Value("${inventory.circuit-breaker.permitted-calls-in-half-open-state:3}") int permittedCallsInHalfOpenState) {
+		CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+				.failureRateThreshold(failureRateThreshold)
+				.slowCallDurationThreshold(slowCallDurationThreshold)
+				.slowCallRateThreshold(slowCallRateThreshold)
+				.slidingWindowSize(slidingWindowSize)
+				.minimumNumberOfCalls(minimumNumberOfCalls)
+				.waitDurationInOpenState(waitDurationInOpenState)
+				.permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+				.recordExceptions(InventoryUnavailableException.class)
+				.build();
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+		return registry;
+	}
+
+	@Bean
+	public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry,
+			@Value("${inventory.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+			@Value("${inventory.bulkhead.max-wait-duration:0ms}") Duration maxWaitDuration) {
+		BulkheadConfig config = BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(maxWaitDuration)
+				.build();
+		BulkheadRegistry registry = BulkheadRegistry.of(config);
+		TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+		return registry;
+	}
+
+	@Bean
+	public CircuitBreaker inventoryCircuitBreaker(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+		CircuitBreaker circuitBreaker = registry.circuitBreaker(INVENTORY);
+		circuitBreaker.getEventPublisher().onStateTransition(event -> meterRegistry
+				.counter("inventory.circuitbreaker.transitions",
+						"from", event.getStateTransition().getFromState().name(),
+						"to", event.getStateTransition().getToState().name())
+				.increment());
+		return circuitBreaker;
+	}
+
+	@Bean
+	public Bulkhead inventoryBulkhead(BulkheadRegistry registry, MeterRegistry meterRegistry) {
+		Bulkhead bulkhead = registry.bulkhead(INVENTORY);
+		bulkhead.getEventPublisher().onCallRejected(event -> meterRegistry
+				.counter("inventory.bulkhead.rejected").increment());
+		return bulkhead;
+	}
+}
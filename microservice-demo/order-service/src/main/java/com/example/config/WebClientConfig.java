@@ -1,17 +1,35 @@
 package com.example.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+
 @Configuration
 public class WebClientConfig {
-	
+
 	@Bean
 	@LoadBalanced
-	public WebClient.Builder webClientBuilder() {
-		return WebClient.builder();
+	public WebClient.Builder webClientBuilder(@Value("${inventory.client.connect-timeout:1s}") Duration connectTimeout,
+			@Value("${inventory.client.response-timeout:2s}") Duration responseTimeout,
+			ObjectProvider<WebClientCustomizer> customizers) {
+		HttpClient httpClient = HttpClient.create()
+				.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+				.responseTimeout(responseTimeout);
+		WebClient.Builder builder = WebClient.builder();
+		// a builder of our own misses Boot's customizers, among them the one recording http.client.requests;
+		// they run first because one of them installs a default connector without our timeouts
+		customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+		return builder.clientConnector(new ReactorClientHttpConnector(httpClient));
 	}
-	
+
 }
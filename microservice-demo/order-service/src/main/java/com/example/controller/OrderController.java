@@ -1,15 +1,36 @@
 package com.example.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import com.example.dto.AsyncOrderResponse;
+import com.example.dto.BatchOrderSummary;
 import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatusResponse;
+import com.example.service.AsyncOrderService;
+import com.example.service.BatchOrderService;
 import com.example.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/order")
@@ -17,13 +38,55 @@ public class OrderController {
 
 	@Autowired
 	private OrderService orderService;
+	@Autowired
+	private AsyncOrderService asyncOrderService;
+	@Autowired
+	private BatchOrderService batchOrderService;
+	@Autowired
+	private ObjectMapper objectMapper;
 	
+	// a retry with the same Idempotency-Key gets the first attempt's result instead of a second order
 	@PostMapping
 	@ResponseStatus(value = HttpStatus.OK)
-	public String placeOrder(@RequestBody OrderRequest orderRequest) {
-		return orderService.placeOrder(orderRequest);
+	public String placeOrder(@RequestBody OrderRequest orderRequest,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+		return orderService.placeOrder(orderRequest, idempotencyKey);
 	}
 	
+	// validates and queues the order, then answers 202 right away; poll the status URL for the outcome
+	@PostMapping("/async")
+	public ResponseEntity<AsyncOrderResponse> placeOrderAsync(@RequestBody OrderRequest orderRequest) {
+		AsyncOrderResponse response = asyncOrderService.submit(orderRequest);
+		return ResponseEntity.accepted().location(URI.create(response.getStatusUrl())).body(response);
+	}
+
+	// a JSON array or one order per NDJSON line; answers one NDJSON result per order in input order, then a summary line
+	@PostMapping(value = "/batch", consumes = { "application/json", "application/x-ndjson" }, produces = "application/x-ndjson")
+	public void placeOrders(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body,
+			HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(BatchOrderService.APPLICATION_NDJSON.toString());
+		OutputStream out = response.getOutputStream();
+		ObjectWriter lineWriter = objectMapper.writer();
+		BatchOrderSummary summary = batchOrderService.placeOrders(body, contentType, result -> {
+			try {
+				out.write(lineWriter.writeValueAsBytes(result));
+				out.write('\n');
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+		out.write(lineWriter.writeValueAsBytes(summary));
+		out.write('\n');
+		out.flush();
+	}
+
+	// the status changes while the client polls, so no cache on the way may keep a copy of it
+	@GetMapping("/async/{orderNumber}")
+	public ResponseEntity<OrderStatusResponse> orderStatus(@PathVariable String orderNumber) {
+		return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(asyncOrderService.getStatus(orderNumber));
+	}
+
 	@GetMapping
 	@ResponseStatus(value = HttpStatus.OK)
 	public String order() {
@@ -0,0 +1,27 @@
+package com.example.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.dto.StockChangeEvent;
+import com.example.service.StockProjectionService;
+
+@RestController
+public class StockEventController {
+
+	@Autowired
+	private StockProjectionService stockProjectionService;
+
+	// pushed by inventory-service's outbox publisher, not routed through the gateway
+	@PostMapping("/stock-events")
+	@ResponseStatus(value = HttpStatus.NO_CONTENT)
+	public void receive(@RequestBody List<StockChangeEvent> events) {
+		stockProjectionService.apply(events);
+	}
+}
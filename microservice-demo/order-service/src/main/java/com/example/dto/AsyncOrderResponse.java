@@ -0,0 +1,42 @@
+package com.example.dto;
+
+import com.example.model.OutboxStatus;
+
+public class AsyncOrderResponse {
+	private String orderNumber;
+	private OutboxStatus status;
+	private String statusUrl;
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+	public void setOrderNumber(String orderNumber) {
+		this.orderNumber = orderNumber;
+	}
+	public OutboxStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OutboxStatus status) {
+		this.status = status;
+	}
+	public String getStatusUrl() {
+		return statusUrl;
+	}
+	public void setStatusUrl(String statusUrl) {
+		this.statusUrl = statusUrl;
+	}
+	@Override
+	public String toString() {
+		return "AsyncOrderResponse [orderNumber=" + orderNumber + ", status=" + status + ", statusUrl=" + statusUrl
+				+ "]";
+	}
+	public AsyncOrderResponse(String orderNumber, OutboxStatus status, String statusUrl) {
+		super();
+		this.orderNumber = orderNumber;
+		this.status = status;
+		this.statusUrl = statusUrl;
+	}
+	public AsyncOrderResponse() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
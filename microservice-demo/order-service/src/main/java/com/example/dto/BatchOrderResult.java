@@ -0,0 +1,55 @@
+package com.example.dto;
+
+import com.example.model.OrderStatus;
+
+/**
+ * Outcome of one order of a POST /order/batch, in input order. Orders that were not written
+ * (invalid, out of stock, inventory unavailable) are REJECTED without an orderNumber; message says why.
+ */
+public class BatchOrderResult {
+	// 1-based position of the order in the batch
+	private long index;
+	private String orderNumber;
+	private OrderStatus status;
+	private String message;
+	public long getIndex() {
+		return index;
+	}
+	public void setIndex(long index) {
+		this.index = index;
+	}
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+	public void setOrderNumber(String orderNumber) {
+		this.orderNumber = orderNumber;
+	}
+	public OrderStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
+	public String getMessage() {
+		return message;
+	}
+	public void setMessage(String message) {
+		this.message = message;
+	}
+	@Override
+	public String toString() {
+		return "BatchOrderResult [index=" + index + ", orderNumber=" + orderNumber + ", status=" + status
+				+ ", message=" + message + "]";
+	}
+	public BatchOrderResult(long index, String orderNumber, OrderStatus status, String message) {
+		super();
+		this.index = index;
+		this.orderNumber = orderNumber;
+		this.status = status;
+		this.message = message;
+	}
+	public BatchOrderResult() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,69 @@
+package com.example.dto;
+
+/**
+ * Last line of a POST /order/batch response.
+ */
+public class BatchOrderSummary {
+	private long orders;
+	private long placed;
+	// PENDING_RECONCILIATION, only with inventory.fallback=accept
+	private long accepted;
+	private long rejected;
+	private long inventoryLookups;
+	private long elapsedMillis;
+	public long getOrders() {
+		return orders;
+	}
+	public void setOrders(long orders) {
+		this.orders = orders;
+	}
+	public long getPlaced() {
+		return placed;
+	}
+	public void setPlaced(long placed) {
+		this.placed = placed;
+	}
+	public long getAccepted() {
+		return accepted;
+	}
+	public void setAccepted(long accepted) {
+		this.accepted = accepted;
+	}
+	public long getRejected() {
+		return rejected;
+	}
+	public void setRejected(long rejected) {
+		this.rejected = rejected;
+	}
+	public long getInventoryLookups() {
+		return inventoryLookups;
+	}
+	public void setInventoryLookups(long inventoryLookups) {
+		this.inventoryLookups = inventoryLookups;
+	}
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+	@Override
+	public String toString() {
+		return "BatchOrderSummary [orders=" + orders + ", placed=" + placed + ", accepted=" + accepted + ", rejected="
+				+ rejected + ", inventoryLookups=" + inventoryLookups + ", elapsedMillis=" + elapsedMillis + "]";
+	}
+	public BatchOrderSummary(long orders, long placed, long accepted, long rejected, long inventoryLookups,
+			long elapsedMillis) {
+		super();
+		this.orders = orders;
+		this.placed = placed;
+		this.accepted = accepted;
+		this.rejected = rejected;
+		this.inventoryLookups = inventoryLookups;
+		this.elapsedMillis = elapsedMillis;
+	}
+	public BatchOrderSummary() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,10 @@
+package com.example.dto;
+
+import com.example.model.OrderStatus;
+
+/**
+ * What became of the order placed under an Idempotency-Key, and the hash of the request body it was placed with,
+ * so a retry can be answered and a reused key with a different body told apart.
+ */
+public record OrderOutcome(OrderStatus status, String requestHash) {
+}
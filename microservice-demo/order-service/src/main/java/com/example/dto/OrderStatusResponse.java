@@ -0,0 +1,62 @@
+package com.example.dto;
+
+import com.example.model.OrderStatus;
+import com.example.model.OutboxStatus;
+
+public class OrderStatusResponse {
+	private String orderNumber;
+	// where the request is in the async pipeline
+	private OutboxStatus status;
+	// the order itself, once it has been written
+	private OrderStatus orderStatus;
+	private String message;
+	private int attempts;
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+	public void setOrderNumber(String orderNumber) {
+		this.orderNumber = orderNumber;
+	}
+	public OutboxStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OutboxStatus status) {
+		this.status = status;
+	}
+	public OrderStatus getOrderStatus() {
+		return orderStatus;
+	}
+	public void setOrderStatus(OrderStatus orderStatus) {
+		this.orderStatus = orderStatus;
+	}
+	public String getMessage() {
+		return message;
+	}
+	public void setMessage(String message) {
+		this.message = message;
+	}
+	public int getAttempts() {
+		return attempts;
+	}
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+	@Override
+	public String toString() {
+		return "OrderStatusResponse [orderNumber=" + orderNumber + ", status=" + status + ", orderStatus="
+				+ orderStatus + ", message=" + message + ", attempts=" + attempts + "]";
+	}
+	public OrderStatusResponse(String orderNumber, OutboxStatus status, OrderStatus orderStatus, String message,
+			int attempts) {
+		super();
+		this.orderNumber = orderNumber;
+		this.status = status;
+		this.orderStatus = orderStatus;
+		this.message = message;
+		this.attempts = attempts;
+	}
+	public OrderStatusResponse() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
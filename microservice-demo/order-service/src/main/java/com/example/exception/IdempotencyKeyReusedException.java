@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an Idempotency-Key comes back with a different order than the one first placed under it.
+ * Results in an HTTP 422 (UNPROCESSABLE_ENTITY).
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public IdempotencyKeyReusedException(String message) {
+		super(message);
+	}
+}
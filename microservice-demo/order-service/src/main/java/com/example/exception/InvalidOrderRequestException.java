@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an order request is empty or has a line without skuCode or a positive quantity.
+ * Results in an HTTP 400 (BAD_REQUEST).
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidOrderRequestException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidOrderRequestException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when inventory-service cannot answer a stock check in time.
+ * Results in an HTTP 503 (SERVICE_UNAVAILABLE) so clients know they may retry.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class InventoryUnavailableException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InventoryUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the async order backlog is full and no more orders can be queued.
+ * Results in an HTTP 503 (SERVICE_UNAVAILABLE) so clients know they may retry later.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class OrderBacklogFullException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public OrderBacklogFullException(String message) {
+		super(message);
+	}
+}
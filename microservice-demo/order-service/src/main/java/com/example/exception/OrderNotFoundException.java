@@ -0,0 +1,18 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when no async order exists for the given orderNumber.
+ * Results in an HTTP 404 (NOT_FOUND).
+ */
+@ResponseStatus(value = HttpStatus.NOT_FOUND)
+public class OrderNotFoundException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public OrderNotFoundException(String message) {
+		super(message);
+	}
+}
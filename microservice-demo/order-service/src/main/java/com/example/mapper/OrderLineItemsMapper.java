@@ -0,0 +1,32 @@
+package com.example.mapper;
+
+import java.util.List;
+
+import com.example.dto.OrderLineItemsDto;
+import com.example.model.OrderLineItems;
+import com.example.model.Orders;
+
+// builds the line item entities of a new order; shared by single, batch and benchmarked placement
+public final class OrderLineItemsMapper {
+
+	private OrderLineItemsMapper() {
+	}
+
+	// maps the requested line items and attaches them to the order, owning side included
+	public static List<OrderLineItems> attachLineItems(Orders order, List<OrderLineItemsDto> orderLineItemsDtos) {
+		List<OrderLineItems> orderLineItems = orderLineItemsDtos.stream()
+				.map(OrderLineItemsMapper::toEntity)
+				.toList();
+		orderLineItems.forEach(orderLineItem -> orderLineItem.setOrder(order));
+		order.setOrderLineItemsList(orderLineItems);
+		return orderLineItems;
+	}
+
+	public static OrderLineItems toEntity(OrderLineItemsDto orderLineItemsDto) {
+		OrderLineItems orderLineItems = new OrderLineItems();
+		orderLineItems.setPrice(orderLineItemsDto.getPrice());
+		orderLineItems.setQuantity(orderLineItemsDto.getQuantity());
+		orderLineItems.setSkuCode(orderLineItemsDto.getSkuCode());
+		return orderLineItems;
+	}
+}
@@ -3,19 +3,32 @@ package com.example.model;
 import java.math.BigDecimal;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_order_line_items_order_id", columnList = "order_id"))
 public class OrderLineItems {
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_line_items_seq")
+    @SequenceGenerator(name = "order_line_items_seq", sequenceName = "order_line_items_seq", allocationSize = 50)
     private Long id;
     private String skuCode;
     private BigDecimal price;
     private Integer quantity;
+    // owning side: the foreign key is written with the line item insert, no join table
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", foreignKey = @ForeignKey(name = "fk_order_line_items_order"))
+    private Orders order;
 	public Long getId() {
 		return id;
 	}
@@ -40,6 +53,12 @@ public class OrderLineItems {
 	public void setQuantity(Integer quantity) {
 		this.quantity = quantity;
 	}
+	public Orders getOrder() {
+		return order;
+	}
+	public void setOrder(Orders order) {
+		this.order = order;
+	}
 	@Override
 	public String toString() {
 		return "OrderLineItems [id=" + id + ", skuCode=" + skuCode + ", price=" + price + ", quantity=" + quantity
@@ -0,0 +1,113 @@
+package com.example.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * An order accepted by POST /order/async that still has to be, or has been, placed.
+ * The row is the queue: workers and the poller claim it by moving it from PENDING to PROCESSING.
+ */
+@Entity
+@Table(indexes = { @Index(name = "idx_order_outbox_order_number", columnList = "orderNumber", unique = true),
+		@Index(name = "idx_order_outbox_status_next_attempt", columnList = "status, nextAttemptAt") })
+public class OrderOutbox {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+	@SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+	private Long id;
+	private String orderNumber;
+	// the OrderRequest as JSON
+	@Column(columnDefinition = "text")
+	private String payload;
+	@Enumerated(EnumType.STRING)
+	private OutboxStatus status;
+	private int attempts;
+	private String result;
+	private Instant createdAt;
+	private Instant nextAttemptAt;
+	private Instant claimedAt;
+
+	public OrderOutbox() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+	public OrderOutbox(String orderNumber, String payload, Instant createdAt) {
+		super();
+		this.orderNumber = orderNumber;
+		this.payload = payload;
+		this.status = OutboxStatus.PENDING;
+		this.createdAt = createdAt;
+		this.nextAttemptAt = createdAt;
+	}
+	public Long getId() {
+		return id;
+	}
+	public void setId(Long id) {
+		this.id = id;
+	}
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+	public void setOrderNumber(String orderNumber) {
+		this.orderNumber = orderNumber;
+	}
+	public String getPayload() {
+		return payload;
+	}
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+	public OutboxStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OutboxStatus status) {
+		this.status = status;
+	}
+	public int getAttempts() {
+		return attempts;
+	}
+	public void setAttempts(int attempts) {
+		this.attempts = attempts;
+	}
+	public String getResult() {
+		return result;
+	}
+	public void setResult(String result) {
+		this.result = result;
+	}
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+	public Instant getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+	public void setNextAttemptAt(Instant nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+	public Instant getClaimedAt() {
+		return claimedAt;
+	}
+	public void setClaimedAt(Instant claimedAt) {
+		this.claimedAt = claimedAt;
+	}
+	@Override
+	public String toString() {
+		return "OrderOutbox [id=" + id + ", orderNumber=" + orderNumber + ", status=" + status + ", attempts="
+				+ attempts + ", result=" + result + ", createdAt=" + createdAt + ", nextAttemptAt=" + nextAttemptAt
+				+ ", claimedAt=" + claimedAt + "]";
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.model;
+
+public enum OrderStatus {
+	PLACED,
+	// accepted while inventory-service was unavailable, stock still has to be confirmed
+	PENDING_RECONCILIATION,
+	REJECTED
+}
@@ -4,19 +4,37 @@ import java.util.List;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@Table(indexes = { @Index(name = "idx_orders_status", columnList = "status"),
+		@Index(name = "idx_orders_order_number", columnList = "orderNumber") },
+		// client-chosen Idempotency-Key; null for orders placed without one
+		uniqueConstraints = @UniqueConstraint(name = "uk_orders_idempotency_key", columnNames = "idempotencyKey"))
 public class Orders {
 
+	// pooled sequence instead of IDENTITY, so Hibernate knows ids before insert and can batch;
+	// V1__order_schema.sql moves it past the IDENTITY ids of orders written before
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     private String orderNumber;
-    @OneToMany(cascade = CascadeType.ALL)
+    private String idempotencyKey;
+    // SHA-256 of the request body placed under idempotencyKey
+    private String requestHash;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderLineItems> orderLineItemsList;
     
     
@@ -33,6 +51,24 @@ public class Orders {
 	public void setOrderNumber(String orderNumber) {
 		this.orderNumber = orderNumber;
 	}
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+	public void setIdempotencyKey(String idempotencyKey) {
+		this.idempotencyKey = idempotencyKey;
+	}
+	public String getRequestHash() {
+		return requestHash;
+	}
+	public void setRequestHash(String requestHash) {
+		this.requestHash = requestHash;
+	}
+	public OrderStatus getStatus() {
+		return status;
+	}
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
 	public List<OrderLineItems> getOrderLineItemsList() {
 		return orderLineItemsList;
 	}
@@ -41,7 +77,7 @@ public class Orders {
 	}
 	@Override
 	public String toString() {
-		return "Order [id=" + id + ", orderNumber=" + orderNumber + ", orderLineItemsList=" + orderLineItemsList + "]";
+		return "Order [id=" + id + ", orderNumber=" + orderNumber + ", status=" + status + ", orderLineItemsList=" + orderLineItemsList + "]";
 	}
 	public Orders(Long id, String orderNumber, List<OrderLineItems> orderLineItemsList) {
 		super();
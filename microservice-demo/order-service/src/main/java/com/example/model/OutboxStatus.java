@@ -0,0 +1,8 @@
+package com.example.model;
+
+public enum OutboxStatus {
+	PENDING,
+	PROCESSING,
+	COMPLETED,
+	FAILED
+}
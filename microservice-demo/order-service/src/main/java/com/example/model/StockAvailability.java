@@ -0,0 +1,61 @@
+package com.example.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Local copy of inventory-service's quantity per SKU, kept up to date by the stock events it pushes.
+ * version is the id of the event the row was last set from; observedAt is when inventory-service recorded it.
+ */
+@Entity
+public class StockAvailability {
+
+	@Id
+	private String skuCode;
+	private Integer quantity;
+	private Long version;
+	private Instant observedAt;
+
+	public StockAvailability() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+	public StockAvailability(String skuCode, Integer quantity, Long version, Instant observedAt) {
+		super();
+		this.skuCode = skuCode;
+		this.quantity = quantity;
+		this.version = version;
+		this.observedAt = observedAt;
+	}
+	public String getSkuCode() {
+		return skuCode;
+	}
+	public void setSkuCode(String skuCode) {
+		this.skuCode = skuCode;
+	}
+	public Integer getQuantity() {
+		return quantity;
+	}
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+	public Long getVersion() {
+		return version;
+	}
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+	public Instant getObservedAt() {
+		return observedAt;
+	}
+	public void setObservedAt(Instant observedAt) {
+		this.observedAt = observedAt;
+	}
+	@Override
+	public String toString() {
+		return "StockAvailability [skuCode=" + skuCode + ", quantity=" + quantity + ", version=" + version
+				+ ", observedAt=" + observedAt + "]";
+	}
+}
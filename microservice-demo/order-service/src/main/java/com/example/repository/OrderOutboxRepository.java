@@ -0,0 +1,59 @@
+package com.example.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.model.OrderOutbox;
+import com.example.model.OutboxStatus;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+	Optional<OrderOutbox> findByOrderNumber(String orderNumber);
+
+	long countByStatus(OutboxStatus status);
+
+	@Query("select o.id from OrderOutbox o where o.status = com.example.model.OutboxStatus.PENDING and o.nextAttemptAt <= :now order by o.id")
+	List<Long> findDueIds(@Param("now") Instant now, Pageable pageable);
+
+	// compare-and-set: only one worker, in this or any other instance, gets to process the entry
+	@Transactional
+	@Modifying
+	@Query("update OrderOutbox o set o.status = com.example.model.OutboxStatus.PROCESSING, o.claimedAt = :now "
+			+ "where o.id = :id and o.status = com.example.model.OutboxStatus.PENDING and o.nextAttemptAt <= :now")
+	int claim(@Param("id") Long id, @Param("now") Instant now);
+
+	@Transactional
+	@Modifying
+	@Query("update OrderOutbox o set o.status = :status, o.result = :result, o.attempts = o.attempts + 1 "
+			+ "where o.id = :id and o.status = com.example.model.OutboxStatus.PROCESSING")
+	int finish(@Param("id") Long id, @Param("status") OutboxStatus status, @Param("result") String result);
+
+	@Transactional
+	@Modifying
+	@Query("update OrderOutbox o set o.status = com.example.model.OutboxStatus.PENDING, o.result = :result, "
+			+ "o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt "
+			+ "where o.id = :id and o.status = com.example.model.OutboxStatus.PROCESSING")
+	int retryAt(@Param("id") Long id, @Param("nextAttemptAt") Instant nextAttemptAt, @Param("result") String result);
+
+	// entries whose worker died (e.g. the instance restarted) go back to the queue
+	@Transactional
+	@Modifying
+	@Query("update OrderOutbox o set o.status = com.example.model.OutboxStatus.PENDING "
+			+ "where o.status = com.example.model.OutboxStatus.PROCESSING and o.claimedAt < :claimedBefore")
+	int releaseStale(@Param("claimedBefore") Instant claimedBefore);
+
+	// a finished entry is claimed for the last time just before it finishes, so claimedAt stands for its finish time
+	@Transactional
+	@Modifying
+	@Query("delete from OrderOutbox o where o.status in (com.example.model.OutboxStatus.COMPLETED, "
+			+ "com.example.model.OutboxStatus.FAILED) and o.claimedAt < :finishedBefore")
+	int deleteFinishedBefore(@Param("finishedBefore") Instant finishedBefore);
+}
@@ -1,9 +1,38 @@
 package com.example.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.dto.OrderOutcome;
+import com.example.model.OrderStatus;
 import com.example.model.Orders;
 
 public interface OrderRepository extends JpaRepository<Orders, Long>{
 
+	@Query("select o.id from Orders o where o.status = :status order by o.id")
+	List<Long> findIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+	@Query("select o.status from Orders o where o.orderNumber = :orderNumber")
+	Optional<OrderStatus> findStatusByOrderNumber(@Param("orderNumber") String orderNumber);
+
+	@Query("select new com.example.dto.OrderOutcome(o.status, o.requestHash) from Orders o where o.idempotencyKey = :idempotencyKey")
+	Optional<OrderOutcome> findOutcomeByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+	@EntityGraph(attributePaths = "orderLineItemsList")
+	List<Orders> findByIdIn(Collection<Long> ids);
+
+	// compare-and-set, so an order is only ever moved out of a state once
+	@Transactional
+	@Modifying
+	@Query("update Orders o set o.status = :to where o.id = :id and o.status = :from")
+	int updateStatus(@Param("id") Long id, @Param("from") OrderStatus from, @Param("to") OrderStatus to);
 }
@@ -0,0 +1,30 @@
+package com.example.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.model.StockAvailability;
+
+public interface StockAvailabilityRepository extends JpaRepository<StockAvailability, String> {
+
+	// upsert that only moves forward: a duplicate or out-of-order event leaves the row alone
+	@Modifying
+	@Query(value = "insert into stock_availability (sku_code, quantity, version, observed_at) "
+			+ "values (:skuCode, :quantity, :version, :observedAt) "
+			+ "on conflict (sku_code) do update set quantity = excluded.quantity, version = excluded.version, "
+			+ "observed_at = excluded.observed_at where stock_availability.version < excluded.version",
+			nativeQuery = true)
+	int apply(@Param("skuCode") String skuCode, @Param("quantity") int quantity, @Param("version") long version,
+			@Param("observedAt") Instant observedAt);
+
+	@Query("select a.skuCode from StockAvailability a where a.skuCode in :skuCodes and a.quantity <= 0 "
+			+ "and a.observedAt >= :observedAfter")
+	List<String> findOutOfStockObservedAfter(@Param("skuCodes") Collection<String> skuCodes,
+			@Param("observedAfter") Instant observedAfter);
+}
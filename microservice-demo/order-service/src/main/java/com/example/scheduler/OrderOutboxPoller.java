@@ -0,0 +1,31 @@
+package com.example.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.service.AsyncOrderService;
+
+/**
+ * Feeds outbox entries that could not be handed to the worker pool right away, are due for a retry,
+ * or were left behind by a restart, and purges finished entries past their retention. Instances that should only
+ * accept orders can switch it off.
+ */
+@Component
+@ConditionalOnProperty(name = "order.async.poller.enabled", matchIfMissing = true)
+public class OrderOutboxPoller {
+
+	@Autowired
+	private AsyncOrderService asyncOrderService;
+
+	@Scheduled(fixedDelayString = "${order.async.poll-interval:PT1S}")
+	public void dispatchDue() {
+		asyncOrderService.dispatchDue();
+	}
+
+	@Scheduled(fixedDelayString = "${order.async.purge-interval:PT10M}")
+	public void purgeFinished() {
+		asyncOrderService.purgeFinished();
+	}
+}
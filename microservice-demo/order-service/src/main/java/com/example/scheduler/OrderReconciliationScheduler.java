@@ -0,0 +1,26 @@
+package com.example.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.service.OrderService;
+
+/**
+ * Confirms stock for orders that were accepted under the "accept" inventory fallback.
+ */
+@Component
+public class OrderReconciliationScheduler {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Value("${order.reconciliation.batch-size:100}")
+	private int batchSize;
+
+	@Scheduled(fixedDelayString = "${order.reconciliation.interval:PT30S}")
+	public void reconcilePendingOrders() {
+		orderService.reconcilePendingOrders(batchSize);
+	}
+}
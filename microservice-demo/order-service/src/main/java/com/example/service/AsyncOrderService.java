@@ -0,0 +1,15 @@
+package com.example.service;
+
+import com.example.dto.AsyncOrderResponse;
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatusResponse;
+
+public interface AsyncOrderService {
+	AsyncOrderResponse submit(OrderRequest orderRequest);
+
+	OrderStatusResponse getStatus(String orderNumber);
+
+	void dispatchDue();
+
+	int purgeFinished();
+}
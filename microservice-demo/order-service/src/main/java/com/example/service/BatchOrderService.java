@@ -0,0 +1,16 @@
+package com.example.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+
+import com.example.dto.BatchOrderResult;
+import com.example.dto.BatchOrderSummary;
+
+public interface BatchOrderService {
+	MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	BatchOrderSummary placeOrders(InputStream body, MediaType contentType, Consumer<BatchOrderResult> results) throws IOException;
+}
@@ -1,7 +1,17 @@
 package com.example.service;
 
 import com.example.dto.OrderRequest;
+import com.example.model.OrderStatus;
 
 public interface OrderService {
 	String placeOrder(OrderRequest orderRequest);
+
+	String placeOrder(OrderRequest orderRequest, String idempotencyKey);
+
+	String placeOrder(String orderNumber, OrderRequest orderRequest);
+
+	int reconcilePendingOrders(int batchSize);
+
+	// the message placeOrder answers with for an order stored with this status
+	String resultFor(OrderStatus status);
 }
@@ -0,0 +1,12 @@
+package com.example.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.example.dto.StockChangeEvent;
+
+public interface StockProjectionService {
+	int apply(List<StockChangeEvent> events);
+
+	List<String> knownOutOfStock(Collection<String> skuCodes);
+}
@@ -0,0 +1,206 @@
+package com.example.serviceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.example.dto.AsyncOrderResponse;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatusResponse;
+import com.example.exception.InvalidOrderRequestException;
+import com.example.exception.InventoryUnavailableException;
+import com.example.exception.OrderBacklogFullException;
+import com.example.exception.OrderNotFoundException;
+import com.example.model.OrderOutbox;
+import com.example.model.OrderStatus;
+import com.example.model.OutboxStatus;
+import com.example.repository.OrderOutboxRepository;
+import com.example.repository.OrderRepository;
+import com.example.service.AsyncOrderService;
+import com.example.service.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Accepts orders into the outbox table and places them on the bounded order-worker pool.
+ * The request thread only validates and inserts one row; when the pool's queue is full the entry simply
+ * stays PENDING and the poller hands it to a worker once there is room, so a burst turns into backlog
+ * instead of latency. Entries survive restarts because the table, not the pool, is the queue.
+ */
+@Service
+public class AsyncOrderServiceImpl implements AsyncOrderService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncOrderServiceImpl.class);
+
+	@Autowired
+	private OrderOutboxRepository outboxRepository;
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private OrderService orderService;
+	@Autowired
+	private ThreadPoolExecutor orderWorkerExecutor;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${order.async.max-backlog:10000}")
+	private long maxBacklog;
+	@Value("${order.async.max-attempts:5}")
+	private int maxAttempts;
+	@Value("${order.async.retry-backoff:2s}")
+	private Duration retryBackoff;
+	@Value("${order.async.poll-batch-size:100}")
+	private int pollBatchSize;
+	@Value("${order.async.processing-timeout:5m}")
+	private Duration processingTimeout;
+	@Value("${order.async.retention:24h}")
+	private Duration retention;
+
+	// ids handed to the pool but not yet claimed, so the poller does not queue them twice
+	private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+	public AsyncOrderResponse submit(OrderRequest orderRequest) {
+		validate(orderRequest);
+		// the backlog is only counted once the pool is saturated, so the normal path stays a single insert
+		if (orderWorkerExecutor.getQueue().remainingCapacity() == 0
+				&& outboxRepository.countByStatus(OutboxStatus.PENDING) >= maxBacklog) {
+			throw new OrderBacklogFullException("Order backlog is full, please try again later");
+		}
+		String orderNumber = UUID.randomUUID().toString();
+		OrderOutbox entry = outboxRepository.save(new OrderOutbox(orderNumber, toJson(orderRequest), Instant.now()));
+		dispatch(entry.getId());
+		return new AsyncOrderResponse(orderNumber, OutboxStatus.PENDING, "/order/async/" + orderNumber);
+	}
+
+	public OrderStatusResponse getStatus(String orderNumber) {
+		OrderOutbox entry = outboxRepository.findByOrderNumber(orderNumber)
+				.orElseThrow(() -> new OrderNotFoundException("No order with orderNumber " + orderNumber));
+		return new OrderStatusResponse(orderNumber, entry.getStatus(),
+				orderRepository.findStatusByOrderNumber(orderNumber).orElse(null), entry.getResult(),
+				entry.getAttempts());
+	}
+
+	/**
+	 * Deletes COMPLETED and FAILED entries finished longer than the retention ago; the order itself stays in orders,
+	 * only its status URL answers 404 from then on.
+	 */
+	public int purgeFinished() {
+		int purged = outboxRepository.deleteFinishedBefore(Instant.now().minus(retention));
+		if (purged > 0) {
+			logger.info("Purged {} order outbox entries finished more than {} ago", purged, retention);
+		}
+		return purged;
+	}
+
+	/**
+	 * Puts stale PROCESSING entries back in the queue and hands due entries to the pool,
+	 * never more than its queue has room for.
+	 */
+	public void dispatchDue() {
+		int released = outboxRepository.releaseStale(Instant.now().minus(processingTimeout));
+		if (released > 0) {
+			logger.info("Requeued {} order outbox entries whose worker did not finish", released);
+		}
+		int room = Math.min(pollBatchSize, orderWorkerExecutor.getQueue().remainingCapacity());
+		if (room == 0) {
+			return;
+		}
+		List<Long> due = outboxRepository.findDueIds(Instant.now(), PageRequest.of(0, room + queued.size()));
+		for (Long id : due) {
+			if (!queued.contains(id) && !dispatch(id)) {
+				return;
+			}
+		}
+	}
+
+	private boolean dispatch(Long id) {
+		if (!queued.add(id)) {
+			return true;
+		}
+		try {
+			orderWorkerExecutor.execute(() -> {
+				queued.remove(id);
+				process(id);
+			});
+			return true;
+		} catch (RejectedExecutionException ex) {
+			// stays PENDING in the outbox, the poller picks it up
+			queued.remove(id);
+			return false;
+		}
+	}
+
+	private void process(Long id) {
+		if (outboxRepository.claim(id, Instant.now()) == 0) {
+			return;
+		}
+		OrderOutbox entry = outboxRepository.findById(id).orElseThrow();
+		try {
+			// a worker that died after saving the order must not place it twice; the stored order has the outcome
+			Optional<OrderStatus> stored = orderRepository.findStatusByOrderNumber(entry.getOrderNumber());
+			if (stored.isPresent()) {
+				outboxRepository.finish(id, stored.get() == OrderStatus.REJECTED ? OutboxStatus.FAILED : OutboxStatus.COMPLETED,
+						orderService.resultFor(stored.get()));
+				return;
+			}
+			String result = orderService.placeOrder(entry.getOrderNumber(), fromJson(entry.getPayload()));
+			outboxRepository.finish(id, OutboxStatus.COMPLETED, result);
+		} catch (InventoryUnavailableException ex) {
+			if (entry.getAttempts() + 1 >= maxAttempts) {
+				outboxRepository.finish(id, OutboxStatus.FAILED, ex.getMessage());
+			} else {
+				Duration backoff = retryBackoff.multipliedBy(1L << Math.min(entry.getAttempts(), 10));
+				outboxRepository.retryAt(id, Instant.now().plus(backoff), ex.getMessage());
+			}
+		} catch (RuntimeException ex) {
+			logger.info("Order {} failed: {}", entry.getOrderNumber(), ex.getMessage());
+			outboxRepository.finish(id, OutboxStatus.FAILED, ex.getMessage());
+		}
+	}
+
+	// shared with POST /order/batch
+	static void validate(OrderRequest orderRequest) {
+		List<OrderLineItemsDto> lines = orderRequest == null ? null : orderRequest.getOrderLineItemsDtoList();
+		if (lines == null || lines.isEmpty()) {
+			throw new InvalidOrderRequestException("Order must contain at least one line item");
+		}
+		for (OrderLineItemsDto line : lines) {
+			if (line.getSkuCode() == null || line.getSkuCode().isBlank()) {
+				throw new InvalidOrderRequestException("Every line item needs a skuCode");
+			}
+			if (line.getQuantity() == null || line.getQuantity() <= 0) {
+				throw new InvalidOrderRequestException("Quantity for " + line.getSkuCode() + " must be positive");
+			}
+		}
+	}
+
+	private String toJson(OrderRequest orderRequest) {
+		try {
+			return objectMapper.writeValueAsString(orderRequest);
+		} catch (JsonProcessingException ex) {
+			throw new InvalidOrderRequestException("Order request cannot be serialized: " + ex.getOriginalMessage());
+		}
+	}
+
+	private OrderRequest fromJson(String payload) {
+		try {
+			return objectMapper.readValue(payload, OrderRequest.class);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Unreadable order outbox payload", ex);
+		}
+	}
+}
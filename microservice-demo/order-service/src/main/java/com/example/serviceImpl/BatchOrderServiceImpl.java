@@ -0,0 +1,267 @@
+package com.example.serviceImpl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import com.example.client.InventoryClient;
+import com.example.client.InventoryFallbackPolicy;
+import com.example.dto.BatchOrderResult;
+import com.example.dto.BatchOrderSummary;
+import com.example.dto.InventoryResponse;
+import com.example.dto.OrderRequest;
+import com.example.exception.InvalidOrderRequestException;
+import com.example.exception.InventoryUnavailableException;
+import com.example.mapper.OrderLineItemsMapper;
+import com.example.model.OrderLineItems;
+import com.example.model.OrderStatus;
+import com.example.model.Orders;
+import com.example.repository.OrderRepository;
+import com.example.service.BatchOrderService;
+import com.example.service.StockProjectionService;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Places the orders of a POST /order/batch chunk by chunk. The stock answer for each SKU is fetched once per batch:
+ * the SKUs of a chunk that are not known yet go to inventory-service in as few GET /inventory calls as the URL
+ * length allows, and the orders of the chunk are then written with a single saveAll, i.e. one transaction and
+ * JDBC batches of hibernate.jdbc.batch_size. Results are handed out in input order as each chunk finishes.
+ */
+@Service
+public class BatchOrderServiceImpl implements BatchOrderService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BatchOrderServiceImpl.class);
+	private static final String OUT_OF_STOCK = "Product is not in stock, please try again later";
+
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private InventoryClient inventoryClient;
+	@Autowired
+	private StockProjectionService stockProjectionService;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${inventory.fallback:reject}")
+	private InventoryFallbackPolicy fallbackPolicy;
+	@Value("${order.batch.chunk-size:1000}")
+	private int chunkSize;
+	// keeps the GET /inventory query string well below the 8 KB request header limit
+	@Value("${order.batch.max-skus-per-lookup:200}")
+	private int maxSkusPerLookup;
+
+	/**
+	 * A JSON array that cannot be parsed ends the batch, because the orders after it cannot be trusted;
+	 * an NDJSON line that cannot be parsed is rejected and the batch carries on with the next line.
+	 */
+	@Timed(value = "orders.batch", histogram = true)
+	@Override
+	public BatchOrderSummary placeOrders(InputStream body, MediaType contentType, Consumer<BatchOrderResult> results)
+			throws IOException {
+		long started = System.nanoTime();
+		Batch batch = new Batch(results);
+		if (APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+			BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+			String line;
+			while ((line = lines.readLine()) != null) {
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					batch.add(objectMapper.readValue(line, OrderRequest.class));
+				} catch (JacksonException ex) {
+					batch.reject("Unreadable JSON: " + ex.getOriginalMessage());
+				}
+			}
+		} else {
+			// reads the elements of the top-level array one at a time instead of binding the whole list
+			MappingIterator<OrderRequest> orders = objectMapper.readerFor(OrderRequest.class).readValues(body);
+			while (true) {
+				try {
+					if (!orders.hasNextValue()) {
+						break;
+					}
+					batch.add(orders.nextValue());
+				} catch (JacksonException ex) {
+					batch.reject("Unreadable JSON, batch stopped: " + ex.getOriginalMessage());
+					break;
+				}
+			}
+		}
+		batch.flush();
+		BatchOrderSummary summary = new BatchOrderSummary(batch.index, batch.placed, batch.accepted,
+				batch.index - batch.placed - batch.accepted, batch.inventoryLookups, (System.nanoTime() - started) / 1_000_000);
+		meterRegistry.counter("orders.batch.orders").increment(summary.getOrders());
+		logger.info("Batch finished: {}", summary);
+		return summary;
+	}
+
+	/**
+	 * The orders of the chunk being read, plus what is known about stock so far in this batch.
+	 */
+	private class Batch {
+
+		private final Consumer<BatchOrderResult> results;
+		private final List<BatchOrderResult> pending = new ArrayList<>();
+		private final List<Orders> orders = new ArrayList<>();
+		// true/false once inventory-service or the projection answered, absent while unknown
+		private final Map<String, Boolean> inStock = new HashMap<>();
+		private long index;
+		private long placed;
+		private long accepted;
+		private long inventoryLookups;
+
+		Batch(Consumer<BatchOrderResult> results) {
+			this.results = results;
+		}
+
+		void add(OrderRequest orderRequest) {
+			try {
+				AsyncOrderServiceImpl.validate(orderRequest);
+			} catch (InvalidOrderRequestException ex) {
+				reject(ex.getMessage());
+				return;
+			}
+			index++;
+			Orders order = new Orders();
+			order.setOrderNumber(UUID.randomUUID().toString());
+			OrderLineItemsMapper.attachLineItems(order, orderRequest.getOrderLineItemsDtoList());
+			pending.add(new BatchOrderResult(index, order.getOrderNumber(), null, null));
+			orders.add(order);
+			flushIfFull();
+		}
+
+		void reject(String message) {
+			index++;
+			pending.add(new BatchOrderResult(index, null, OrderStatus.REJECTED, message));
+			flushIfFull();
+		}
+
+		private void flushIfFull() {
+			if (pending.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		void flush() {
+			InventoryUnavailableException unavailable = lookUpUnknownSkus();
+			List<Orders> toSave = new ArrayList<>();
+			List<BatchOrderResult> saving = new ArrayList<>();
+			int next = 0;
+			for (BatchOrderResult result : pending) {
+				if (result.getStatus() != null) {
+					continue;
+				}
+				Orders order = orders.get(next++);
+				List<String> skuCodes = order.getOrderLineItemsList().stream().map(OrderLineItems::getSkuCode).distinct().toList();
+				if (skuCodes.stream().anyMatch(skuCode -> Boolean.FALSE.equals(inStock.get(skuCode)))) {
+					notWritten(result, OUT_OF_STOCK);
+					continue;
+				}
+				if (skuCodes.stream().allMatch(inStock::containsKey)) {
+					order.setStatus(OrderStatus.PLACED);
+				} else if (fallbackPolicy == InventoryFallbackPolicy.ACCEPT) {
+					order.setStatus(OrderStatus.PENDING_RECONCILIATION);
+				} else {
+					notWritten(result, unavailable.getMessage());
+					continue;
+				}
+				result.setStatus(order.getStatus());
+				toSave.add(order);
+				saving.add(result);
+			}
+			save(toSave, saving);
+			pending.forEach(results);
+			pending.clear();
+			orders.clear();
+		}
+
+		// the remote lookup only sees SKUs that neither an earlier chunk nor the projection has settled
+		private InventoryUnavailableException lookUpUnknownSkus() {
+			Set<String> unknown = new LinkedHashSet<>();
+			orders.forEach(order -> order.getOrderLineItemsList().forEach(lineItem -> {
+				if (!inStock.containsKey(lineItem.getSkuCode())) {
+					unknown.add(lineItem.getSkuCode());
+				}
+			}));
+			if (unknown.isEmpty()) {
+				return null;
+			}
+			stockProjectionService.knownOutOfStock(unknown).forEach(skuCode -> {
+				inStock.put(skuCode, false);
+				unknown.remove(skuCode);
+			});
+			List<String> skuCodes = new ArrayList<>(unknown);
+			for (int from = 0; from < skuCodes.size(); from += maxSkusPerLookup) {
+				List<String> slice = skuCodes.subList(from, Math.min(from + maxSkusPerLookup, skuCodes.size()));
+				InventoryResponse[] responses;
+				try {
+					inventoryLookups++;
+					responses = inventoryClient.checkStock(slice);
+				} catch (InventoryUnavailableException ex) {
+					meterRegistry.counter("orders.inventory.fallback", "policy", fallbackPolicy.name().toLowerCase()).increment();
+					return ex;
+				}
+				// unknown SKUs are missing from the response, i.e. not in stock
+				slice.forEach(skuCode -> inStock.put(skuCode, false));
+				for (InventoryResponse response : responses) {
+					if (response.isInStock()) {
+						inStock.put(response.getSkuCode(), true);
+					}
+				}
+			}
+			return null;
+		}
+
+		private void save(List<Orders> toSave, List<BatchOrderResult> saving) {
+			if (toSave.isEmpty()) {
+				return;
+			}
+			try {
+				orderRepository.saveAll(toSave);
+			} catch (DataAccessException ex) {
+				logger.warn("Batch chunk of {} orders could not be saved: {}", toSave.size(), ex.getMessage());
+				saving.forEach(result -> notWritten(result, "Order could not be saved, please try again later"));
+				return;
+			}
+			for (BatchOrderResult result : saving) {
+				if (result.getStatus() == OrderStatus.PLACED) {
+					placed++;
+				} else {
+					accepted++;
+				}
+			}
+		}
+
+		private void notWritten(BatchOrderResult result, String message) {
+			result.setOrderNumber(null);
+			result.setStatus(OrderStatus.REJECTED);
+			result.setMessage(message);
+		}
+	}
+}
@@ -1,61 +1,233 @@
 package com.example.serviceImpl;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import com.example.cache.IdempotencyCache;
+import com.example.client.InventoryClient;
+import com.example.client.InventoryFallbackPolicy;
 import com.example.dto.InventoryResponse;
-import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderOutcome;
 import com.example.dto.OrderRequest;
+import com.example.exception.IdempotencyKeyReusedException;
+import com.example.exception.InvalidOrderRequestException;
+import com.example.exception.InventoryUnavailableException;
+import com.example.mapper.OrderLineItemsMapper;
+import com.example.model.OrderStatus;
 import com.example.model.Orders;
-import com.example.model.OrderLineItems;
 import com.example.repository.OrderRepository;
 import com.example.service.OrderService;
+import com.example.service.StockProjectionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 
+// Not @Transactional: the inventory call must not hold a DB connection, and save() runs in its own transaction.
 @Service
-@Transactional
 public class OrderServiceImpl implements OrderService{
 	
+	private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
+	private static final String PLACED = "Order Placed Successfully !!";
+	private static final String ACCEPTED = "Order Accepted, stock will be confirmed shortly !!";
+	private static final String OUT_OF_STOCK = "Product is not in stock, please try again later";
+	// length of the orders.idempotency_key column
+	private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
 	@Autowired
 	private OrderRepository orderRepository;
 	@Autowired
-	private WebClient.Builder webClientBuilder;
+	private InventoryClient inventoryClient;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private IdempotencyCache idempotencyCache;
+	@Autowired
+	private StockProjectionService stockProjectionService;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${inventory.fallback:reject}")
+	private InventoryFallbackPolicy fallbackPolicy;
 	
+	@Timed(value = "orders.place", histogram = true)
 	public String placeOrder(OrderRequest orderRequest) {
-		Orders order = new Orders();
-		order.setOrderNumber(UUID.randomUUID().toString());
-		List<OrderLineItems> orderLineItems = orderRequest.getOrderLineItemsDtoList()
-	                .stream()
-	                .map(orderLineItemsDto -> mapToDto(orderLineItemsDto))
-	                .toList();
+		return place(UUID.randomUUID().toString(), null, null, orderRequest);
+	}
 
-	    order.setOrderLineItemsList(orderLineItems);
+	/**
+	 * Places the order at most once per Idempotency-Key. A retry gets the outcome of the order already on record,
+	 * from the cache or else from the order's current status, without another stock check or insert; an out-of-stock
+	 * rejection is kept on record for this as well. A key that comes back with a different request body is refused.
+	 * Attempts racing with the same key both run up to the insert, where the unique constraint lets one through.
+	 */
+	@Timed(value = "orders.place", histogram = true)
+	public String placeOrder(OrderRequest orderRequest, String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return place(UUID.randomUUID().toString(), null, null, orderRequest);
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+			throw new InvalidOrderRequestException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+		}
+		String requestHash = requestHash(orderRequest);
+		OrderOutcome cached = idempotencyCache.get(idempotencyKey);
+		if (cached != null) {
+			return replay(idempotencyKey, requestHash, cached, "cache");
+		}
+		Optional<OrderOutcome> recorded = orderRepository.findOutcomeByIdempotencyKey(idempotencyKey);
+		if (recorded.isPresent()) {
+			return replay(idempotencyKey, requestHash, recorded.get(), "database");
+		}
+		try {
+			return place(UUID.randomUUID().toString(), idempotencyKey, requestHash, orderRequest);
+		} catch (DataIntegrityViolationException ex) {
+			// lost the race against a concurrent attempt with the same key
+			return replay(idempotencyKey, requestHash,
+					orderRepository.findOutcomeByIdempotencyKey(idempotencyKey).orElseThrow(() -> ex), "database");
+		}
+	}
+
+	// timed as well because the async workers call this overload directly
+	@Timed(value = "orders.place", histogram = true)
+	public String placeOrder(String orderNumber, OrderRequest orderRequest) {
+		return place(orderNumber, null, null, orderRequest);
+	}
+
+	private String place(String orderNumber, String idempotencyKey, String requestHash, OrderRequest orderRequest) {
+		Orders order = new Orders();
+		order.setOrderNumber(orderNumber);
+		order.setIdempotencyKey(idempotencyKey);
+		order.setRequestHash(requestHash);
+		OrderLineItemsMapper.attachLineItems(order, orderRequest.getOrderLineItemsDtoList());
 	    
 	    
-	    List<String> skuCodes = order.getOrderLineItemsList().stream().map(orderLineItem -> orderLineItem.getSkuCode()).toList();
+	    List<String> skuCodes = skuCodes(order);
+	    // sold out according to the replicated stock events: no need to ask inventory service
+	    if (!stockProjectionService.knownOutOfStock(skuCodes).isEmpty()) {
+	    	meterRegistry.counter("orders.stock.prescreen.rejections").increment();
+	    	throw rejected(order);
+	    }
 	    // call inventory service to check product is in stock or not
-	     
-	    boolean allProductsInStock = Arrays.stream(responses).allMatch(inventoryResponse -> inventoryResponse.isInStock());
-	    
-	    if(allProductsInStock) {
-	    	orderRepository.save(order);
-	    	return "Order Placed Successfully !!";
+	    InventoryResponse[] responses;
+	    try {
+	    	responses = inventoryClient.checkStock(skuCodes);
+	    } catch (InventoryUnavailableException ex) {
+	    	meterRegistry.counter("orders.inventory.fallback", "policy", fallbackPolicy.name().toLowerCase()).increment();
+	    	if (fallbackPolicy != InventoryFallbackPolicy.ACCEPT) {
+	    		throw ex;
+	    	}
+	    	return save(order, OrderStatus.PENDING_RECONCILIATION);
+	    }
+
+	    if(allInStock(skuCodes, responses)) {
+	    	return save(order, OrderStatus.PLACED);
 	    }else {
-	    	throw new IllegalArgumentException("Product is not in stock, please try again later");
+	    	throw rejected(order);
 	    }
 	    
 	}
 
-	 private OrderLineItems mapToDto(OrderLineItemsDto orderLineItemsDto) {
-	        OrderLineItems orderLineItems = new OrderLineItems();
-	        orderLineItems.setPrice(orderLineItemsDto.getPrice());
-	        orderLineItems.setQuantity(orderLineItemsDto.getQuantity());
-	        orderLineItems.setSkuCode(orderLineItemsDto.getSkuCode());
-	        return orderLineItems;
-	 }
+	private String save(Orders order, OrderStatus status) {
+		order.setStatus(status);
+		orderRepository.save(order);
+		if (order.getIdempotencyKey() != null) {
+			idempotencyCache.put(order.getIdempotencyKey(), new OrderOutcome(status, order.getRequestHash()));
+		}
+		return resultFor(status);
+	}
+
+	// a retry with the same key must get the same answer without asking inventory again, so keyed rejections are recorded
+	private IllegalArgumentException rejected(Orders order) {
+		if (order.getIdempotencyKey() != null) {
+			save(order, OrderStatus.REJECTED);
+		}
+		return new IllegalArgumentException(OUT_OF_STOCK);
+	}
+
+	/**
+	 * Confirms stock for up to batchSize orders accepted while inventory was unavailable and moves each
+	 * to PLACED or REJECTED. Stops at the first failed lookup, leaving the rest for the next run.
+	 */
+	public int reconcilePendingOrders(int batchSize) {
+		List<Long> ids = orderRepository.findIdsByStatus(OrderStatus.PENDING_RECONCILIATION, PageRequest.of(0, batchSize));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		int reconciled = 0;
+		for (Orders order : orderRepository.findByIdIn(ids)) {
+			List<String> skuCodes = skuCodes(order);
+			InventoryResponse[] responses;
+			try {
+				responses = inventoryClient.checkStock(skuCodes);
+			} catch (InventoryUnavailableException ex) {
+				logger.info("Inventory still unavailable, {} orders left pending: {}", ids.size() - reconciled, ex.getMessage());
+				break;
+			}
+			OrderStatus outcome = allInStock(skuCodes, responses) ? OrderStatus.PLACED : OrderStatus.REJECTED;
+			if (orderRepository.updateStatus(order.getId(), OrderStatus.PENDING_RECONCILIATION, outcome) == 1) {
+				logger.info("Order {} reconciled as {}", order.getOrderNumber(), outcome);
+			}
+			reconciled++;
+		}
+		return reconciled;
+	}
+
+	public String resultFor(OrderStatus status) {
+		return switch (status) {
+		case PLACED -> PLACED;
+		case PENDING_RECONCILIATION -> ACCEPTED;
+		case REJECTED -> OUT_OF_STOCK;
+		};
+	}
+
+	// the status may have moved on since the first response, e.g. a pending order that has since been reconciled;
+	// orders recorded before request hashes were kept have none and are replayed unchecked
+	private String replay(String idempotencyKey, String requestHash, OrderOutcome recorded, String source) {
+		if (recorded.requestHash() != null && !recorded.requestHash().equals(requestHash)) {
+			throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different order");
+		}
+		meterRegistry.counter("orders.idempotent.replays", "source", source).increment();
+		idempotencyCache.put(idempotencyKey, recorded);
+		if (recorded.status() == OrderStatus.REJECTED) {
+			throw new IllegalArgumentException(OUT_OF_STOCK);
+		}
+		return resultFor(recorded.status());
+	}
+
+	// the body as Jackson writes it back, so whitespace and field order in the client's JSON do not matter
+	private String requestHash(OrderRequest orderRequest) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(orderRequest)));
+		} catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Cannot hash the order request", ex);
+		}
+	}
+
+	private static List<String> skuCodes(Orders order) {
+		return order.getOrderLineItemsList().stream().map(orderLineItem -> orderLineItem.getSkuCode()).distinct().toList();
+	}
+
+	// unknown SKUs are simply missing from the response, so every requested SKU must come back in stock
+	private static boolean allInStock(List<String> skuCodes, InventoryResponse[] responses) {
+		Set<String> inStockSkuCodes = Arrays.stream(responses)
+				.filter(inventoryResponse -> inventoryResponse.isInStock())
+				.map(inventoryResponse -> inventoryResponse.getSkuCode())
+				.collect(Collectors.toSet());
+		return inStockSkuCodes.containsAll(skuCodes);
+	}
 }
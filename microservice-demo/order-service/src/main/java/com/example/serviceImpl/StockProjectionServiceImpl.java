@@ -0,0 +1,54 @@
+package com.example.serviceImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.dto.StockChangeEvent;
+import com.example.repository.StockAvailabilityRepository;
+import com.example.service.StockProjectionService;
+
+/**
+ * Availability table replicated from inventory-service's stock events, used to turn away orders for SKUs that are
+ * known to be sold out without a call to inventory-service. It only ever says "out of stock": SKUs it has not heard
+ * of, or not heard of within max-age (e.g. stock added straight into the database), are left to the remote check.
+ */
+@Service
+public class StockProjectionServiceImpl implements StockProjectionService {
+
+	@Autowired
+	private StockAvailabilityRepository stockAvailabilityRepository;
+
+	@Value("${order.stock-projection.enabled:true}")
+	private boolean enabled;
+	@Value("${order.stock-projection.max-age:5m}")
+	private Duration maxAge;
+
+	@Transactional
+	@Override
+	public int apply(List<StockChangeEvent> events) {
+		int applied = 0;
+		for (StockChangeEvent event : events) {
+			if (event.getId() == null || event.getSkuCode() == null || event.getQuantity() == null || event.getCreatedAt() == null) {
+				// nothing to order it by; the next complete event for the SKU carries the full quantity anyway
+				continue;
+			}
+			applied += stockAvailabilityRepository.apply(event.getSkuCode(), event.getQuantity(), event.getId(), event.getCreatedAt());
+		}
+		return applied;
+	}
+
+	@Override
+	public List<String> knownOutOfStock(Collection<String> skuCodes) {
+		if (!enabled || skuCodes.isEmpty()) {
+			return List.of();
+		}
+		return stockAvailabilityRepository.findOutOfStockObservedAfter(skuCodes, Instant.now().minus(maxAge));
+	}
+}
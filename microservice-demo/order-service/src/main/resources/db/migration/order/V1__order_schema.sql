@@ -0,0 +1,87 @@
+-- Tables as Hibernate mapped them under ddl-auto=update, plus the indexes the hot queries need.
+-- The micro database is shared with inventory-service and product-service, and may already hold these tables from
+-- ddl-auto=update, so every statement is safe to run against an existing schema.
+
+create sequence if not exists orders_seq start with 1 increment by 50;
+create table if not exists orders (
+    id bigint primary key,
+    order_number varchar(255),
+    idempotency_key varchar(255),
+    status varchar(255) check (status in ('PLACED', 'PENDING_RECONCILIATION', 'REJECTED')),
+    constraint uk_orders_idempotency_key unique (idempotency_key)
+);
+-- an orders table from before idempotency keys and statuses only has id and order_number
+alter table orders add column if not exists idempotency_key varchar(255);
+alter table orders add column if not exists status varchar(255);
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'orders'::regclass and conname = 'uk_orders_idempotency_key') then
+        alter table orders add constraint uk_orders_idempotency_key unique (idempotency_key);
+    end if;
+end
+$$;
+create index if not exists idx_orders_status on orders (status);
+create index if not exists idx_orders_order_number on orders (order_number);
+
+create sequence if not exists order_line_items_seq start with 1 increment by 50;
+create table if not exists order_line_items (
+    id bigint primary key,
+    sku_code varchar(255),
+    price numeric(38, 2),
+    quantity integer,
+    order_id bigint
+);
+alter table order_line_items add column if not exists order_id bigint;
+-- Line items written before ids came from sequences were linked through the orders_order_line_items_list join
+-- table and have no order_id; copy the link over, then drop the join table Hibernate no longer writes.
+do $$
+begin
+    if to_regclass('orders_order_line_items_list') is not null then
+        update order_line_items li set order_id = j.orders_id
+        from orders_order_line_items_list j
+        where j.order_line_items_list_id = li.id and li.order_id is null;
+        drop table orders_order_line_items_list;
+    end if;
+end
+$$;
+
+-- a table left behind by an older ddl-auto=update run may not have the foreign key yet
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'order_line_items'::regclass and contype = 'f') then
+        alter table order_line_items add constraint fk_order_line_items_order foreign key (order_id) references orders;
+    end if;
+end
+$$;
+-- Postgres does not index the referencing side of a foreign key; the line items of an order are read by order_id
+create index if not exists idx_order_line_items_order_id on order_line_items (order_id);
+
+create sequence if not exists order_outbox_seq start with 1 increment by 50;
+create table if not exists order_outbox (
+    id bigint primary key,
+    order_number varchar(255),
+    payload text,
+    status varchar(255) check (status in ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED')),
+    attempts integer not null,
+    result varchar(255),
+    created_at timestamp(6) with time zone,
+    next_attempt_at timestamp(6) with time zone,
+    claimed_at timestamp(6) with time zone
+);
+create unique index if not exists idx_order_outbox_order_number on order_outbox (order_number);
+create index if not exists idx_order_outbox_status_next_attempt on order_outbox (status, next_attempt_at);
+
+create table if not exists stock_availability (
+    sku_code varchar(255) primary key,
+    quantity integer,
+    version bigint,
+    observed_at timestamp(6) with time zone
+);
+
+-- Rows written before the sequences existed hold IDENTITY ids 1..N, while ddl-auto=update created the sequences
+-- starting at 1. Hibernate's pooled optimizer hands out the 50 ids up to each nextval, so the next value has to be
+-- at least 50 past the highest id in use; taking the sequence's own position into account keeps it moving forward.
+select setval('orders_seq', greatest((select coalesce(max(id), 0) from orders), last_value) + 50, false)
+from orders_seq;
+select setval('order_line_items_seq', greatest((select coalesce(max(id), 0) from order_line_items), last_value) + 50, false)
+from order_line_items_seq;
@@ -0,0 +1,3 @@
+-- SHA-256 of the request body an Idempotency-Key was first used with, so the key cannot be reused for another order.
+-- Orders placed before this column stay null and are replayed without the check.
+alter table orders add column if not exists request_hash varchar(64);
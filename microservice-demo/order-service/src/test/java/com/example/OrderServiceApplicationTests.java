@@ -3,7 +3,7 @@ package com.example;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "order.async.poller.enabled=false")
 class OrderServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,119 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.model.OrderLineItems;
+import com.example.model.OrderStatus;
+import com.example.model.Orders;
+import com.example.repository.OrderRepository;
+
+/**
+ * Boots the service as it runs in production, with the schema coming from Flyway instead of Hibernate,
+ * and checks that it is up within the startup budget with the indexes and foreign key the order queries rely on.
+ * A second boot runs the migration over tables as ddl-auto=update left them while ids were IDENTITY and line
+ * items were linked through a join table, and checks that orders can still be written afterwards.
+ */
+class OrderServiceStartupTest {
+
+	private static final Duration STARTUP_BUDGET = Duration.ofSeconds(15);
+	private static final String DATABASE_URL = "jdbc:postgresql://localhost:5432/micro";
+	private static final String LEGACY_SCHEMA = "order_startup_legacy";
+
+	@AfterEach
+	void dropLegacySchema() throws SQLException {
+		execute("drop schema if exists " + LEGACY_SCHEMA + " cascade");
+	}
+
+	@Test
+	void bootsWithinBudgetOnTheMigratedSchema() {
+		long start = System.nanoTime();
+		try (ConfigurableApplicationContext context = boot()) {
+			Duration startup = Duration.ofNanos(System.nanoTime() - start);
+			assertTrue(startup.compareTo(STARTUP_BUDGET) < 0, "startup took " + startup + ", budget is " + STARTUP_BUDGET);
+
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			assertEquals(1, jdbcTemplate.queryForObject("select count(*) from order_schema_history "
+					+ "where version = '1' and success", Integer.class));
+			for (String index : new String[] { "idx_order_line_items_order_id", "idx_orders_order_number",
+					"uk_orders_idempotency_key", "idx_order_outbox_status_next_attempt" }) {
+				assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_indexes where indexname = ?",
+						Integer.class, index), index + " missing");
+			}
+			assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_constraint "
+					+ "where conrelid = 'order_line_items'::regclass and contype = 'f'", Integer.class));
+		}
+	}
+
+	@Test
+	void migratesTablesWithIdentityIdsAndTheJoinTable() throws SQLException {
+		execute("drop schema if exists " + LEGACY_SCHEMA + " cascade",
+				"create schema " + LEGACY_SCHEMA,
+				"set search_path to " + LEGACY_SCHEMA,
+				"create table orders (id bigint generated by default as identity primary key, order_number varchar(255))",
+				"create table order_line_items (id bigint generated by default as identity primary key, "
+						+ "sku_code varchar(255), price numeric(38, 2), quantity integer)",
+				"create table orders_order_line_items_list (orders_id bigint not null references orders, "
+						+ "order_line_items_list_id bigint not null unique references order_line_items)",
+				"insert into orders (order_number) values ('legacy-1'), ('legacy-2')",
+				"insert into order_line_items (sku_code, price, quantity) "
+						+ "values ('iphone_13', 999, 1), ('iphone_13', 999, 2), ('pixel_8', 699, 1)",
+				"insert into orders_order_line_items_list values (1, 1), (1, 2), (2, 3)");
+
+		try (ConfigurableApplicationContext context = boot(
+				"--spring.datasource.url=" + DATABASE_URL + "?currentSchema=" + LEGACY_SCHEMA + "&reWriteBatchedInserts=true")) {
+			JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+			assertEquals(List.of(1L, 1L, 2L), jdbcTemplate.queryForList(
+					"select order_id from order_line_items order by id", Long.class));
+			assertNull(jdbcTemplate.queryForObject("select to_regclass('orders_order_line_items_list')::text", String.class));
+
+			Orders order = new Orders();
+			order.setOrderNumber("after-migration");
+			order.setStatus(OrderStatus.PLACED);
+			OrderLineItems lineItem = new OrderLineItems();
+			lineItem.setSkuCode("pixel_8");
+			lineItem.setPrice(new BigDecimal("699"));
+			lineItem.setQuantity(1);
+			lineItem.setOrder(order);
+			order.setOrderLineItemsList(List.of(lineItem));
+			context.getBean(OrderRepository.class).save(order);
+
+			assertTrue(order.getId() > 2, "order id " + order.getId() + " reuses a legacy id");
+			assertTrue(lineItem.getId() > 3, "line item id " + lineItem.getId() + " reuses a legacy id");
+			assertEquals(order.getId(), jdbcTemplate.queryForObject("select order_id from order_line_items where id = ?",
+					Long.class, lineItem.getId()));
+		}
+	}
+
+	private static ConfigurableApplicationContext boot(String... args) {
+		List<String> arguments = new ArrayList<>(List.of("--eureka.client.enabled=false",
+				"--order.async.poller.enabled=false", "--order.reconciliation.interval=PT1H", "--spring.main.banner-mode=off"));
+		arguments.addAll(List.of(args));
+		return new SpringApplicationBuilder(OrderServiceApplication.class).run(arguments.toArray(String[]::new));
+	}
+
+	private static void execute(String... statements) throws SQLException {
+		try (Connection connection = DriverManager.getConnection(DATABASE_URL, "postgres", "varun");
+				Statement statement = connection.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+		}
+	}
+}
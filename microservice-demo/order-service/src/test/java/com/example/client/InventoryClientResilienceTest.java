@@ -0,0 +1,133 @@
+package com.example.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.exception.InventoryUnavailableException;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drives the inventory lookup against a local stub that injects latency, and checks that the bulkhead
+ * and the circuit breaker refuse calls without waiting on the slow dependency.
+ */
+@SpringBootTest(properties = { "eureka.client.enabled=false", "inventory.client.response-timeout=1s",
+		"inventory.circuit-breaker.slow-call-duration-threshold=200ms",
+		"inventory.circuit-breaker.sliding-window-size=4", "inventory.circuit-breaker.minimum-number-of-calls=4",
+		"inventory.circuit-breaker.wait-duration-in-open-state=1m", "inventory.bulkhead.max-concurrent-calls=2",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false" })
+class InventoryClientResilienceTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private InventoryClient inventoryClient;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+	@Autowired
+	private Bulkhead inventoryBulkhead;
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void reset() {
+		inventoryCircuitBreaker.reset();
+		stub.setLatency(Duration.ZERO);
+		stub.setInStock("sku-a");
+	}
+
+	@Test
+	void fastInventoryIsCalledThrough() {
+		var responses = inventoryClient.checkStock(List.of("sku-a", "sku-b"));
+
+		assertEquals(2, responses.length);
+		assertEquals(CircuitBreaker.State.CLOSED, inventoryCircuitBreaker.getState());
+	}
+
+	@Test
+	void slowCallsOpenTheBreakerAndLaterCallsFailFast() {
+		stub.setLatency(Duration.ofMillis(400));
+		double opened = transitions("CLOSED", "OPEN");
+		for (int i = 0; i < 4; i++) {
+			inventoryClient.checkStock(List.of("sku-a"));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, inventoryCircuitBreaker.getState());
+
+		int requestsBefore = stub.requestCount();
+		long start = System.nanoTime();
+		InventoryUnavailableException ex = assertThrows(InventoryUnavailableException.class,
+				() -> inventoryClient.checkStock(List.of("sku-a")));
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertInstanceOf(CallNotPermittedException.class, ex.getCause());
+		assertTrue(elapsedMillis < 100, "open breaker took " + elapsedMillis + " ms to refuse");
+		assertEquals(requestsBefore, stub.requestCount());
+		assertEquals(opened + 1, transitions("CLOSED", "OPEN"));
+		assertEquals(1, meterRegistry.get("resilience4j.circuitbreaker.state").tag("name", "inventory")
+				.tag("state", "open").gauge().value());
+	}
+
+	@Test
+	void fullBulkheadRefusesWithoutWaiting() throws Exception {
+		stub.setLatency(Duration.ofMillis(700));
+		double rejected = meterRegistry.counter("inventory.bulkhead.rejected").count();
+		List<CompletableFuture<?>> inFlight = List.of(
+				CompletableFuture.runAsync(() -> inventoryClient.checkStock(List.of("sku-a"))),
+				CompletableFuture.runAsync(() -> inventoryClient.checkStock(List.of("sku-a"))));
+		while (inventoryBulkhead.getMetrics().getAvailableConcurrentCalls() > 0) {
+			Thread.sleep(5);
+		}
+
+		long start = System.nanoTime();
+		InventoryUnavailableException ex = assertThrows(InventoryUnavailableException.class,
+				() -> inventoryClient.checkStock(List.of("sku-a")));
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		assertInstanceOf(BulkheadFullException.class, ex.getCause());
+		assertTrue(elapsedMillis < 100, "full bulkhead took " + elapsedMillis + " ms to refuse");
+		assertEquals(rejected + 1, meterRegistry.counter("inventory.bulkhead.rejected").count());
+		CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+	}
+
+	@Test
+	void timeoutsAreReportedAsUnavailable() {
+		stub.setLatency(Duration.ofMillis(1500));
+
+		InventoryUnavailableException ex = assertThrows(InventoryUnavailableException.class,
+				() -> inventoryClient.checkStock(List.of("sku-a")));
+
+		assertTrue(ex.getMessage().contains("did not answer"));
+	}
+
+	private double transitions(String from, String to) {
+		return meterRegistry.counter("inventory.circuitbreaker.transitions", "from", from, "to", to).count();
+	}
+}
@@ -0,0 +1,99 @@
+package com.example.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for inventory-service's {@code GET /inventory} with configurable latency and stock.
+ */
+public class StubInventoryServer implements AutoCloseable {
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Set<String> inStock = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger requests = new AtomicInteger();
+	private volatile Duration latency = Duration.ZERO;
+	private volatile String lastTraceparent;
+
+	private StubInventoryServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/inventory", this::handle);
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	public static StubInventoryServer start() {
+		try {
+			return new StubInventoryServer();
+		} catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public String baseUrl() {
+		return "http://localhost:" + server.getAddress().getPort();
+	}
+
+	public void setLatency(Duration latency) {
+		this.latency = latency;
+	}
+
+	public void setInStock(String... skuCodes) {
+		inStock.clear();
+		inStock.addAll(Arrays.asList(skuCodes));
+	}
+
+	public int requestCount() {
+		return requests.get();
+	}
+
+	public String lastTraceparent() {
+		return lastTraceparent;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		lastTraceparent = exchange.getRequestHeaders().getFirst("traceparent");
+		try {
+			Thread.sleep(latency.toMillis());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		String query = exchange.getRequestURI().getRawQuery();
+		String body = query == null ? "[]" : Arrays.stream(query.split("&"))
+				.filter(param -> param.startsWith("skuCode="))
+				.map(param -> URLDecoder.decode(param.substring("skuCode=".length()), StandardCharsets.UTF_8))
+				.map(skuCode -> "{\"skuCode\":\"" + skuCode + "\",\"inStock\":" + inStock.contains(skuCode) + "}")
+				.collect(Collectors.joining(",", "[", "]"));
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		try {
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		} catch (IOException ex) {
+			// the client gave up waiting
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+}
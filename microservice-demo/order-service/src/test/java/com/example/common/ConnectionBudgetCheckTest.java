@@ -0,0 +1,51 @@
+package com.example.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Plans a thousand inventory-service instances on an otherwise idle server: only this test's connections are open,
+ * so the budget has to be exceeded from the configured pool sizes alone.
+ */
+@SpringBootTest(properties = { "eureka.client.enabled=false", "order.reconciliation.interval=PT1H",
+		"order.async.poller.enabled=false", "connection-budget.instances.inventory-service=1000" })
+@ExtendWith(OutputCaptureExtension.class)
+class ConnectionBudgetCheckTest {
+
+	@Autowired
+	private ConnectionBudgetCheck connectionBudgetCheck;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void overcommittedPlanIsReportedOnAnIdleServer(CapturedOutput output) throws Exception {
+		ConnectionBudgetCheck.Budget budget = connectionBudgetCheck.check();
+
+		assertTrue(budget.isExceeded());
+		assertEquals(8_000, budget.getConnectionsByApplication().get("inventory-service"));
+		assertEquals(10, budget.getConnectionsByApplication().get("order-service"));
+		assertEquals(8_000 + 10 + 5 + 5, budget.getRequired());
+		connectionBudgetCheck.warnIfOvercommitted();
+		assertTrue(output.getOut().contains("Connection pools need up to " + budget.getRequired() + " connections but Postgres accepts"));
+	}
+
+	@Test
+	void ownPoolSizeReplacesThePlannedOne() {
+		assertEquals(10, connectionBudgetCheck.check().getConnectionsByApplication().get("order-service"));
+	}
+
+	@Test
+	void connectionsCarryTheServiceName() {
+		assertEquals("order-service", jdbcTemplate.queryForObject("select current_setting('application_name')", String.class));
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from pg_stat_activity where pid = pg_backend_pid() "
+				+ "and application_name = 'order-service'", Integer.class));
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DropCountingAsyncAppenderTest {
+
+	@Test
+	void eventsThatMeetAFullQueueAreCounted() throws Exception {
+		LoggerContext context = new LoggerContext();
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		// holds the worker on the first event, so the queue stays full while the test logs
+		AppenderBase<ILoggingEvent> stuck = new AppenderBase<>() {
+			@Override
+			protected void append(ILoggingEvent event) {
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		stuck.setContext(context);
+		stuck.start();
+		DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+		async.setContext(context);
+		async.setName("ASYNC");
+		async.setQueueSize(2);
+		async.setDiscardingThreshold(0);
+		async.setNeverBlock(true);
+		async.addAppender(stuck);
+		async.start();
+		Logger logger = context.getLogger("test");
+
+		async.doAppend(new LoggingEvent(null, logger, Level.INFO, "taken by the worker", null, null));
+		assertTrue(writing.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 5; i++) {
+			async.doAppend(new LoggingEvent(null, logger, Level.INFO, "event " + i, null, null));
+		}
+
+		assertEquals(3, async.getDroppedCount());
+		release.countDown();
+		async.stop();
+	}
+
+	@Test
+	void dropsArePublishedAsACounter() {
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+		DropCountingAsyncAppender async = new DropCountingAsyncAppender();
+		async.setContext(context);
+		async.setName("METRICS_TEST");
+		Logger logger = context.getLogger("metrics-test");
+		logger.addAppender(async);
+		try {
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			new AsyncLogMetrics().bindTo(registry);
+
+			assertEquals(0, registry.get("logback.async.dropped").tag("appender", "METRICS_TEST").functionCounter().count());
+		} finally {
+			logger.detachAppender(async);
+		}
+	}
+}
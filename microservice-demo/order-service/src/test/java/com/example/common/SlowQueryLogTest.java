@@ -0,0 +1,65 @@
+package com.example.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowQueryLogTest {
+
+	@Test
+	void onlyStatementsAboveTheThresholdAreLogged(CapturedOutput output) {
+		SlowQueryLog slowQueryLog = new SlowQueryLog(true, Duration.ofMillis(100), 1.0);
+
+		slowQueryLog.afterQuery(execution(99), List.of(new QueryInfo("select * from orders where id=?")));
+		slowQueryLog.afterQuery(execution(150), List.of(new QueryInfo("select * from order_line_items where order_id=?")));
+
+		assertFalse(output.getOut().contains("from orders"));
+		assertTrue(output.getOut().contains("Slow query took 150 ms: select * from order_line_items where order_id=?"));
+	}
+
+	@Test
+	void runtimeSettingsSwitchTheLogAndKeepWhatIsLeftOut(CapturedOutput output) {
+		SlowQueryLog slowQueryLog = new SlowQueryLog(false, Duration.ofMillis(200), 1.0);
+		slowQueryLog.afterQuery(execution(500), List.of(new QueryInfo("select 1")));
+		assertFalse(output.getOut().contains("Slow query"));
+
+		slowQueryLog.configure(true, null, null);
+		slowQueryLog.afterQuery(execution(500), List.of(new QueryInfo("select 1")));
+		assertTrue(output.getOut().contains("Slow query took 500 ms: select 1"));
+		assertEquals("PT0.2S", slowQueryLog.settings().get("threshold"));
+
+		slowQueryLog.configure(null, Duration.ofSeconds(1), 0.0);
+		slowQueryLog.afterQuery(execution(5000), List.of(new QueryInfo("select 2")));
+		assertFalse(output.getOut().contains("select 2"));
+		assertEquals(true, slowQueryLog.settings().get("enabled"));
+	}
+
+	@Test
+	void sampleRateOutsideZeroToOneIsRejected() {
+		SlowQueryLog slowQueryLog = new SlowQueryLog(true, Duration.ofMillis(200), 1.0);
+
+		assertThrows(InvalidEndpointRequestException.class, () -> slowQueryLog.configure(null, null, 1.5));
+		assertEquals(1.0, slowQueryLog.settings().get("sampleRate"));
+	}
+
+	private static ExecutionInfo execution(long elapsedMillis) {
+		ExecutionInfo executionInfo = new ExecutionInfo();
+		executionInfo.setElapsedTime(elapsedMillis);
+		executionInfo.setSuccess(true);
+		return executionInfo;
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+import com.example.repository.OrderRepository;
+import com.example.service.OrderService;
+
+/**
+ * Places an order against a stub inventory-service and checks that the Prometheus scrape has histograms
+ * for the order placement, the WebClient call to inventory-service and the JDBC statements, plus pool gauges.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false" })
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private OrderService orderService;
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	private final String orderNumber = "metrics-" + UUID.randomUUID();
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@AfterEach
+	void deleteOrder() {
+		orderRepository.findAll().stream()
+				.filter(order -> orderNumber.equals(order.getOrderNumber()))
+				.forEach(orderRepository::delete);
+	}
+
+	@Test
+	void prometheusScrapeHasHotPathHistograms() {
+		stub.setInStock("sku-metrics");
+		OrderRequest request = new OrderRequest();
+		request.setOrderLineItemsDtoList(List.of(new OrderLineItemsDto(null, "sku-metrics", BigDecimal.TEN, 1)));
+		orderService.placeOrder(orderNumber, request);
+
+		String scrape = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+		for (String series : new String[] {
+				"orders_place_seconds_bucket{application=\"order-service\",class=\"com.example.serviceImpl.OrderServiceImpl\"",
+				"http_client_requests_seconds_bucket{application=\"order-service\",client_name=\"inventory-service\"",
+				"jdbc_query_seconds_bucket{",
+				"hikaricp_connections_acquire_seconds_bucket{",
+				"hikaricp_connections_active{",
+				"hikaricp_connections_usage_seconds_bucket{",
+				"hikaricp_connections_pending{application=\"order-service\",pool=\"order-service\"" }) {
+			assertTrue(scrape.contains(series), series + " missing from scrape");
+		}
+	}
+}
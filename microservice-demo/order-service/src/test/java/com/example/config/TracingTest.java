@@ -0,0 +1,129 @@
+package com.example.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Sends an order with a W3C traceparent, as the gateway does, and checks that the inbound request, the call to
+ * inventory-service and every SQL statement end up as spans of that one trace, and that the trace travels on.
+ * Spans go to an in-memory exporter next to the OTLP one.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false" })
+@AutoConfigureObservability
+class TracingTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+	private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+	private static final String SKU = "sku-tracing";
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private InMemorySpanExporter spanExporter;
+	@Autowired
+	private SdkTracerProvider tracerProvider;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+		// nothing listens here; the in-memory exporter is the one under test
+		registry.add("management.otlp.tracing.endpoint", () -> "http://localhost:1/v1/traces");
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@AfterEach
+	void deleteOrder() {
+		List<Long> ids = jdbcTemplate.queryForList("select order_id from order_line_items where sku_code = ?", Long.class, SKU);
+		for (Long id : ids) {
+			jdbcTemplate.update("delete from order_line_items where order_id = ?", id);
+			jdbcTemplate.update("delete from orders where id = ?", id);
+		}
+	}
+
+	@Test
+	void orderRequestIsOneTraceDownToEachStatement() throws Exception {
+		stub.setInStock(SKU);
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+		OrderRequest request = new OrderRequest();
+		request.setOrderLineItemsDtoList(List.of(new OrderLineItemsDto(null, SKU, BigDecimal.TEN, 1)));
+
+		assertEquals(HttpStatus.OK, restTemplate.postForEntity("/order", new HttpEntity<>(request, headers), String.class).getStatusCode());
+
+		List<SpanData> spans = awaitServerSpan();
+		assertTrue(stub.lastTraceparent().startsWith("00-" + TRACE_ID + "-"), stub.lastTraceparent());
+		assertTrue(spans.stream().anyMatch(span -> span.getKind() == SpanKind.CLIENT
+				&& span.getName().startsWith("http get")), "no span for the inventory call");
+
+		List<String> statements = spans.stream()
+				.map(span -> span.getAttributes().get(AttributeKey.stringKey("jdbc.query[0]")))
+				.filter(statement -> statement != null)
+				.toList();
+		assertTrue(statements.stream().anyMatch(statement -> statement.startsWith("insert into orders")), statements.toString());
+		assertTrue(statements.stream().anyMatch(statement -> statement.startsWith("insert into order_line_items")), statements.toString());
+		assertFalse(spans.stream().anyMatch(span -> span.getEndEpochNanos() < span.getStartEpochNanos()));
+	}
+
+	// the server span ends once the response is written, which can be after the client has read it
+	private List<SpanData> awaitServerSpan() throws InterruptedException {
+		for (int attempt = 0; attempt < 50; attempt++) {
+			tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+			List<SpanData> spans = spanExporter.getFinishedSpanItems().stream()
+					.filter(span -> span.getTraceId().equals(TRACE_ID))
+					.toList();
+			if (spans.stream().anyMatch(span -> span.getKind() == SpanKind.SERVER)) {
+				return spans;
+			}
+			Thread.sleep(100);
+		}
+		throw new AssertionError("no server span for trace " + TRACE_ID + " in " + spanExporter.getFinishedSpanItems());
+	}
+
+	@TestConfiguration
+	static class InMemoryExporterConfig {
+
+		@Bean
+		InMemorySpanExporter inMemorySpanExporter() {
+			return InMemorySpanExporter.create();
+		}
+	}
+}
@@ -0,0 +1,272 @@
+package com.example.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.example.dto.AsyncOrderResponse;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+import com.example.dto.OrderStatusResponse;
+import com.example.model.OrderOutbox;
+import com.example.model.OrderStatus;
+import com.example.model.OutboxStatus;
+import com.example.repository.OrderOutboxRepository;
+import com.example.service.AsyncOrderService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.async.workers=2", "order.async.queue-capacity=4", "order.async.poll-interval=PT0.2S",
+		"order.async.retry-backoff=200ms", "order.reconciliation.interval=PT1H", "spring.jpa.show-sql=false" })
+class AsyncOrderControllerTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AsyncOrderControllerTest.class);
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private OrderOutboxRepository outboxRepository;
+	@Autowired
+	private AsyncOrderService asyncOrderService;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<String> orderNumbers = Collections.synchronizedList(new ArrayList<>());
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void inventoryUp() {
+		inventoryCircuitBreaker.reset();
+		stub.setLatency(Duration.ZERO);
+		stub.setInStock("sku-a");
+	}
+
+	@AfterEach
+	void cleanUp() {
+		for (String orderNumber : orderNumbers) {
+			jdbcTemplate.update("delete from order_line_items where order_id in (select id from orders where order_number = ?)", orderNumber);
+			jdbcTemplate.update("delete from orders where order_number = ?", orderNumber);
+			jdbcTemplate.update("delete from order_outbox where order_number = ?", orderNumber);
+		}
+	}
+
+	@Test
+	void orderIsAcceptedAndPlacedInTheBackground() {
+		ResponseEntity<AsyncOrderResponse> accepted = submit("sku-a");
+
+		assertEquals(HttpStatus.ACCEPTED, accepted.getStatusCode());
+		String orderNumber = accepted.getBody().getOrderNumber();
+		assertEquals("/order/async/" + orderNumber, accepted.getHeaders().getLocation().toString());
+		assertEquals(accepted.getHeaders().getLocation().toString(), accepted.getBody().getStatusUrl());
+
+		OrderStatusResponse status = awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.COMPLETED);
+		assertEquals(OrderStatus.PLACED, status.getOrderStatus());
+		assertEquals("Order Placed Successfully !!", status.getMessage());
+		assertEquals("no-store", restTemplate.getForEntity("/order/async/" + orderNumber, String.class)
+				.getHeaders().getCacheControl());
+	}
+
+	@Test
+	void outOfStockOrderFails() {
+		String orderNumber = submit("sku-b").getBody().getOrderNumber();
+
+		OrderStatusResponse status = awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.FAILED);
+		assertTrue(status.getMessage().contains("not in stock"));
+		assertEquals(null, status.getOrderStatus());
+	}
+
+	@Test
+	void unavailableInventoryIsRetriedUntilItRecovers() {
+		inventoryCircuitBreaker.transitionToForcedOpenState();
+		String orderNumber = submit("sku-a").getBody().getOrderNumber();
+
+		OrderStatusResponse retrying = awaitStatus(orderNumber, s -> s.getAttempts() > 0);
+		assertEquals(OutboxStatus.PENDING, retrying.getStatus());
+		inventoryCircuitBreaker.transitionToClosedState();
+
+		OrderStatusResponse status = awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.COMPLETED);
+		assertEquals(OrderStatus.PLACED, status.getOrderStatus());
+	}
+
+	@Test
+	void entriesLeftBehindByARestartAreProcessed() {
+		String orderNumber = UUID.randomUUID().toString();
+		orderNumbers.add(orderNumber);
+		OrderOutbox stale = new OrderOutbox(orderNumber,
+				"{\"orderLineItemsDtoList\":[{\"skuCode\":\"sku-a\",\"price\":10,\"quantity\":1}]}",
+				Instant.now().minus(Duration.ofHours(1)));
+		stale.setStatus(OutboxStatus.PROCESSING);
+		stale.setClaimedAt(Instant.now().minus(Duration.ofHours(1)));
+		outboxRepository.save(stale);
+
+		OrderStatusResponse status = awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.COMPLETED);
+		assertEquals(OrderStatus.PLACED, status.getOrderStatus());
+	}
+
+	@Test
+	void restartedEntryTakesTheOutcomeOfTheOrderAlreadyStored() {
+		String orderNumber = UUID.randomUUID().toString();
+		orderNumbers.add(orderNumber);
+		jdbcTemplate.update("insert into orders (id, order_number, status) values (nextval('orders_seq'), ?, ?)",
+				orderNumber, OrderStatus.PENDING_RECONCILIATION.name());
+		OrderOutbox stale = new OrderOutbox(orderNumber,
+				"{\"orderLineItemsDtoList\":[{\"skuCode\":\"sku-a\",\"price\":10,\"quantity\":1}]}",
+				Instant.now().minus(Duration.ofHours(1)));
+		stale.setStatus(OutboxStatus.PROCESSING);
+		stale.setClaimedAt(Instant.now().minus(Duration.ofHours(1)));
+		outboxRepository.save(stale);
+
+		OrderStatusResponse status = awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.COMPLETED);
+		assertEquals(OrderStatus.PENDING_RECONCILIATION, status.getOrderStatus());
+		assertEquals("Order Accepted, stock will be confirmed shortly !!", status.getMessage());
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from orders where order_number = ?",
+				Integer.class, orderNumber));
+	}
+
+	@Test
+	void burstIsAcceptedAtFlatLatencyAndDrainedByTheBoundedPool() throws Exception {
+		Duration inventoryLatency = Duration.ofMillis(300);
+		stub.setLatency(inventoryLatency);
+		int orders = 40;
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		List<Future<Long>> latencies = IntStream.range(0, orders).mapToObj(i -> clients.submit(() -> {
+			long start = System.nanoTime();
+			ResponseEntity<AsyncOrderResponse> response = submit("sku-a");
+			assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+			return (System.nanoTime() - start) / 1_000_000;
+		})).toList();
+		List<Long> millis = new ArrayList<>();
+		for (Future<Long> latency : latencies) {
+			millis.add(latency.get());
+		}
+		clients.shutdown();
+		Collections.sort(millis);
+		logger.info("Async submit latency over {} orders: p50={} ms, p95={} ms, max={} ms", orders,
+				millis.get(orders / 2), millis.get(orders * 95 / 100), millis.get(orders - 1));
+
+		// 40 inventory calls on 2 workers take ~6 s; a submit must not wait for even one of them
+		assertTrue(millis.get(orders / 2) < inventoryLatency.toMillis(),
+				"median submit latency " + millis.get(orders / 2) + " ms");
+		for (String orderNumber : List.copyOf(orderNumbers)) {
+			awaitStatus(orderNumber, s -> s.getStatus() == OutboxStatus.COMPLETED);
+		}
+	}
+
+	@Test
+	void finishedEntriesPastTheRetentionArePurged() {
+		Instant twoDaysAgo = Instant.now().minus(Duration.ofDays(2));
+		String oldCompleted = outboxEntry(OutboxStatus.COMPLETED, twoDaysAgo);
+		String oldFailed = outboxEntry(OutboxStatus.FAILED, twoDaysAgo);
+		String recentCompleted = outboxEntry(OutboxStatus.COMPLETED, Instant.now());
+		String oldPending = outboxEntry(OutboxStatus.PENDING, twoDaysAgo);
+
+		assertTrue(asyncOrderService.purgeFinished() >= 2);
+
+		assertFalse(outboxRepository.findByOrderNumber(oldCompleted).isPresent());
+		assertFalse(outboxRepository.findByOrderNumber(oldFailed).isPresent());
+		assertTrue(outboxRepository.findByOrderNumber(recentCompleted).isPresent());
+		assertTrue(outboxRepository.findByOrderNumber(oldPending).isPresent());
+		assertEquals(HttpStatus.NOT_FOUND,
+				restTemplate.getForEntity("/order/async/" + oldCompleted, String.class).getStatusCode());
+	}
+
+	@Test
+	void invalidOrderIsRejectedUpFront() {
+		ResponseEntity<String> response = restTemplate.postForEntity("/order/async", new OrderRequest(List.of()),
+				String.class);
+
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+	}
+
+	@Test
+	void unknownOrderNumberIs404() {
+		assertEquals(HttpStatus.NOT_FOUND,
+				restTemplate.getForEntity("/order/async/" + UUID.randomUUID(), String.class).getStatusCode());
+	}
+
+	// an entry the poller leaves alone: not due for a week if it is still PENDING
+	private String outboxEntry(OutboxStatus status, Instant claimedAt) {
+		String orderNumber = UUID.randomUUID().toString();
+		orderNumbers.add(orderNumber);
+		OrderOutbox entry = new OrderOutbox(orderNumber, "{}", claimedAt);
+		entry.setStatus(status);
+		entry.setClaimedAt(claimedAt);
+		entry.setNextAttemptAt(Instant.now().plus(Duration.ofDays(7)));
+		outboxRepository.save(entry);
+		return orderNumber;
+	}
+
+	private ResponseEntity<AsyncOrderResponse> submit(String skuCode) {
+		OrderRequest request = new OrderRequest(List.of(new OrderLineItemsDto(null, skuCode, BigDecimal.TEN, 1)));
+		ResponseEntity<AsyncOrderResponse> response = restTemplate.postForEntity("/order/async", request,
+				AsyncOrderResponse.class);
+		if (response.getBody() != null && response.getBody().getOrderNumber() != null) {
+			orderNumbers.add(response.getBody().getOrderNumber());
+		}
+		return response;
+	}
+
+	private OrderStatusResponse awaitStatus(String orderNumber, Predicate<OrderStatusResponse> condition) {
+		Instant deadline = Instant.now().plusSeconds(30);
+		OrderStatusResponse status = null;
+		while (Instant.now().isBefore(deadline)) {
+			status = restTemplate.getForObject("/order/async/" + orderNumber, OrderStatusResponse.class);
+			if (status != null && condition.test(status)) {
+				return status;
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		assertNotNull(status);
+		throw new AssertionError("order " + orderNumber + " never reached the expected state, last: " + status);
+	}
+}
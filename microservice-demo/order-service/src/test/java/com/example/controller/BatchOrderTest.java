@@ -0,0 +1,190 @@
+package com.example.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Checks POST /order/batch: thousands of orders cost one inventory lookup and are answered line by line in input
+ * order, and a bad order or an unreachable inventory only rejects the orders concerned.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false", "spring.jpa.show-sql=false" })
+class BatchOrderTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(BatchOrderTest.class);
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+	private static final int BATCH_SIZE = 5_000;
+	private static final int SKUS = 10;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+
+	private final String skuPrefix = "batch-" + UUID.randomUUID() + "-";
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void inventoryUp() {
+		inventoryCircuitBreaker.reset();
+		List<String> inStock = new ArrayList<>();
+		// the last two SKUs are sold out
+		for (int i = 0; i < SKUS - 2; i++) {
+			inStock.add(sku(i));
+		}
+		stub.setInStock(inStock.toArray(String[]::new));
+	}
+
+	@AfterEach
+	void cleanUp() {
+		Long[] orderIds = jdbcTemplate.queryForList("select distinct order_id from order_line_items where sku_code like ?",
+				Long.class, skuPrefix + "%").toArray(Long[]::new);
+		jdbcTemplate.update("delete from order_line_items where sku_code like ?", skuPrefix + "%");
+		jdbcTemplate.update("delete from orders where id = any(?)", (Object) orderIds);
+	}
+
+	@Test
+	void thousandsOfOrdersCostOneInventoryLookup() throws Exception {
+		StringBuilder ndjson = new StringBuilder();
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			ndjson.append(order(sku(i % SKUS), 1)).append('\n');
+		}
+		int stockChecks = stub.requestCount();
+
+		long started = System.nanoTime();
+		List<JsonNode> lines = post("application/x-ndjson", ndjson.toString());
+		long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+		logger.info("Placed a batch of {} orders in {} ms", BATCH_SIZE, elapsedMillis);
+
+		assertEquals(BATCH_SIZE + 1, lines.size());
+		assertEquals(stockChecks + 1, stub.requestCount());
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			JsonNode result = lines.get(i);
+			assertEquals(i + 1, result.get("index").asLong());
+			if (i % SKUS < SKUS - 2) {
+				assertEquals("PLACED", result.get("status").asText());
+				assertNotNull(result.get("orderNumber").textValue());
+			} else {
+				assertEquals("REJECTED", result.get("status").asText());
+				assertNull(result.get("orderNumber").textValue());
+			}
+		}
+		JsonNode summary = lines.get(BATCH_SIZE);
+		long placed = BATCH_SIZE / SKUS * (SKUS - 2);
+		assertEquals(BATCH_SIZE, summary.get("orders").asLong());
+		assertEquals(placed, summary.get("placed").asLong());
+		assertEquals(BATCH_SIZE - placed, summary.get("rejected").asLong());
+		assertEquals(1, summary.get("inventoryLookups").asLong());
+		assertEquals(placed, ordersWritten());
+		assertTrue(elapsedMillis < 30_000, "batch took " + elapsedMillis + " ms");
+	}
+
+	@Test
+	void invalidOrdersInAJsonArrayOnlyRejectThemselves() throws Exception {
+		String json = "[" + order(sku(0), 2) + ",{\"orderLineItemsDtoList\":[]}," + order(sku(1), 0) + ","
+				+ order(sku(1), 1) + "]";
+
+		List<JsonNode> lines = post("application/json", json);
+
+		assertEquals(List.of("PLACED", "REJECTED", "REJECTED", "PLACED"), statuses(lines));
+		assertEquals("Order must contain at least one line item", lines.get(1).get("message").asText());
+		assertEquals(2, ordersWritten());
+	}
+
+	@Test
+	void unreadableNdjsonLinesAreRejectedAndTheBatchGoesOn() throws Exception {
+		String ndjson = order(sku(0), 1) + "\n{not json\n\n" + order(sku(9), 1) + "\n" + order(sku(2), 1) + "\n";
+
+		List<JsonNode> lines = post("application/x-ndjson", ndjson);
+
+		assertEquals(List.of("PLACED", "REJECTED", "REJECTED", "PLACED"), statuses(lines));
+		assertTrue(lines.get(1).get("message").asText().startsWith("Unreadable JSON"));
+		assertEquals("Product is not in stock, please try again later", lines.get(2).get("message").asText());
+	}
+
+	@Test
+	void unreachableInventoryRejectsTheOrdersWithoutWritingThem() throws Exception {
+		inventoryCircuitBreaker.transitionToForcedOpenState();
+
+		List<JsonNode> lines = post("application/x-ndjson", order(sku(0), 1) + "\n" + order(sku(1), 1) + "\n");
+
+		assertEquals(List.of("REJECTED", "REJECTED"), statuses(lines));
+		assertEquals("Inventory circuit breaker is open", lines.get(0).get("message").asText());
+		assertEquals(0, ordersWritten());
+	}
+
+	private List<JsonNode> post(String contentType, String body) throws Exception {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType(contentType));
+		ResponseEntity<String> response = restTemplate.postForEntity("/order/batch", new HttpEntity<>(body, headers), String.class);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		List<JsonNode> lines = new ArrayList<>();
+		for (String line : response.getBody().split("\n")) {
+			lines.add(objectMapper.readTree(line));
+		}
+		return lines;
+	}
+
+	// every line but the summary
+	private static List<String> statuses(List<JsonNode> lines) {
+		return lines.subList(0, lines.size() - 1).stream().map(line -> line.get("status").asText()).toList();
+	}
+
+	private String sku(int i) {
+		return skuPrefix + i;
+	}
+
+	private static String order(String skuCode, int quantity) {
+		return "{\"orderLineItemsDtoList\":[{\"skuCode\":\"" + skuCode + "\",\"price\":10,\"quantity\":" + quantity + "}]}";
+	}
+
+	private long ordersWritten() {
+		return jdbcTemplate.queryForObject("select count(distinct order_id) from order_line_items where sku_code like ?",
+				Long.class, skuPrefix + "%");
+	}
+}
@@ -0,0 +1,180 @@
+package com.example.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.cache.IdempotencyCache;
+import com.example.client.StubInventoryServer;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false", "spring.jpa.show-sql=false" })
+class IdempotentOrderTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private IdempotencyCache idempotencyCache;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+
+	private final String keyPrefix = "idempotency-test-" + UUID.randomUUID() + "-";
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void inventoryUp() {
+		inventoryCircuitBreaker.reset();
+		stub.setLatency(Duration.ZERO);
+		stub.setInStock("sku-a");
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("delete from order_line_items where order_id in (select id from orders where idempotency_key like ?)", keyPrefix + "%");
+		jdbcTemplate.update("delete from orders where idempotency_key like ?", keyPrefix + "%");
+	}
+
+	@Test
+	void retryGetsTheFirstResultWithoutAnotherStockCheckOrOrder() {
+		int stockChecks = stub.requestCount();
+
+		ResponseEntity<String> first = post(keyPrefix + "1");
+		ResponseEntity<String> retry = post(keyPrefix + "1");
+
+		assertEquals(HttpStatus.OK, retry.getStatusCode());
+		assertEquals(first.getBody(), retry.getBody());
+		assertEquals(stockChecks + 1, stub.requestCount());
+		assertEquals(1, orders(keyPrefix + "1"));
+	}
+
+	@Test
+	void retryAfterTheCacheForgotIsAnsweredFromTheDatabase() {
+		ResponseEntity<String> first = post(keyPrefix + "1");
+		idempotencyCache.invalidateAll();
+		int stockChecks = stub.requestCount();
+
+		ResponseEntity<String> retry = post(keyPrefix + "1");
+
+		assertEquals(first.getBody(), retry.getBody());
+		assertEquals(stockChecks, stub.requestCount());
+		assertEquals(1, orders(keyPrefix + "1"));
+	}
+
+	@Test
+	void concurrentAttemptsWithOneKeyPlaceOneOrder() throws Exception {
+		// slow stock checks keep all attempts in flight past the cache and database lookups
+		stub.setLatency(Duration.ofMillis(300));
+		ExecutorService clients = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<ResponseEntity<String>>> attempts = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				attempts.add(clients.submit(() -> post(keyPrefix + "1")));
+			}
+			for (Future<ResponseEntity<String>> attempt : attempts) {
+				assertEquals(HttpStatus.OK, attempt.get().getStatusCode());
+				assertEquals("Order Placed Successfully !!", attempt.get().getBody());
+			}
+		} finally {
+			clients.shutdown();
+		}
+		assertEquals(1, orders(keyPrefix + "1"));
+	}
+
+	@Test
+	void differentKeysAreDifferentOrders() {
+		post(keyPrefix + "1");
+		post(keyPrefix + "2");
+
+		assertEquals(1, orders(keyPrefix + "1"));
+		assertEquals(1, orders(keyPrefix + "2"));
+	}
+
+	@Test
+	void outOfStockRejectionIsReplayedWithoutAnotherStockCheck() {
+		stub.setInStock();
+		ResponseEntity<String> first = post(keyPrefix + "1");
+		idempotencyCache.invalidateAll();
+		int stockChecks = stub.requestCount();
+
+		ResponseEntity<String> retry = post(keyPrefix + "1");
+
+		assertTrue(first.getStatusCode().isError());
+		assertEquals(first.getStatusCode(), retry.getStatusCode());
+		assertEquals(stockChecks, stub.requestCount());
+		assertEquals("REJECTED", jdbcTemplate.queryForObject("select status from orders where idempotency_key = ?",
+				String.class, keyPrefix + "1"));
+	}
+
+	@Test
+	void keyReusedForADifferentOrderIsRefused() {
+		assertEquals(HttpStatus.OK, post(keyPrefix + "1", 1).getStatusCode());
+
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, post(keyPrefix + "1", 2).getStatusCode());
+		idempotencyCache.invalidateAll();
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, post(keyPrefix + "1", 2).getStatusCode());
+		assertEquals(HttpStatus.OK, post(keyPrefix + "1", 1).getStatusCode());
+		assertEquals(1, orders(keyPrefix + "1"));
+	}
+
+	@Test
+	void overlongKeyIsRejected() {
+		assertEquals(HttpStatus.BAD_REQUEST, post(keyPrefix + "x".repeat(256)).getStatusCode());
+	}
+
+	private ResponseEntity<String> post(String idempotencyKey) {
+		return post(idempotencyKey, 1);
+	}
+
+	private ResponseEntity<String> post(String idempotencyKey, int quantity) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Idempotency-Key", idempotencyKey);
+		OrderRequest request = new OrderRequest();
+		request.setOrderLineItemsDtoList(List.of(new OrderLineItemsDto(null, "sku-a", BigDecimal.TEN, quantity)));
+		return restTemplate.postForEntity("/order", new HttpEntity<>(request, headers), String.class);
+	}
+
+	private int orders(String idempotencyKey) {
+		return jdbcTemplate.queryForObject("select count(*) from orders where idempotency_key = ?", Integer.class, idempotencyKey);
+	}
+}
@@ -0,0 +1,83 @@
+package com.example.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.model.OrderLineItems;
+import com.example.model.Orders;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Persists orders of 1, 10 and 100 lines and logs JDBC statements and latency per order.
+ * With sequence ids and JDBC batching the statement count must stay flat as lines grow.
+ */
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.show-sql=false", "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+		"order.async.poller.enabled=false" })
+class OrderPersistenceBenchmarkTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrderPersistenceBenchmarkTest.class);
+
+	private static final int WARMUP_ORDERS = 20;
+	private static final int MEASURED_ORDERS = 50;
+
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final List<Orders> saved = new ArrayList<>();
+
+	@AfterEach
+	void cleanUp() {
+		orderRepository.deleteAll(saved);
+	}
+
+	@Test
+	void statementsPerOrderStayFlatAsLinesGrow() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		for (int lines : new int[] { 1, 10, 100 }) {
+			IntStream.range(0, WARMUP_ORDERS).forEach(i -> saved.add(orderRepository.save(newOrder(lines))));
+
+			statistics.clear();
+			long start = System.nanoTime();
+			IntStream.range(0, MEASURED_ORDERS).forEach(i -> saved.add(orderRepository.save(newOrder(lines))));
+			double millisPerOrder = (System.nanoTime() - start) / 1e6 / MEASURED_ORDERS;
+			double statementsPerOrder = (double) statistics.getPrepareStatementCount() / MEASURED_ORDERS;
+
+			logger.info("{} lines: {} JDBC statements/order, {} ms/order", lines, String.format("%.2f", statementsPerOrder),
+					String.format("%.3f", millisPerOrder));
+			// 1 order insert + one batch and one sequence call per 50 lines + the amortised order sequence call
+			double batches = Math.ceil(lines / 50.0);
+			assertTrue(statementsPerOrder <= 1 + 2 * batches + 1,
+					"too many statements for " + lines + " lines: " + statementsPerOrder);
+		}
+	}
+
+	private Orders newOrder(int lines) {
+		Orders order = new Orders();
+		order.setOrderNumber(UUID.randomUUID().toString());
+		List<OrderLineItems> items = IntStream.range(0, lines).mapToObj(i -> {
+			OrderLineItems item = new OrderLineItems(null, "sku-" + i, BigDecimal.TEN, 1);
+			item.setOrder(order);
+			return item;
+		}).toList();
+		order.setOrderLineItemsList(items);
+		return order;
+	}
+}
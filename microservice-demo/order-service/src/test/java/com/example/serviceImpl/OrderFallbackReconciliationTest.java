@@ -0,0 +1,90 @@
+package com.example.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+import com.example.model.OrderStatus;
+import com.example.model.Orders;
+import com.example.repository.OrderRepository;
+import com.example.service.OrderService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+@SpringBootTest(properties = { "eureka.client.enabled=false", "inventory.fallback=accept",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false" })
+class OrderFallbackReconciliationTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private OrderService orderService;
+	@Autowired
+	private OrderRepository orderRepository;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+
+	private final List<Long> created = new ArrayList<>();
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@AfterEach
+	void cleanUp() {
+		inventoryCircuitBreaker.reset();
+		orderRepository.deleteAllById(created);
+	}
+
+	@Test
+	void ordersAcceptedWhileInventoryIsDownAreReconciledLater() {
+		inventoryCircuitBreaker.transitionToForcedOpenState();
+		String inStock = orderService.placeOrder(request("sku-a"));
+		String outOfStock = orderService.placeOrder(request("sku-b"));
+		assertEquals("Order Accepted, stock will be confirmed shortly !!", inStock);
+		assertEquals(inStock, outOfStock);
+		created.addAll(orderRepository.findIdsByStatus(OrderStatus.PENDING_RECONCILIATION, PageRequest.of(0, 100)));
+		assertEquals(2, created.size());
+
+		// still down: nothing is decided
+		assertEquals(0, orderService.reconcilePendingOrders(100));
+
+		inventoryCircuitBreaker.transitionToClosedState();
+		stub.setInStock("sku-a");
+		assertEquals(2, orderService.reconcilePendingOrders(100));
+
+		Map<String, OrderStatus> statusBySku = orderRepository.findByIdIn(created).stream()
+				.collect(Collectors.toMap(order -> order.getOrderLineItemsList().get(0).getSkuCode(),
+						Orders::getStatus));
+		assertEquals(OrderStatus.PLACED, statusBySku.get("sku-a"));
+		assertEquals(OrderStatus.REJECTED, statusBySku.get("sku-b"));
+	}
+
+	private static OrderRequest request(String skuCode) {
+		OrderRequest request = new OrderRequest();
+		request.setOrderLineItemsDtoList(List.of(new OrderLineItemsDto(null, skuCode, BigDecimal.TEN, 1)));
+		return request;
+	}
+}
@@ -0,0 +1,134 @@
+package com.example.serviceImpl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.client.StubInventoryServer;
+import com.example.dto.OrderLineItemsDto;
+import com.example.dto.OrderRequest;
+import com.example.dto.StockChangeEvent;
+import com.example.service.OrderService;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Checks the availability projection fed by POST /stock-events: SKUs it has seen sold out are rejected without
+ * asking inventory-service, while restocked, unknown and long-unheard-of SKUs still get the remote check.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "eureka.client.enabled=false",
+		"order.reconciliation.interval=PT1H", "order.async.poller.enabled=false", "spring.jpa.show-sql=false" })
+class StockProjectionTest {
+
+	private static final StubInventoryServer stub = StubInventoryServer.start();
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private OrderService orderService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private CircuitBreaker inventoryCircuitBreaker;
+
+	private final String skuCode = "projection-" + UUID.randomUUID();
+
+	@DynamicPropertySource
+	static void inventoryInstance(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.discovery.client.simple.instances.inventory-service[0].uri", stub::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		stub.close();
+	}
+
+	@BeforeEach
+	void inventoryUp() {
+		inventoryCircuitBreaker.reset();
+		// inventory-service itself would accept every order below
+		stub.setInStock(skuCode);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		List<Long> orderIds = jdbcTemplate.queryForList("select order_id from order_line_items where sku_code = ?", Long.class, skuCode);
+		jdbcTemplate.update("delete from order_line_items where sku_code = ?", skuCode);
+		orderIds.forEach(id -> jdbcTemplate.update("delete from orders where id = ?", id));
+		jdbcTemplate.update("delete from stock_availability where sku_code = ?", skuCode);
+	}
+
+	@Test
+	void soldOutSkuIsRejectedWithoutCallingInventory() {
+		push(event(10, 0, Instant.now()));
+		int stockChecks = stub.requestCount();
+
+		assertThrows(IllegalArgumentException.class, () -> orderService.placeOrder(request()));
+		assertEquals(stockChecks, stub.requestCount());
+	}
+
+	@Test
+	void restockedSkuIsCheckedRemotely() {
+		push(event(20, 0, Instant.now()), event(21, 3, Instant.now()));
+		int stockChecks = stub.requestCount();
+
+		assertEquals("Order Placed Successfully !!", orderService.placeOrder(request()));
+		assertEquals(stockChecks + 1, stub.requestCount());
+	}
+
+	@Test
+	void olderEventsDoNotOverwriteNewerOnes() {
+		push(event(31, 3, Instant.now()));
+		push(event(30, 0, Instant.now()), event(31, 0, Instant.now()));
+
+		assertEquals(3, quantity());
+		assertEquals("Order Placed Successfully !!", orderService.placeOrder(request()));
+	}
+
+	@Test
+	void unknownAndStaleSkusAreCheckedRemotely() {
+		int stockChecks = stub.requestCount();
+		orderService.placeOrder(request());
+
+		push(event(40, 0, Instant.now().minus(Duration.ofHours(1))));
+		orderService.placeOrder(request());
+
+		assertEquals(stockChecks + 2, stub.requestCount());
+	}
+
+	private void push(StockChangeEvent... events) {
+		assertEquals(HttpStatus.NO_CONTENT, restTemplate.postForEntity("/stock-events", List.of(events), Void.class).getStatusCode());
+	}
+
+	private StockChangeEvent event(long id, int quantity, Instant createdAt) {
+		return new StockChangeEvent(id, skuCode, quantity, createdAt);
+	}
+
+	private int quantity() {
+		return jdbcTemplate.queryForObject("select quantity from stock_availability where sku_code = ?", Integer.class, skuCode);
+	}
+
+	private OrderRequest request() {
+		OrderRequest request = new OrderRequest();
+		request.setOrderLineItemsDtoList(List.of(new OrderLineItemsDto(null, skuCode, BigDecimal.TEN, 1)));
+		return request;
+	}
+}
@@ -1,36 +1,94 @@
 package com.example.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.dto.ProductPage;
 import com.example.model.Product;
 import com.example.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 @RestController
 @RequestMapping("/product")
 public class ProductController {
-	
+
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
 	@Autowired
 	private ProductService productService;
-	
+
+	private final ObjectWriter productWriter;
+
+	public ProductController(ObjectMapper objectMapper) {
+		this.productWriter = objectMapper.writerFor(Product.class);
+	}
+
 	@PostMapping
 	@ResponseStatus(value = HttpStatus.CREATED)
 	public void createProduct(@RequestBody Product product) {
 		productService.createProduct(product);
 	}
-	
+
+	// same JSON array as before, but written chunk by chunk from keyset queries instead of a List in the heap
 	@GetMapping
+	public ResponseEntity<StreamingResponseBody> getAll(){
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(out -> {
+			out.write('[');
+			boolean[] first = { true };
+			productService.streamAll(product -> {
+				if (!first[0]) {
+					write(out, ',');
+				}
+				first[0] = false;
+				writeProduct(out, product);
+			});
+			out.write(']');
+		});
+	}
+
+	@GetMapping("/page")
 	@ResponseStatus(value = HttpStatus.OK)
-	public List<Product> getAll(){
-		return productService.getAll();
+	public ProductPage getPage(@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int size) {
+		return productService.getPage(cursor, size);
+	}
+
+	@GetMapping("/stream")
+	public ResponseEntity<StreamingResponseBody> stream() {
+		return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(out -> productService.streamAll(product -> {
+			writeProduct(out, product);
+			write(out, '\n');
+		}));
+	}
+
+	private void writeProduct(OutputStream out, Product product) {
+		try {
+			out.write(productWriter.writeValueAsBytes(product));
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	private static void write(OutputStream out, char c) {
+		try {
+			out.write(c);
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
 	}
 }
@@ -0,0 +1,35 @@
+package com.example.dto;
+
+import java.util.List;
+
+import com.example.model.Product;
+
+public class ProductPage {
+	private List<Product> items;
+	private String nextCursor;
+	public List<Product> getItems() {
+		return items;
+	}
+	public void setItems(List<Product> items) {
+		this.items = items;
+	}
+	public String getNextCursor() {
+		return nextCursor;
+	}
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+	@Override
+	public String toString() {
+		return "ProductPage [items=" + items + ", nextCursor=" + nextCursor + "]";
+	}
+	public ProductPage(List<Product> items, String nextCursor) {
+		super();
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+	public ProductPage() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+}
@@ -0,0 +1,17 @@
+package com.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a page cursor was not produced by this service. Results in HTTP 400 (BAD_REQUEST).
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public InvalidCursorException(String message) {
+		super(message);
+	}
+}
@@ -1,9 +1,14 @@
 package com.example.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.model.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long>{
 
+	// keyset page: seeks on the primary key index, no OFFSET scan and no count query
+	List<Product> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
 }
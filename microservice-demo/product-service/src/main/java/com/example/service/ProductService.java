@@ -1,12 +1,14 @@
 package com.example.service;
 
-import java.util.List;
+import java.util.function.Consumer;
 
+import com.example.dto.ProductPage;
 import com.example.model.Product;
 
 public interface ProductService {
 
 	void createProduct(Product product);
-	List<Product> getAll();
+	ProductPage getPage(String cursor, int size);
+	void streamAll(Consumer<Product> consumer);
 
 }
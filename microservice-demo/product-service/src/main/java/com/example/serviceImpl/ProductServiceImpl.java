@@ -1,19 +1,38 @@
 package com.example.serviceImpl;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import com.example.dto.ProductPage;
+import com.example.exception.InvalidCursorException;
 import com.example.model.Product;
 import com.example.repository.ProductRepository;
 import com.example.service.ProductService;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 public class ProductServiceImpl implements ProductService{
 
+	private static final String STREAM_SQL = "select id, name, description, price from product where id > ? order by id limit ?";
+
 	@Autowired
 	private ProductRepository productRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${product.page.max-size:500}")
+	private int maxPageSize;
+	@Value("${product.stream.chunk-size:500}")
+	private int streamChunkSize;
 	
 	@Override
 	public void createProduct(Product product) {
@@ -22,9 +41,53 @@ public class ProductServiceImpl implements ProductService{
 	}
 
 	@Override
-	public List<Product> getAll() {
-		// TODO Auto-generated method stub
-		return productRepository.findAll();
+	public ProductPage getPage(String cursor, int size) {
+		int pageSize = Math.max(1, Math.min(size, maxPageSize));
+		// one extra row tells us whether there is a next page without a count query
+		List<Product> rows = productRepository.findByIdGreaterThanOrderByIdAsc(decodeCursor(cursor),
+				PageRequest.of(0, pageSize + 1));
+		if (rows.size() <= pageSize) {
+			return new ProductPage(rows, null);
+		}
+		List<Product> items = rows.subList(0, pageSize);
+		return new ProductPage(items, encodeCursor(items.get(pageSize - 1).getId()));
+	}
+
+	// keyset chunks, each its own autocommit query: a connection is only borrowed while a chunk is read, never while
+	// the client downloads, so a slow reader cannot pin a pooled connection for the whole response
+	@Override
+	@Timed(value = "products.get.all", histogram = true)
+	public void streamAll(Consumer<Product> consumer) {
+		long lastId = Long.MIN_VALUE;
+		List<Product> chunk;
+		do {
+			chunk = jdbcTemplate.query(STREAM_SQL, (resultSet, rowNum) -> new Product(resultSet.getLong("id"),
+					resultSet.getString("name"), resultSet.getString("description"), resultSet.getBigDecimal("price")),
+					lastId, streamChunkSize);
+			chunk.forEach(consumer);
+			if (!chunk.isEmpty()) {
+				lastId = chunk.get(chunk.size() - 1).getId();
+			}
+		} while (chunk.size() == streamChunkSize);
+	}
+
+	private static String encodeCursor(long lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(lastId).array());
+	}
+
+	private static long decodeCursor(String cursor) {
+		if (cursor == null || cursor.isEmpty()) {
+			return Long.MIN_VALUE;
+		}
+		try {
+			byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+			if (bytes.length != Long.BYTES) {
+				throw new InvalidCursorException("Invalid cursor: " + cursor);
+			}
+			return ByteBuffer.wrap(bytes).getLong();
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidCursorException("Invalid cursor: " + cursor);
+		}
 	}
 
 }
@@ -0,0 +1,10 @@
+-- The table as Hibernate mapped it under ddl-auto=update. The micro database is shared with inventory-service and
+-- order-service, and may already hold it from ddl-auto=update, so every statement is safe to run against an existing schema.
+
+-- keyset pages seek on the primary key index
+create table if not exists product (
+    id bigint generated by default as identity primary key,
+    name varchar(255),
+    description varchar(255),
+    price numeric(38, 2)
+);
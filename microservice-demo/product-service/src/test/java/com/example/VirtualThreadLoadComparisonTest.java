@@ -0,0 +1,122 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop load comparison of thread-per-request against virtual threads.
+ * Run with: mvn test -pl product-service -Dtest=VirtualThreadLoadComparisonTest -Dloadtest=true
+ * (optionally -Dloadtest.clients=2000 -Dloadtest.seconds=30 -Dloadtest.warmup-seconds=10). The virtual-thread run needs Java 21.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@TestMethodOrder(OrderAnnotation.class)
+class VirtualThreadLoadComparisonTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadComparisonTest.class);
+
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 2_000);
+	private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+	private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+	private static final String PATH = System.getProperty("loadtest.path", "/product/page?size=20");
+	private static final int MAX_LATENCY_MS = 60_000;
+
+	@Test
+	@Order(1)
+	void platformThreads() throws Exception {
+		run(false);
+	}
+
+	@Test
+	@Order(2)
+	void virtualThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads need a Java 21 runtime");
+		run(true);
+	}
+
+	private void run(boolean virtualThreads) throws Exception {
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductServiceApplication.class)
+				.run("--virtual-threads.enabled=" + virtualThreads, "--server.port=0",
+						"--eureka.client.enabled=false", "--spring.jpa.show-sql=false")) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH))
+					.timeout(Duration.ofSeconds(MAX_LATENCY_MS / 1000)).build();
+
+			// warm-up results are thrown away so JIT and pool start-up do not skew the measured run
+			drive(client, request, WARMUP, new AtomicLongArray(MAX_LATENCY_MS + 1), new LongAdder(), new LongAdder());
+			AtomicLongArray latencyHistogram = new AtomicLongArray(MAX_LATENCY_MS + 1);
+			LongAdder ok = new LongAdder();
+			LongAdder failed = new LongAdder();
+			drive(client, request, DURATION, latencyHistogram, ok, failed);
+
+			double seconds = DURATION.toMillis() / 1000.0;
+			logger.info("{} threads, {} clients: {} req/s, p50 {} ms, p99 {} ms, {} failed",
+					virtualThreads ? "virtual" : "platform", CLIENTS, Math.round(ok.sum() / seconds),
+					percentile(latencyHistogram, 0.50), percentile(latencyHistogram, 0.99), failed.sum());
+		}
+	}
+
+	private void drive(HttpClient client, HttpRequest request, Duration duration, AtomicLongArray latencyHistogram,
+			LongAdder ok, LongAdder failed) {
+		long deadline = System.nanoTime() + duration.toNanos();
+		CompletableFuture<?>[] clients = new CompletableFuture<?>[CLIENTS];
+		for (int i = 0; i < CLIENTS; i++) {
+			clients[i] = loop(client, request, deadline, latencyHistogram, ok, failed);
+		}
+		CompletableFuture.allOf(clients).join();
+	}
+
+	// one client: send, wait for the answer, record it, repeat until the deadline
+	private CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+			AtomicLongArray latencyHistogram, LongAdder ok, LongAdder failed) {
+		if (System.nanoTime() >= deadline) {
+			return CompletableFuture.completedFuture(null);
+		}
+		long start = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, error) -> {
+			if (error == null && response.statusCode() == 200) {
+				int millis = (int) Math.min(MAX_LATENCY_MS, (System.nanoTime() - start) / 1_000_000);
+				latencyHistogram.incrementAndGet(millis);
+				ok.increment();
+			} else {
+				failed.increment();
+			}
+			return null;
+		}).thenCompose(ignored -> loop(client, request, deadline, latencyHistogram, ok, failed));
+	}
+
+	private static long percentile(AtomicLongArray histogram, double quantile) {
+		long total = 0;
+		for (int i = 0; i < histogram.length(); i++) {
+			total += histogram.get(i);
+		}
+		long rank = (long) Math.ceil(total * quantile);
+		long seen = 0;
+		for (int i = 0; i < histogram.length(); i++) {
+			seen += histogram.get(i);
+			if (seen >= rank && total > 0) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,108 @@
+package com.example.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+import com.example.dto.ProductPage;
+import com.example.model.Product;
+import com.example.repository.ProductRepository;
+import com.example.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "product.stream.chunk-size=50")
+class ProductControllerTest {
+
+	private static final int PRODUCTS = 1_205;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+	@Autowired
+	private ProductRepository productRepository;
+	@Autowired
+	private ProductService productService;
+	@Autowired
+	private DataSource dataSource;
+
+	private final String marker = "catalogue-test-" + UUID.randomUUID();
+	private List<Product> saved;
+
+	@BeforeEach
+	void seed() {
+		saved = productRepository.saveAll(IntStream.range(0, PRODUCTS)
+				.mapToObj(i -> new Product(0, "product " + i, marker, BigDecimal.valueOf(i)))
+				.toList());
+	}
+
+	@AfterEach
+	void cleanUp() {
+		productRepository.deleteAllInBatch(saved);
+	}
+
+	@Test
+	void keysetPagesVisitEveryProductOnceInIdOrder() {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			String url = cursor == null ? "/product/page?size=100" : "/product/page?size=100&cursor=" + cursor;
+			ProductPage page = restTemplate.getForObject(url, ProductPage.class);
+			assertTrue(page.getItems().size() <= 100);
+			page.getItems().stream().filter(product -> marker.equals(product.getDescription()))
+					.forEach(product -> ids.add(product.getId()));
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertEquals(PRODUCTS, ids.size());
+		assertEquals(ids.stream().sorted().toList(), ids);
+	}
+
+	@Test
+	void invalidCursorIsRejected() {
+		assertEquals(HttpStatus.BAD_REQUEST,
+				restTemplate.getForEntity("/product/page?cursor=not-a-cursor", String.class).getStatusCode());
+	}
+
+	@Test
+	void getAllStillReturnsJsonArray() {
+		Product[] products = restTemplate.getForObject("/product", Product[].class);
+		assertEquals(PRODUCTS, Arrays.stream(products).filter(product -> marker.equals(product.getDescription())).count());
+	}
+
+	@Test
+	void streamReturnsOneJsonObjectPerLine() {
+		String body = restTemplate.getForObject("/product/stream", String.class);
+		assertEquals(PRODUCTS, body.lines().filter(line -> line.contains(marker)).count());
+		assertTrue(body.lines().allMatch(line -> line.startsWith("{") && line.endsWith("}")));
+	}
+
+	@Test
+	void streamHoldsNoConnectionWhileTheClientReads() throws Exception {
+		HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+		AtomicInteger streamed = new AtomicInteger();
+		productService.streamAll(product -> {
+			if (marker.equals(product.getDescription())) {
+				streamed.incrementAndGet();
+				assertEquals(0, pool.getHikariPoolMXBean().getActiveConnections());
+			}
+		});
+		assertEquals(PRODUCTS, streamed.get());
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.common;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// publishes the drops and queue depth of every DropCountingAsyncAppender in logback-spring.xml (prod profile only)
+@Component
+public class AsyncLogMetrics implements MeterBinder {
+
+	@Override
+	public void bindTo(MeterRegistry meterRegistry) {
+		if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+			return;
+		}
+		loggerContext.getLoggerList().forEach(logger -> logger.iteratorForAppenders().forEachRemaining(appender -> {
+			if (appender instanceof DropCountingAsyncAppender async) {
+				FunctionCounter.builder("logback.async.dropped", async, DropCountingAsyncAppender::getDroppedCount)
+						.description("Logging events dropped because the async appender queue was full")
+						.tag("appender", async.getName())
+						.register(meterRegistry);
+				Gauge.builder("logback.async.queue.depth", async, DropCountingAsyncAppender::getNumberOfElementsInQueue)
+						.tag("appender", async.getName())
+						.register(meterRegistry);
+			}
+		}));
+	}
+}
@@ -0,0 +1,97 @@
+package com.example.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warns at startup when the connection pools planned for this Postgres server could together ask for more connections
+ * than max_connections allows. The plan is the pool size times the instance count of every application on the server
+ * (connection-budget.pools.* and connection-budget.instances.*, defaults in connection-budget.properties); this
+ * service's own spring.datasource.hikari.maximum-pool-size replaces its planned pool size, so the pool-* profiles count.
+ * What is connected right now does not matter: the check has to fail on an idle server too.
+ */
+@Component
+@PropertySource("classpath:connection-budget.properties")
+public class ConnectionBudgetCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConnectionBudgetCheck.class);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private Environment environment;
+
+	@Value("${spring.application.name}")
+	private String applicationName;
+	@Value("${spring.datasource.hikari.maximum-pool-size:10}")
+	private int maximumPoolSize;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warnIfOvercommitted() {
+		try {
+			Budget budget = check();
+			if (budget.isExceeded()) {
+				logger.warn("Connection pools need up to {} connections but Postgres accepts {}: {}", budget.getRequired(),
+						budget.getAvailable(), budget.getConnectionsByApplication());
+			} else {
+				logger.info("Connection pools need up to {} of {} Postgres connections", budget.getRequired(), budget.getAvailable());
+			}
+		} catch (DataAccessException ex) {
+			logger.warn("Could not check the connection budget: {}", ex.getMessage());
+		}
+	}
+
+	public Budget check() {
+		int available = jdbcTemplate.queryForObject("select current_setting('max_connections')::int "
+				+ "- current_setting('superuser_reserved_connections')::int", Integer.class);
+		Binder binder = Binder.get(environment);
+		Map<String, Integer> pools = new LinkedHashMap<>(binder.bind("connection-budget.pools",
+				Bindable.mapOf(String.class, Integer.class)).orElse(Map.of()));
+		Map<String, Integer> instances = binder.bind("connection-budget.instances",
+				Bindable.mapOf(String.class, Integer.class)).orElse(Map.of());
+		pools.put(applicationName, maximumPoolSize);
+		Map<String, Integer> connectionsByApplication = new LinkedHashMap<>();
+		pools.forEach((application, poolSize) ->
+				connectionsByApplication.put(application, poolSize * instances.getOrDefault(application, 1)));
+		int required = connectionsByApplication.values().stream().mapToInt(Integer::intValue).sum();
+		return new Budget(available, required, connectionsByApplication);
+	}
+
+	public static class Budget {
+		private final int available;
+		private final int required;
+		private final Map<String, Integer> connectionsByApplication;
+
+		public Budget(int available, int required, Map<String, Integer> connectionsByApplication) {
+			this.available = available;
+			this.required = required;
+			this.connectionsByApplication = connectionsByApplication;
+		}
+		public int getAvailable() {
+			return available;
+		}
+		public int getRequired() {
+			return required;
+		}
+		public Map<String, Integer> getConnectionsByApplication() {
+			return connectionsByApplication;
+		}
+		public boolean isExceeded() {
+			return required > available;
+		}
+	}
+}
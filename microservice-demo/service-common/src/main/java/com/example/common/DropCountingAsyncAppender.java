@@ -0,0 +1,37 @@
+package com.example.common;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The AsyncAppender of the prod logging profile. With neverBlock an event that meets a full queue is dropped without a
+ * trace, so this one counts them; AsyncLogMetrics publishes the count as logback.async.dropped. The count is taken
+ * just before the offer, so under contention it can be off by the few events the worker drains in between.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+	private final LongAdder dropped = new LongAdder();
+
+	@Override
+	protected void append(ILoggingEvent event) {
+		if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+			dropped.increment();
+		}
+		super.append(event);
+	}
+
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	@Override
+	public void stop() {
+		long count = getDroppedCount();
+		if (count > 0) {
+			addWarn(count + " logging events were dropped because the queue of [" + getName() + "] was full");
+		}
+		super.stop();
+	}
+}
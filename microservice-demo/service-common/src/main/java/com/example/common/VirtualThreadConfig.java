@@ -0,0 +1,51 @@
+package com.example.common;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Opt-in virtual-thread mode (virtual-threads.enabled=true, needs a Java 21 runtime). The property is our own:
+ * Boot 3.1 does not know spring.threads.virtual.enabled, which only arrived in Boot 3.2.
+ * Tomcat request handling, @Async methods and async MVC responses then run on virtual threads,
+ * and carrier-thread pinning longer than the threshold is logged by {@link VirtualThreadPinningMonitor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+		ExecutorService executor = newVirtualThreadPerTaskExecutor();
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+
+	// replaces Boot's pooled applicationTaskExecutor, which @Async and async MVC both use
+	@Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+	public AsyncTaskExecutor applicationTaskExecutor() {
+		return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+	}
+
+	@Bean
+	public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+			@Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+		return new VirtualThreadPinningMonitor(threshold);
+	}
+
+	// looked up reflectively so the service still compiles and runs on Java 17 with the mode off
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException ex) {
+			throw new IllegalStateException("virtual-threads.enabled=true needs a Java 21 or newer runtime", ex);
+		}
+	}
+}
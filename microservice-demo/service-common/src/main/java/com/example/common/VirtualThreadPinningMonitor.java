@@ -0,0 +1,65 @@
+package com.example.common;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Streams the JFR jdk.VirtualThreadPinned event and logs every pin above the threshold with its stack,
+ * so synchronized sections in drivers and libraries that block a carrier thread show up in the logs.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final int MAX_FRAMES = 12;
+
+	private final Duration threshold;
+	private RecordingStream recordingStream;
+
+	public VirtualThreadPinningMonitor(Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void start() {
+		recordingStream = new RecordingStream();
+		recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+		recordingStream.onEvent("jdk.VirtualThreadPinned", this::report);
+		recordingStream.startAsync();
+		logger.info("Reporting virtual threads pinned for longer than {}", threshold);
+	}
+
+	@Override
+	public void stop() {
+		if (recordingStream != null) {
+			recordingStream.close();
+			recordingStream = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return recordingStream != null;
+	}
+
+	private void report(RecordedEvent event) {
+		String stack = event.getStackTrace() == null ? "<no stack>"
+				: event.getStackTrace().getFrames().stream()
+						.limit(MAX_FRAMES)
+						.map(VirtualThreadPinningMonitor::format)
+						.collect(Collectors.joining("\n\tat ", "\tat ", ""));
+		logger.warn("Virtual thread pinned its carrier for {} ms on {}\n{}", event.getDuration().toMillis(),
+				event.getThread() == null ? "?" : event.getThread().getJavaName(), stack);
+	}
+
+	private static String format(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+}